@@ -0,0 +1,52 @@
+package br.com.jefersonmbs.recargapaywallet.benchmark;
+
+import br.com.jefersonmbs.recargapaywallet.domain.dto.AuditContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditContextBenchmark {
+
+    private ServletRequestAttributes requestAttributes;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/wallets/transfer");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("User-Agent", "benchmark");
+        request.addHeader("X-Correlation-ID", "CORR-BENCH");
+        requestAttributes = new ServletRequestAttributes(request);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        MDC.clear();
+    }
+
+    @Benchmark
+    public AuditContext captureWithoutRequest() {
+        RequestContextHolder.resetRequestAttributes();
+        return AuditContext.capture();
+    }
+
+    @Benchmark
+    public AuditContext captureFromRequest() {
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        return AuditContext.capture();
+    }
+}
\ No newline at end of file
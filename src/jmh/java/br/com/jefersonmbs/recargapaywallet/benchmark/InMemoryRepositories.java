@@ -0,0 +1,140 @@
+package br.com.jefersonmbs.recargapaywallet.benchmark;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.UserEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionHistoryRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.UserRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletBalanceShardRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletLedgerRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories and the EntityManager, implementing only the
+ * methods the transaction hot path calls. Anything else fails loudly so a new repository call on the
+ * hot path is noticed instead of silently measured as a no-op.
+ */
+final class InMemoryRepositories {
+
+    private final Map<UUID, WalletEntity> wallets = new ConcurrentHashMap<>();
+    private final Map<UUID, BigDecimal> balances = new ConcurrentHashMap<>();
+    private final Map<Long, UserEntity> users = new ConcurrentHashMap<>();
+
+    WalletEntity addWallet(long userId, long accountNumber, String cpf, BigDecimal balance) {
+        UserEntity user = UserEntity.builder()
+                .id(userId)
+                .name("Benchmark User " + userId)
+                .email("user" + userId + "@benchmark.local")
+                .cpf(cpf)
+                .active(true)
+                .build();
+        WalletEntity wallet = WalletEntity.builder()
+                .id(UUID.randomUUID())
+                .accountNumber(accountNumber)
+                .balance(balance)
+                .user(user)
+                .active(true)
+                .version(0L)
+                .build();
+        users.put(userId, user);
+        wallets.put(wallet.getId(), wallet);
+        balances.put(wallet.getId(), balance);
+        return wallet;
+    }
+
+    WalletRepository walletRepository() {
+        return proxy(WalletRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(wallets.get((UUID) args[0]));
+            case "findBalanceById" -> Optional.ofNullable(balances.get((UUID) args[0]));
+            case "applyBalanceDelta" -> applyBalanceDelta((UUID) args[0], (BigDecimal) args[1]);
+            case "findIdByAccountNumber" -> wallets.values().stream()
+                    .filter(wallet -> wallet.getAccountNumber().equals(args[0]))
+                    .map(WalletEntity::getId)
+                    .findFirst();
+            case "findIdByUserCpf" -> wallets.values().stream()
+                    .filter(wallet -> wallet.getUser().getCpf().equals(args[0]))
+                    .map(WalletEntity::getId)
+                    .findFirst();
+            case "existsByUserId" -> wallets.values().stream()
+                    .anyMatch(wallet -> wallet.getUser().getId().equals(args[0]));
+            default -> unsupported(WalletRepository.class, method.getName());
+        });
+    }
+
+    WalletBalanceShardRepository walletBalanceShardRepository() {
+        return proxy(WalletBalanceShardRepository.class, (proxy, method, args) -> unsupported(WalletBalanceShardRepository.class, method.getName()));
+    }
+
+    UserRepository userRepository() {
+        return proxy(UserRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "existsById" -> users.containsKey((Long) args[0]);
+            case "findById" -> Optional.ofNullable(users.get((Long) args[0]));
+            default -> unsupported(UserRepository.class, method.getName());
+        });
+    }
+
+    TransactionHistoryRepository transactionHistoryRepository() {
+        return proxy(TransactionHistoryRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "save" -> {
+                TransactionHistoryEntity transaction = (TransactionHistoryEntity) args[0];
+                transaction.setId(UUID.randomUUID());
+                transaction.setCreatedAt(LocalDateTime.now());
+                yield transaction;
+            }
+            default -> unsupported(TransactionHistoryRepository.class, method.getName());
+        });
+    }
+
+    WalletLedgerRepository walletLedgerRepository() {
+        return proxy(WalletLedgerRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "save" -> args[0];
+            default -> unsupported(WalletLedgerRepository.class, method.getName());
+        });
+    }
+
+    EntityManager entityManager() {
+        return proxy(EntityManager.class, (proxy, method, args) -> switch (method.getName()) {
+            case "find" -> wallets.get((UUID) args[1]);
+            default -> unsupported(EntityManager.class, method.getName());
+        });
+    }
+
+    private int applyBalanceDelta(UUID walletId, BigDecimal delta) {
+        int[] updatedRows = {0};
+        balances.computeIfPresent(walletId, (id, balance) -> {
+            BigDecimal newBalance = balance.add(delta);
+            if (newBalance.signum() < 0) {
+                return balance;
+            }
+            updatedRows[0] = 1;
+            return newBalance;
+        });
+        return updatedRows[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        InvocationHandler withObjectMethods = (proxy, method, args) -> switch (method.getName()) {
+            case "toString" -> "InMemory" + type.getSimpleName();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == Objects.requireNonNull(args)[0];
+            default -> handler.invoke(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, withObjectMethods);
+    }
+
+    private static Object unsupported(Class<?> type, String methodName) {
+        throw new UnsupportedOperationException(type.getSimpleName() + "." + methodName + " is not stubbed for benchmarks");
+    }
+}
\ No newline at end of file
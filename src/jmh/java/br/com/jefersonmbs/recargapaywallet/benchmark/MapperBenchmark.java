@@ -0,0 +1,73 @@
+package br.com.jefersonmbs.recargapaywallet.benchmark;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.mapper.TransactionMapper;
+import br.com.jefersonmbs.recargapaywallet.api.mapper.WalletMapper;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    @Param({"1", "100"})
+    private int pageSize;
+
+    private TransactionMapper transactionMapper;
+    private WalletMapper walletMapper;
+    private WalletEntity wallet;
+    private List<TransactionHistoryEntity> transactions;
+
+    @Setup
+    public void setUp() {
+        transactionMapper = Mappers.getMapper(TransactionMapper.class);
+        walletMapper = Mappers.getMapper(WalletMapper.class);
+
+        InMemoryRepositories repositories = new InMemoryRepositories();
+        wallet = repositories.addWallet(1L, 9891L, "11122233344", new BigDecimal("1000.00"));
+        WalletEntity target = repositories.addWallet(2L, 9892L, "55566677788", new BigDecimal("1000.00"));
+
+        transactions = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            transactions.add(TransactionHistoryEntity.builder()
+                    .id(UUID.randomUUID())
+                    .type(TransactionHistoryEntity.TransactionType.TRANSFER_OUT)
+                    .amount(new BigDecimal("10.00"))
+                    .sourceWallet(wallet)
+                    .targetWallet(target)
+                    .description("Benchmark transfer")
+                    .balanceBeforeTransaction(new BigDecimal("1000.00"))
+                    .balanceAfterTransaction(new BigDecimal("990.00"))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<TransactionResponseDto> transactionPage() {
+        return transactionMapper.toResponseDtoList(transactions);
+    }
+
+    @Benchmark
+    public WalletResponseDto wallet() {
+        return walletMapper.toResponseDto(wallet);
+    }
+}
\ No newline at end of file
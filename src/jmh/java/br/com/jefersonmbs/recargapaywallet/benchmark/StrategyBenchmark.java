@@ -0,0 +1,112 @@
+package br.com.jefersonmbs.recargapaywallet.benchmark;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.mapper.TransactionMapper;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionAuditService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletFinderService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.impl.TransactionAuditServiceImpl;
+import br.com.jefersonmbs.recargapaywallet.domain.service.impl.TransactionHistoryServiceImpl;
+import br.com.jefersonmbs.recargapaywallet.domain.service.impl.WalletBalanceServiceImpl;
+import br.com.jefersonmbs.recargapaywallet.domain.service.impl.WalletFinderServiceImpl;
+import br.com.jefersonmbs.recargapaywallet.domain.service.impl.WalletLockServiceImpl;
+import br.com.jefersonmbs.recargapaywallet.domain.strategy.impl.DepositStrategy;
+import br.com.jefersonmbs.recargapaywallet.domain.strategy.impl.TransferStrategy;
+import br.com.jefersonmbs.recargapaywallet.domain.strategy.impl.WithdrawStrategy;
+import br.com.jefersonmbs.recargapaywallet.domain.validator.WalletValidator;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.cache.WalletRoutingCache;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletLockProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletRoutingCacheProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletStripingProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StrategyBenchmark {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000000.00");
+
+    private DepositStrategy depositStrategy;
+    private WithdrawStrategy withdrawStrategy;
+    private TransferStrategy transferStrategy;
+
+    private TransactionRequestDto depositRequest;
+    private TransactionRequestDto withdrawRequest;
+    private TransactionRequestDto transferRequest;
+
+    @Setup
+    public void setUp() {
+        InMemoryRepositories repositories = new InMemoryRepositories();
+        WalletEntity source = repositories.addWallet(1L, 9891L, "11122233344", OPENING_BALANCE);
+        WalletEntity target = repositories.addWallet(2L, 9892L, "55566677788", OPENING_BALANCE);
+
+        WalletValidator walletValidator = new WalletValidator(repositories.userRepository(), repositories.walletRepository());
+        WalletFinderService walletFinderService = new WalletFinderServiceImpl(repositories.walletRepository(),
+                new WalletRoutingCache(new WalletRoutingCacheProperties(), new SimpleMeterRegistry()));
+        WalletBalanceService walletBalanceService = new WalletBalanceServiceImpl(repositories.walletRepository(),
+                repositories.walletBalanceShardRepository(), new WalletStripingProperties());
+        TransactionHistoryService transactionHistoryService = new TransactionHistoryServiceImpl(
+                repositories.transactionHistoryRepository(), repositories.walletLedgerRepository());
+        TransactionAuditService transactionAuditService = new TransactionAuditServiceImpl(audit -> { }, new ObjectMapper());
+        TransactionMapper transactionMapper = Mappers.getMapper(TransactionMapper.class);
+        TransactionPhaseMetrics transactionPhaseMetrics = new TransactionPhaseMetrics(new SimpleMeterRegistry());
+
+        depositStrategy = new DepositStrategy(walletFinderService, walletBalanceService, transactionHistoryService,
+                transactionAuditService, walletValidator, transactionMapper, transactionPhaseMetrics);
+        withdrawStrategy = new WithdrawStrategy(walletFinderService, walletBalanceService, transactionHistoryService,
+                transactionAuditService, walletValidator, transactionMapper, transactionPhaseMetrics);
+        transferStrategy = new TransferStrategy(walletFinderService,
+                new WalletLockServiceImpl(repositories.entityManager(), new WalletLockProperties()),
+                walletBalanceService, transactionHistoryService, transactionAuditService, walletValidator, transactionMapper,
+                transactionPhaseMetrics);
+
+        depositRequest = TransactionRequestDto.builder()
+                .amount(new BigDecimal("10.00"))
+                .targetWalletId(target.getId())
+                .description("Benchmark deposit")
+                .build();
+        withdrawRequest = TransactionRequestDto.builder()
+                .amount(new BigDecimal("10.00"))
+                .sourceWalletId(source.getId())
+                .description("Benchmark withdrawal")
+                .build();
+        transferRequest = TransactionRequestDto.builder()
+                .amount(new BigDecimal("10.00"))
+                .sourceWalletId(source.getId())
+                .targetWalletId(target.getId())
+                .description("Benchmark transfer")
+                .build();
+    }
+
+    @Benchmark
+    public TransactionResponseDto deposit() {
+        return depositStrategy.execute(depositRequest);
+    }
+
+    @Benchmark
+    public TransactionResponseDto withdraw() {
+        return withdrawStrategy.execute(withdrawRequest);
+    }
+
+    @Benchmark
+    public TransactionResponseDto transfer() {
+        return transferStrategy.execute(transferRequest);
+    }
+}
\ No newline at end of file
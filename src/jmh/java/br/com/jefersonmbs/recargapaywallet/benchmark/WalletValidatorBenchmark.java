@@ -0,0 +1,48 @@
+package br.com.jefersonmbs.recargapaywallet.benchmark;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.validator.WalletValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WalletValidatorBenchmark {
+
+    private WalletValidator walletValidator;
+    private WalletEntity wallet;
+    private TransactionRequestDto request;
+
+    @Setup
+    public void setUp() {
+        InMemoryRepositories repositories = new InMemoryRepositories();
+        wallet = repositories.addWallet(1L, 9891L, "11122233344", new BigDecimal("1000.00"));
+        walletValidator = new WalletValidator(repositories.userRepository(), repositories.walletRepository());
+        request = TransactionRequestDto.builder()
+                .amount(new BigDecimal("10.00"))
+                .sourceWalletId(wallet.getId())
+                .build();
+    }
+
+    @Benchmark
+    public void validateTransactionRequest() {
+        walletValidator.validateTransactionRequest(request);
+        walletValidator.validateWalletId(request.getSourceWalletId());
+    }
+
+    @Benchmark
+    public void validateWalletForWithdrawal() {
+        walletValidator.validateWalletForTransaction(wallet, "inactive");
+        walletValidator.validateSufficientBalance(wallet.getBalance(), request.getAmount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package br.com.jefersonmbs.recargapaywallet.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Harness knobs, read from {@code -Dloadtest.*} system properties so a run can be reproduced from its command line.
+ */
+record LoadTestSettings(
+        int wallets,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Contention contention,
+        int hotWallets,
+        double hotFraction,
+        long seed) {
+
+    enum Operation {
+        DEPOSIT, WITHDRAW, TRANSFER
+    }
+
+    enum Contention {
+        UNIFORM, HOT
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.wallets", 1_000),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 60)),
+                parseMix(System.getProperty("loadtest.mix", "deposit:40,withdraw:30,transfer:30")),
+                Contention.valueOf(System.getProperty("loadtest.contention", "uniform").toUpperCase(Locale.ROOT)),
+                Integer.getInteger("loadtest.hotWallets", 10),
+                Double.parseDouble(System.getProperty("loadtest.hotFraction", "0.8")),
+                Long.getLong("loadtest.seed", 42L));
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package br.com.jefersonmbs.recargapaywallet.loadtest;
+
+import br.com.jefersonmbs.recargapaywallet.RecargapayWalletApplication;
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.UserCreateDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.UserResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+import br.com.jefersonmbs.recargapaywallet.domain.service.UserService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletService;
+import br.com.jefersonmbs.recargapaywallet.loadtest.LoadTestSettings.Contention;
+import br.com.jefersonmbs.recargapaywallet.loadtest.LoadTestSettings.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Boots the service against an embedded PostgreSQL, seeds wallets and drives a deposit/withdraw/transfer mix
+ * over HTTP. Latencies are recorded in HdrHistograms and reported as percentiles and TPS for the measured window.
+ */
+public class WalletLoadTest {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+    private static final BigDecimal OPERATION_AMOUNT = new BigDecimal("1.00");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final Path REPORT_DIRECTORY = Path.of("build", "loadtest");
+
+    private final LoadTestSettings settings;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+    private ObjectMapper objectMapper;
+    private String baseUrl;
+    private List<UUID> walletIds;
+    private volatile boolean running = true;
+
+    WalletLoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(RecargapayWalletApplication.class)
+                     .properties(
+                             "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                             "spring.datasource.username=postgres",
+                             "spring.datasource.password=postgres",
+                             "server.port=0",
+                             "spring.jpa.show-sql=false",
+                             "logging.level.root=WARN",
+                             "logging.level.br.com.jefersonmbs.recargapaywallet=WARN",
+                             "logging.level.org.hibernate.SQL=WARN",
+                             "logging.level.org.springframework.web=WARN")
+                     .run(args)) {
+            new WalletLoadTest(settings).run(context);
+        }
+    }
+
+    void run(ConfigurableApplicationContext context) throws Exception {
+        objectMapper = context.getBean(ObjectMapper.class);
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1/wallets";
+        walletIds = seedWallets(context.getBean(UserService.class), context.getBean(WalletService.class));
+
+        System.out.printf("Seeded %d wallets, running %s for %ds warmup + %ds measured with %d workers%n",
+                walletIds.size(), settings.contention(), settings.warmup().toSeconds(), settings.duration().toSeconds(),
+                settings.concurrency());
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.concurrency(); i++) {
+                long workerSeed = settings.seed() + i;
+                workers.submit(() -> drive(new SplittableRandom(workerSeed)));
+            }
+
+            Thread.sleep(settings.warmup().toMillis());
+            recorders.values().forEach(Recorder::reset);
+            errors.values().forEach(LongAdder::reset);
+
+            long measureStart = System.nanoTime();
+            Thread.sleep(settings.duration().toMillis());
+            Map<Operation, Histogram> intervals = new EnumMap<>(Operation.class);
+            recorders.forEach((operation, recorder) -> intervals.put(operation, recorder.getIntervalHistogram()));
+            double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+            running = false;
+            report(intervals, elapsedSeconds);
+        }
+    }
+
+    private List<UUID> seedWallets(UserService userService, WalletService walletService) {
+        List<UUID> ids = new ArrayList<>(settings.wallets());
+        for (int i = 0; i < settings.wallets(); i++) {
+            UserResponseDto user = userService.createUser(UserCreateDto.builder()
+                    .name("Load User " + i)
+                    .email("load" + i + "@loadtest.local")
+                    .cpf(String.format("%011d", 10_000_000_000L + i))
+                    .build());
+            UUID walletId = walletService.createWallet(user.getId()).getId();
+            walletService.deposit(TransactionRequestDto.builder()
+                    .type(TransactionType.DEPOSIT)
+                    .targetWalletId(walletId)
+                    .amount(OPENING_BALANCE)
+                    .description("Load test opening balance")
+                    .build());
+            ids.add(walletId);
+        }
+        return ids;
+    }
+
+    private void drive(SplittableRandom random) {
+        int totalWeight = settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        while (running) {
+            Operation operation = pickOperation(random, totalWeight);
+            UUID wallet = pickWallet(random);
+            TransactionRequestDto.TransactionRequestDtoBuilder request = TransactionRequestDto.builder()
+                    .amount(OPERATION_AMOUNT);
+            String path = switch (operation) {
+                case DEPOSIT -> {
+                    request.type(TransactionType.DEPOSIT).targetWalletId(wallet);
+                    yield "/deposit";
+                }
+                case WITHDRAW -> {
+                    request.type(TransactionType.WITHDRAWAL).sourceWalletId(wallet);
+                    yield "/withdraw";
+                }
+                case TRANSFER -> {
+                    UUID target = pickWallet(random);
+                    while (target.equals(wallet)) {
+                        target = pickWallet(random);
+                    }
+                    request.type(TransactionType.TRANSFER).sourceWalletId(wallet).targetWalletId(target);
+                    yield "/transfer";
+                }
+            };
+
+            long start = System.nanoTime();
+            boolean success = post(path, request.build());
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            recorders.get(operation).recordValue(Math.min(elapsedMicros, HIGHEST_TRACKABLE_MICROS));
+            if (!success) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private Operation pickOperation(SplittableRandom random, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> weight : settings.mix().entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Operation mix weights must be positive");
+    }
+
+    private UUID pickWallet(SplittableRandom random) {
+        int hotWallets = Math.min(settings.hotWallets(), walletIds.size());
+        if (settings.contention() == Contention.HOT && hotWallets > 1 && random.nextDouble() < settings.hotFraction()) {
+            return walletIds.get(random.nextInt(hotWallets));
+        }
+        return walletIds.get(random.nextInt(walletIds.size()));
+    }
+
+    private boolean post(String path, TransactionRequestDto body) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void report(Map<Operation, Histogram> intervals, double elapsedSeconds) throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+        PrintStream out = System.out;
+        out.printf("%n%-10s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "tps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : intervals.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long operationErrors = errors.get(entry.getKey()).sum();
+            total.add(histogram);
+            totalErrors += operationErrors;
+            printRow(out, entry.getKey().name().toLowerCase(), histogram, operationErrors, elapsedSeconds);
+
+            try (PrintStream hgrm = new PrintStream(REPORT_DIRECTORY.resolve(entry.getKey().name().toLowerCase() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        printRow(out, "total", total, totalErrors, elapsedSeconds);
+        out.printf("%nPercentile distributions (ms) written to %s%n", REPORT_DIRECTORY.toAbsolutePath());
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errorCount, double elapsedSeconds) {
+        out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                label,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getTotalCount() / elapsedSeconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package br.com.jefersonmbs.recargapaywallet.api.controller;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionAuditResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.service.AuditLookupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/audits")
+@RequiredArgsConstructor
+public class AuditController implements AuditControllerApi {
+
+    private final AuditLookupService auditLookupService;
+
+    @GetMapping("/transactions/{transactionId}")
+    public ResponseEntity<List<TransactionAuditResponseDto>> getByTransactionId(
+            @PathVariable UUID transactionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.info("REST request to get audit records of transaction: {}", transactionId);
+
+        return ResponseEntity.ok(auditLookupService.findByTransactionId(transactionId, startDate, endDate));
+    }
+
+    @GetMapping("/correlations/{correlationId}")
+    public ResponseEntity<List<TransactionAuditResponseDto>> getByCorrelationId(
+            @PathVariable String correlationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.info("REST request to get audit records of correlation: {}", correlationId);
+
+        return ResponseEntity.ok(auditLookupService.findByCorrelationId(correlationId, startDate, endDate));
+    }
+}
\ No newline at end of file
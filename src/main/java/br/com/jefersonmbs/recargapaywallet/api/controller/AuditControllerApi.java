@@ -0,0 +1,49 @@
+package br.com.jefersonmbs.recargapaywallet.api.controller;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionAuditResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Tag(name = "Audits", description = "API for transaction audit lookup")
+public interface AuditControllerApi {
+
+    @Operation(summary = "Audit by transaction", description = "Retrieves the audit records of a transaction, reading through to the archive of the given months when they are older than the retention")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit records returned successfully; empty when none exist",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionAuditResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid transaction ID or date range",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error or corrupted archive",
+                    content = @Content(mediaType = "application/json"))
+    })
+    ResponseEntity<List<TransactionAuditResponseDto>> getByTransactionId(
+            @Parameter(description = "Transaction ID", required = true) @PathVariable UUID transactionId,
+            @Parameter(description = "Start date of the archive lookup", required = false) @RequestParam(required = false) LocalDate startDate,
+            @Parameter(description = "End date of the archive lookup", required = false) @RequestParam(required = false) LocalDate endDate);
+
+    @Operation(summary = "Audit by correlation", description = "Retrieves the audit records sharing a correlation ID, reading through to the archive of the given months when they are older than the retention")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit records returned successfully; empty when none exist",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionAuditResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid correlation ID or date range",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error or corrupted archive",
+                    content = @Content(mediaType = "application/json"))
+    })
+    ResponseEntity<List<TransactionAuditResponseDto>> getByCorrelationId(
+            @Parameter(description = "Correlation ID", required = true) @PathVariable String correlationId,
+            @Parameter(description = "Start date of the archive lookup", required = false) @RequestParam(required = false) LocalDate startDate,
+            @Parameter(description = "End date of the archive lookup", required = false) @RequestParam(required = false) LocalDate endDate);
+}
\ No newline at end of file
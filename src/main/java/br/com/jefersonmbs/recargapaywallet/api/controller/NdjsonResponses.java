@@ -0,0 +1,40 @@
+package br.com.jefersonmbs.recargapaywallet.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+final class NdjsonResponses {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private NdjsonResponses() {
+    }
+
+    /**
+     * Serializes each element handed to the sink as one JSON line, straight to the response. The source runs on the
+     * async request thread, so it must open (and close) its own transaction around the underlying cursor.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                source.accept(element -> {
+                    try {
+                        writer.write(element);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+            .body(body);
+    }
+}
\ No newline at end of file
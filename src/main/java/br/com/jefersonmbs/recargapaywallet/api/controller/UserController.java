@@ -4,12 +4,14 @@ import br.com.jefersonmbs.recargapaywallet.api.dto.UserCreateDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.UserResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.UserUpdateDto;
 import br.com.jefersonmbs.recargapaywallet.domain.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,6 +22,7 @@ import java.util.List;
 public class UserController implements UserControllerApi {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<UserResponseDto> createUser(@Valid @RequestBody UserCreateDto userCreateDto) {
@@ -38,13 +41,15 @@ public class UserController implements UserControllerApi {
     @GetMapping
     public ResponseEntity<List<UserResponseDto>> getAllUsers(
             @RequestParam(defaultValue = "false") boolean activeOnly,
-            @RequestParam(required = false) String name) {
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         
         List<UserResponseDto> users;
         
         if (name != null && !name.trim().isEmpty()) {
             log.info("REST request to search users by name: {}", name);
-            users = userService.searchUsersByName(name.trim());
+            users = userService.searchUsersByName(name.trim(), page, size);
         } else if (activeOnly) {
             log.info("REST request to get all active users");
             users = userService.getAllActiveUsers();
@@ -56,6 +61,13 @@ public class UserController implements UserControllerApi {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping(value = "/stream", produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers(@RequestParam(defaultValue = "false") boolean activeOnly) {
+        log.info("REST request to stream {} users", activeOnly ? "active" : "all");
+
+        return NdjsonResponses.<UserResponseDto>stream(objectMapper, sink -> userService.streamUsers(activeOnly, sink));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserResponseDto> updateUser(
             @PathVariable Long id,
@@ -13,6 +13,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -52,8 +53,23 @@ public interface UserControllerApi {
     ResponseEntity<List<UserResponseDto>> getAllUsers(
             @Parameter(description = "Filter only active users")
             @RequestParam(defaultValue = "false") boolean activeOnly,
-            @Parameter(description = "Search users by name")
-            @RequestParam(required = false) String name);
+            @Parameter(description = "Search active users by name, ranked by similarity")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Page number for name search (0..N)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size for name search (1-100)")
+            @RequestParam(defaultValue = "20") int size);
+
+    @Operation(summary = "Stream users", description = "Streams users as newline-delimited JSON, one user per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User stream started",
+                    content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = UserResponseDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json"))
+    })
+    ResponseEntity<StreamingResponseBody> streamUsers(
+            @Parameter(description = "Filter only active users")
+            @RequestParam(defaultValue = "false") boolean activeOnly);
 
     @Operation(summary = "Update user", description = "Updates data of an existing user")
     @ApiResponses(value = {
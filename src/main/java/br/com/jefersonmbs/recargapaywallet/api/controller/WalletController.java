@@ -1,17 +1,24 @@
 package br.com.jefersonmbs.recargapaywallet.api.controller;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.CursorTransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.PagedTransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionHistoryRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,7 +31,10 @@ import org.springframework.format.annotation.DateTimeFormat;
 @RequiredArgsConstructor
 public class WalletController implements WalletControllerApi {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final WalletService walletService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<WalletResponseDto> createWallet(@RequestParam Long userId) {
@@ -46,10 +56,20 @@ public class WalletController implements WalletControllerApi {
         return ResponseEntity.ok(walletService.getAllActiveWallets());
     }
 
+    @GetMapping(value = "/stream", produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamActiveWallets() {
+        log.info("REST request to stream all active wallets");
+
+        return NdjsonResponses.stream(objectMapper, walletService::streamActiveWallets);
+    }
+
     @PostMapping("/deposit")
-    public ResponseEntity<TransactionResponseDto> deposit(@Valid @RequestBody TransactionRequestDto transactionRequest) {
+    public ResponseEntity<TransactionResponseDto> deposit(
+            @Valid @RequestBody TransactionRequestDto transactionRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         String correlationId = UUID.randomUUID().toString();
         transactionRequest.setCorrelationId(correlationId);
+        transactionRequest.setIdempotencyKey(idempotencyKey);
         
         log.info("REST request to process deposit of {} to wallet ID: {} [correlationId={}]", 
             transactionRequest.getAmount(), transactionRequest.getTargetWalletId(), correlationId);
@@ -57,10 +77,25 @@ public class WalletController implements WalletControllerApi {
         return ResponseEntity.ok(walletService.deposit(transactionRequest));
     }
 
+    @PostMapping("/deposit/batch")
+    public ResponseEntity<BatchDepositResponseDto> batchDeposit(@Valid @RequestBody BatchDepositRequestDto batchRequest) {
+        if (batchRequest.getCorrelationId() == null || batchRequest.getCorrelationId().isBlank()) {
+            batchRequest.setCorrelationId(UUID.randomUUID().toString());
+        }
+
+        log.info("REST request to process batch deposit of {} items [correlationId={}]",
+            batchRequest.getItems().size(), batchRequest.getCorrelationId());
+
+        return ResponseEntity.ok(walletService.batchDeposit(batchRequest));
+    }
+
     @PostMapping("/withdraw")
-    public ResponseEntity<TransactionResponseDto> withdraw(@Valid @RequestBody TransactionRequestDto transactionRequest) {
+    public ResponseEntity<TransactionResponseDto> withdraw(
+            @Valid @RequestBody TransactionRequestDto transactionRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         String correlationId = UUID.randomUUID().toString();
         transactionRequest.setCorrelationId(correlationId);
+        transactionRequest.setIdempotencyKey(idempotencyKey);
         
         log.info("REST request to process withdrawal of {} from wallet ID: {} [correlationId={}]", 
             transactionRequest.getAmount(), transactionRequest.getSourceWalletId(), correlationId);
@@ -69,9 +104,12 @@ public class WalletController implements WalletControllerApi {
     }
 
     @PostMapping("/transfer")
-    public ResponseEntity<TransactionResponseDto> transfer(@Valid @RequestBody TransactionRequestDto transactionRequest) {
+    public ResponseEntity<TransactionResponseDto> transfer(
+            @Valid @RequestBody TransactionRequestDto transactionRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         String correlationId = UUID.randomUUID().toString();
         transactionRequest.setCorrelationId(correlationId);
+        transactionRequest.setIdempotencyKey(idempotencyKey);
         
         log.info("REST request to process transfer of {} from wallet ID: {} to target [correlationId={}]", 
             transactionRequest.getAmount(), transactionRequest.getSourceWalletId(), correlationId);
@@ -79,6 +117,18 @@ public class WalletController implements WalletControllerApi {
         return ResponseEntity.ok(walletService.transfer(transactionRequest));
     }
 
+    @PostMapping("/disbursement")
+    public ResponseEntity<DisbursementResponseDto> disburse(@Valid @RequestBody DisbursementRequestDto disbursementRequest) {
+        if (disbursementRequest.getCorrelationId() == null || disbursementRequest.getCorrelationId().isBlank()) {
+            disbursementRequest.setCorrelationId(UUID.randomUUID().toString());
+        }
+
+        log.info("REST request to process disbursement from wallet ID: {} to {} recipients [correlationId={}]",
+            disbursementRequest.getSourceWalletId(), disbursementRequest.getItems().size(), disbursementRequest.getCorrelationId());
+
+        return ResponseEntity.ok(walletService.disburse(disbursementRequest));
+    }
+
     @GetMapping("/{walletId}/{userId}/transactions")
     public ResponseEntity<PagedTransactionResponseDto> getTransactionHistory(
             @PathVariable UUID walletId, 
@@ -104,6 +154,29 @@ public class WalletController implements WalletControllerApi {
         return ResponseEntity.ok(walletService.getTransactionHistoryPaginated(walletId, userId, request));
     }
 
+    @GetMapping("/{walletId}/{userId}/transactions/cursor")
+    public ResponseEntity<CursorTransactionResponseDto> getTransactionHistoryByCursor(
+            @PathVariable UUID walletId,
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") Boolean includeCount) {
+
+        TransactionHistoryRequestDto request = TransactionHistoryRequestDto.builder()
+                .cursor(cursor)
+                .size(size)
+                .startDate(startDate)
+                .endDate(endDate)
+                .includeCount(includeCount)
+                .build();
+
+        log.info("REST request to get cursor transaction history for wallet ID and User ID: {} , {} with filters: {}", walletId, userId, request);
+
+        return ResponseEntity.ok(walletService.getTransactionHistoryByCursor(walletId, userId, request));
+    }
+
     @PatchMapping("/{id}/toggle-active")
     public ResponseEntity<Void> toggleActiveWallet(@PathVariable UUID id) {
         log.info("REST request to toggle active status for wallet ID: {}", id);
@@ -1,5 +1,10 @@
 package br.com.jefersonmbs.recargapaywallet.api.controller;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.CursorTransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.PagedTransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
@@ -14,6 +19,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -56,16 +62,43 @@ public interface WalletControllerApi {
     })
     ResponseEntity<List<WalletResponseDto>> getAllActiveWallets();
 
+    @Operation(summary = "Stream active wallets", description = "Streams all active wallets as newline-delimited JSON, one wallet per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Wallet stream started",
+                    content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = WalletResponseDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json"))
+    })
+    ResponseEntity<StreamingResponseBody> streamActiveWallets();
+
     @Operation(summary = "Make deposit", description = "Deposits an amount into a wallet")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Deposit completed successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid data or inactive wallet",
                     content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json"))
+    })
+    ResponseEntity<TransactionResponseDto> deposit(
+            @Valid @RequestBody TransactionRequestDto transactionRequest,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response without re-executing")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+
+    @Operation(summary = "Make batch deposit",
+            description = "Credits up to 1000 wallets in one request, each identified by walletId or accountNumber (walletId wins when both are set). "
+                    + "Items are validated independently: invalid, unknown or inactive targets are reported as FAILED while the rest are credited")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the per-item status",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchDepositResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch",
+                    content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "application/json"))
     })
-    ResponseEntity<TransactionResponseDto> deposit(@Valid @RequestBody TransactionRequestDto transactionRequest);
+    ResponseEntity<BatchDepositResponseDto> batchDeposit(@Valid @RequestBody BatchDepositRequestDto batchRequest);
 
     @Operation(summary = "Make withdrawal", description = "Withdraws an amount from a wallet")
     @ApiResponses(value = {
@@ -73,10 +106,15 @@ public interface WalletControllerApi {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid data, insufficient balance or inactive wallet",
                     content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request",
+                    content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "application/json"))
     })
-    ResponseEntity<TransactionResponseDto> withdraw(@Valid @RequestBody TransactionRequestDto transactionRequest);
+    ResponseEntity<TransactionResponseDto> withdraw(
+            @Valid @RequestBody TransactionRequestDto transactionRequest,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response without re-executing")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
 
     @Operation(summary = "Make transfer", description = "Transfers an amount between wallets")
     @ApiResponses(value = {
@@ -84,10 +122,30 @@ public interface WalletControllerApi {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid data, insufficient balance or inactive wallets",
                     content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json"))
+    })
+    ResponseEntity<TransactionResponseDto> transfer(
+            @Valid @RequestBody TransactionRequestDto transactionRequest,
+            @Parameter(description = "Client-generated key; retries with the same key return the original response without re-executing")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+
+    @Operation(summary = "Make disbursement",
+            description = "Pays up to 1000 recipients from one source wallet in a single transaction. The source is debited once for the total of the valid items; "
+                    + "invalid, unknown or inactive recipients are reported as FAILED and are not charged")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Disbursement processed; see the per-recipient status",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DisbursementResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid data, insufficient balance or inactive source wallet",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Source wallet not found",
+                    content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "application/json"))
     })
-    ResponseEntity<TransactionResponseDto> transfer(@Valid @RequestBody TransactionRequestDto transactionRequest);
+    ResponseEntity<DisbursementResponseDto> disburse(@Valid @RequestBody DisbursementRequestDto disbursementRequest);
 
     @Operation(summary = "Transaction history", description = "Retrieves the paginated transaction history of a wallet with optional date filtering (max 90 days range)")
     @ApiResponses(value = {
@@ -108,6 +166,24 @@ public interface WalletControllerApi {
             @Parameter(description = "Sort field", required = false) @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction", required = false) @RequestParam(defaultValue = "DESC") String sortDirection);
 
+    @Operation(summary = "Transaction history by cursor", description = "Retrieves the transaction history of a wallet newest first, continuing from an opaque cursor so every page costs the same")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History page returned successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorTransactionResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, date range or page size",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json"))
+    })
+    ResponseEntity<CursorTransactionResponseDto> getTransactionHistoryByCursor(
+            @Parameter(description = "Wallet ID", required = true) @PathVariable UUID walletId,
+            @Parameter(description = "User ID", required = true) @PathVariable Long userId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page", required = false) @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", required = false) @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(description = "Start date filter", required = false) @RequestParam(required = false) LocalDate startDate,
+            @Parameter(description = "End date filter", required = false) @RequestParam(required = false) LocalDate endDate,
+            @Parameter(description = "Also return the total number of matching transactions", required = false) @RequestParam(defaultValue = "false") Boolean includeCount);
+
     @Operation(summary = "History by CPF", description = "Retrieves a user's transaction history by CPF")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "History returned successfully",
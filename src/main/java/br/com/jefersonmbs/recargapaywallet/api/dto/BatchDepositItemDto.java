@@ -0,0 +1,24 @@
+package br.com.jefersonmbs.recargapaywallet.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDepositItemDto {
+
+    private UUID walletId;
+
+    private Long accountNumber;
+
+    private BigDecimal amount;
+
+    private String description;
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package br.com.jefersonmbs.recargapaywallet.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDepositItemResultDto {
+
+    private int index;
+    private Status status;
+    private UUID walletId;
+    private Long accountNumber;
+    private BigDecimal amount;
+    private UUID transactionId;
+    private BigDecimal balanceBeforeTransaction;
+    private BigDecimal balanceAfterTransaction;
+    private String error;
+
+    public enum Status {
+        COMPLETED,
+        FAILED
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package br.com.jefersonmbs.recargapaywallet.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDepositRequestDto {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @NotEmpty(message = "Batch must contain at least one item")
+    @Size(max = MAX_ITEMS, message = "Batch must not exceed " + MAX_ITEMS + " items")
+    private List<BatchDepositItemDto> items;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    private String description;
+
+    private String correlationId;
+}
\ No newline at end of file
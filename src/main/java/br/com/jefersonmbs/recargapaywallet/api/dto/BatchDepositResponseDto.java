@@ -0,0 +1,21 @@
+package br.com.jefersonmbs.recargapaywallet.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDepositResponseDto {
+
+    private String correlationId;
+    private int total;
+    private int completed;
+    private int failed;
+    private List<BatchDepositItemResultDto> results;
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package br.com.jefersonmbs.recargapaywallet.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorTransactionResponseDto {
+
+    private List<TransactionResponseDto> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package br.com.jefersonmbs.recargapaywallet.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisbursementRequestDto {
+
+    public static final int MAX_RECIPIENTS = 1000;
+
+    @NotNull(message = "Source wallet ID is required")
+    private UUID sourceWalletId;
+
+    @NotEmpty(message = "Disbursement must contain at least one recipient")
+    @Size(max = MAX_RECIPIENTS, message = "Disbursement must not exceed " + MAX_RECIPIENTS + " recipients")
+    private List<BatchDepositItemDto> items;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    private String description;
+
+    private String correlationId;
+}
\ No newline at end of file
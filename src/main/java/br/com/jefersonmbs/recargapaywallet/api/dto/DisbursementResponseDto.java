@@ -0,0 +1,27 @@
+package br.com.jefersonmbs.recargapaywallet.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisbursementResponseDto {
+
+    private String correlationId;
+    private UUID sourceWalletId;
+    private BigDecimal totalAmount;
+    private BigDecimal sourceBalanceBefore;
+    private BigDecimal sourceBalanceAfter;
+    private int total;
+    private int completed;
+    private int failed;
+    private List<BatchDepositItemResultDto> results;
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package br.com.jefersonmbs.recargapaywallet.api.dto;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAuditResponseDto {
+
+    private UUID id;
+    private UUID transactionId;
+    private UUID walletId;
+    private Long userId;
+    private TransactionAuditEntity.OperationType operationType;
+    private BigDecimal amount;
+    private BigDecimal balanceBefore;
+    private BigDecimal balanceAfter;
+    private TransactionAuditEntity.TransactionStatus status;
+    private LocalDateTime createdAt;
+    private String createdBy;
+    private String originIp;
+    private String userAgent;
+    private String correlationId;
+    private String description;
+    private Boolean archived;
+}
\ No newline at end of file
@@ -39,4 +39,9 @@ public class TransactionHistoryRequestDto {
 
     @Builder.Default
     private String sortDirection = "DESC";
+
+    private String cursor;
+
+    @Builder.Default
+    private Boolean includeCount = false;
 }
\ No newline at end of file
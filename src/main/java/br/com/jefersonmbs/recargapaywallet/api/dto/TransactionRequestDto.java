@@ -37,4 +37,6 @@ public class TransactionRequestDto {
     private String description;
 
     private String correlationId;
+
+    private String idempotencyKey;
 }
\ No newline at end of file
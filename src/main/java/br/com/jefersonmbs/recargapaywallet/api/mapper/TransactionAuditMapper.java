@@ -0,0 +1,16 @@
+package br.com.jefersonmbs.recargapaywallet.api.mapper;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionAuditResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface TransactionAuditMapper {
+
+    @Mapping(target = "archived", constant = "false")
+    TransactionAuditResponseDto toResponseDto(TransactionAuditEntity auditEntity);
+
+    @Mapping(target = "archived", constant = "true")
+    TransactionAuditResponseDto toArchivedResponseDto(TransactionAuditEntity auditEntity);
+}
\ No newline at end of file
@@ -1,46 +1,73 @@
 package br.com.jefersonmbs.recargapaywallet.domain.dto;
 
 import lombok.Builder;
-import lombok.Data;
-import org.slf4j.MDC;
+import lombok.Value;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.Optional;
 import java.util.UUID;
 
 
-@Data
+@Value
 @Builder
 public class AuditContext {
-    
-    private final String originIp;
-    private final String userAgent;
-    private final String sessionId;
-    private final String correlationId;
-    private final String createdBy;
-    private final String metadata;
-    
+
+    public static final String REQUEST_ATTRIBUTE = AuditContext.class.getName();
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+    private static final String REAL_IP_HEADER = "X-Real-IP";
+    private static final String USER_AGENT_HEADER = "User-Agent";
+
+    String originIp;
+    String userAgent;
+    String sessionId;
+    String correlationId;
+    String createdBy;
+    String metadata;
+
 
     public static AuditContext capture() {
-        if (isContextAvailableInMDC()) {
-            return captureFromMDC();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return systemContext();
         }
-        
-        Optional<AuditContext> contextFromRequest = captureFromCurrentRequest();
-        if (contextFromRequest.isPresent()) {
-            return contextFromRequest.get();
+
+        Object bound = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (bound instanceof AuditContext context) {
+            return context;
+        }
+
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            AuditContext context = fromRequest(servletAttributes.getRequest(), "EXTRACTED_FROM_REQUEST");
+            attributes.setAttribute(REQUEST_ATTRIBUTE, context, RequestAttributes.SCOPE_REQUEST);
+            return context;
         }
-        
+
         return systemContext();
     }
 
+    public static AuditContext fromRequest(HttpServletRequest request, String createdBy) {
+        return AuditContext.builder()
+                .correlationId(getOrGenerateCorrelationId(request))
+                // Only echoes a session the client already has; never creates one
+                .sessionId(request.getRequestedSessionId())
+                .originIp(getClientIp(request))
+                .userAgent(request.getHeader(USER_AGENT_HEADER))
+                .createdBy(createdBy)
+                .build();
+    }
+
     public static AuditContext withCorrelationId(String correlationId) {
         AuditContext baseContext = capture();
-        
+        if (correlationId == null || correlationId.equals(baseContext.getCorrelationId())) {
+            return baseContext;
+        }
+
         return AuditContext.builder()
-                .correlationId(correlationId != null ? correlationId : baseContext.getCorrelationId())
+                .correlationId(correlationId)
                 .sessionId(baseContext.getSessionId())
                 .originIp(baseContext.getOriginIp())
                 .userAgent(baseContext.getUserAgent())
@@ -69,56 +96,23 @@ public class AuditContext {
                 .build();
     }
 
-    private static boolean isContextAvailableInMDC() {
-        return MDC.get("correlationId") != null;
-    }
-
-    private static AuditContext captureFromMDC() {
-        return AuditContext.builder()
-                .correlationId(MDC.get("correlationId"))
-                .sessionId(MDC.get("sessionId"))
-                .originIp(MDC.get("originIp"))
-                .userAgent(MDC.get("userAgent"))
-                .createdBy(MDC.get("createdBy") != null ? MDC.get("createdBy") : "SYSTEM")
-                .metadata(MDC.get("metadata"))
-                .build();
-    }
-
-    private static Optional<AuditContext> captureFromCurrentRequest() {
-        try {
-            ServletRequestAttributes attributes = 
-                (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
-            HttpServletRequest request = attributes.getRequest();
-            
-            return Optional.of(AuditContext.builder()
-                    .correlationId(getOrGenerateCorrelationId(request))
-                    .sessionId(request.getSession().getId())
-                    .originIp(getClientIp(request))
-                    .userAgent(request.getHeader("User-Agent"))
-                    .createdBy("EXTRACTED_FROM_REQUEST")
-                    .build());
-                    
-        } catch (IllegalStateException e) {
-            return Optional.empty();
-        }
-    }
-
     private static String getOrGenerateCorrelationId(HttpServletRequest request) {
-        String existing = request.getHeader("X-Correlation-ID");
-        return existing != null ? existing : generateCorrelationId();
+        String existing = request.getHeader(CORRELATION_ID_HEADER);
+        return existing != null && !existing.isBlank() ? existing : generateCorrelationId();
     }
 
     private static String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+        String xForwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (xForwardedFor != null && !xForwardedFor.isBlank()) {
+            int comma = xForwardedFor.indexOf(',');
+            return (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma)).trim();
         }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
+
+        String xRealIp = request.getHeader(REAL_IP_HEADER);
+        if (xRealIp != null && !xRealIp.isBlank()) {
+            return xRealIp.trim();
         }
-        
+
         return request.getRemoteAddr();
     }
 
@@ -0,0 +1,10 @@
+package br.com.jefersonmbs.recargapaywallet.domain.dto;
+
+import java.util.UUID;
+
+public record DepositTarget(UUID walletId, Long accountNumber, Long userId, Boolean walletActive, Boolean userActive) {
+
+    public boolean active() {
+        return Boolean.TRUE.equals(walletActive) && Boolean.TRUE.equals(userActive);
+    }
+}
\ No newline at end of file
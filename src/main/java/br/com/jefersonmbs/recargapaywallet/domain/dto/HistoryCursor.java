@@ -0,0 +1,36 @@
+package br.com.jefersonmbs.recargapaywallet.domain.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public record HistoryCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    // Sorts after every stored row, so the first page runs through the same seek query as the others
+    public static final HistoryCursor FIRST_PAGE = new HistoryCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new HistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid history cursor: " + cursor, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package br.com.jefersonmbs.recargapaywallet.domain.dto;
+
+/**
+ * A tb_idempotency_keys row: the response stored under a wallet-scoped Idempotency-Key.
+ */
+public record IdempotencyRecord(String key, String operation, String requestHash, String responseBody) {
+
+    public IdempotencyRecord withResponseBody(String responseBody) {
+        return new IdempotencyRecord(key, operation, requestHash, responseBody);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package br.com.jefersonmbs.recargapaywallet.domain.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record WalletBalance(UUID walletId, BigDecimal balance) {
+}
\ No newline at end of file
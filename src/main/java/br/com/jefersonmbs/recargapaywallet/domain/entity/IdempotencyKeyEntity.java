@@ -0,0 +1,36 @@
+package br.com.jefersonmbs.recargapaywallet.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "tb_idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200, updatable = false, nullable = false)
+    private String idempotencyKey;
+
+    @Column(nullable = false, updatable = false, length = 20)
+    private String operation;
+
+    @Column(name = "request_hash", nullable = false, updatable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_body", nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
\ No newline at end of file
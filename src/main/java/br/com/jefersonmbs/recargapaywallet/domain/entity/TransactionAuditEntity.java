@@ -14,10 +14,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "tb_transaction_audit", indexes = {
     @Index(name = "idx_transaction_audit_transaction_id", columnList = "transaction_id"),
-    @Index(name = "idx_transaction_audit_wallet_id", columnList = "wallet_id"),
-    @Index(name = "idx_transaction_audit_user_id", columnList = "user_id"),
-    @Index(name = "idx_transaction_audit_created_at", columnList = "created_at"),
-    @Index(name = "idx_transaction_audit_correlation_id", columnList = "correlation_id")
+    @Index(name = "idx_transaction_audit_correlation_id", columnList = "correlation_id"),
+    @Index(name = "idx_audit_wallet_created_at", columnList = "wallet_id, created_at DESC"),
+    @Index(name = "idx_audit_user_created_at", columnList = "user_id, created_at DESC")
 })
 @Data
 @Builder
@@ -9,19 +9,29 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tb_users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.NATURAL_ID_CACHE_REGION)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserEntity {
 
+    public static final String CACHE_REGION = "wallet-users";
+    public static final String NATURAL_ID_CACHE_REGION = "wallet-users-cpf";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(updatable = false, nullable = false)
@@ -40,6 +50,7 @@ public class UserEntity {
 
     @NotBlank(message = "CPF is required")
     @Pattern(regexp = "\\d{11}", message = "CPF must contain exactly 11 digits")
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 11)
     private String cpf;
 
@@ -59,6 +70,6 @@ public class UserEntity {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
+    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private WalletEntity wallet;
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package br.com.jefersonmbs.recargapaywallet.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "tb_wallet_balance_shards")
+@IdClass(WalletBalanceShardEntity.ShardId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletBalanceShardEntity {
+
+    @Id
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private UUID walletId;
+
+    @Id
+    @Column(name = "shard_no", nullable = false, updatable = false)
+    private Integer shardNo;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ShardId implements Serializable {
+
+        private UUID walletId;
+        private Integer shardNo;
+    }
+}
\ No newline at end of file
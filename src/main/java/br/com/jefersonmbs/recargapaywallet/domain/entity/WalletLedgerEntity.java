@@ -0,0 +1,37 @@
+package br.com.jefersonmbs.recargapaywallet.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "tb_wallet_ledger")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletLedgerEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false, updatable = false)
+    private UUID walletId;
+
+    @Column(name = "transaction_id", nullable = false, updatable = false)
+    private UUID transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 20)
+    private TransactionHistoryEntity.TransactionType type;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package br.com.jefersonmbs.recargapaywallet.domain.exception;
+
+public class IdempotencyKeyConflictException extends WalletDomainException {
+
+    public IdempotencyKeyConflictException(String idempotencyKey) {
+        super(String.format("Idempotency-Key %s was already used for a different request", idempotencyKey));
+    }
+
+}
\ No newline at end of file
@@ -1,30 +1,55 @@
 package br.com.jefersonmbs.recargapaywallet.domain.factory;
 
+import br.com.jefersonmbs.recargapaywallet.domain.service.IdempotencyService;
 import br.com.jefersonmbs.recargapaywallet.domain.strategy.TransactionStrategy;
 import br.com.jefersonmbs.recargapaywallet.domain.strategy.impl.DepositStrategy;
+import br.com.jefersonmbs.recargapaywallet.domain.strategy.impl.SingleWriterStrategies;
 import br.com.jefersonmbs.recargapaywallet.domain.strategy.impl.TransferStrategy;
 import br.com.jefersonmbs.recargapaywallet.domain.strategy.impl.WithdrawStrategy;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.transaction.TransactionRetryExecutor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 
 @Component
 @RequiredArgsConstructor
 public class TransactionStrategyFactory {
+
+    public static final String DEPOSIT = "deposit";
+    public static final String WITHDRAW = "withdraw";
+    public static final String TRANSFER = "transfer";
     
     private final DepositStrategy depositStrategy;
     private final WithdrawStrategy withdrawStrategy;
     private final TransferStrategy transferStrategy;
+    private final TransactionRetryExecutor transactionRetryExecutor;
+    private final IdempotencyService idempotencyService;
+    private final ObjectProvider<SingleWriterStrategies> singleWriterStrategies;
     
     public TransactionStrategy getDepositStrategy() {
-        return depositStrategy;
+        SingleWriterStrategies engine = singleWriterStrategies.getIfAvailable();
+        return engine != null ? decorateEngine(DEPOSIT, engine::deposit) : decorate(DEPOSIT, depositStrategy);
     }
     
     public TransactionStrategy getWithdrawStrategy() {
-        return withdrawStrategy;
+        SingleWriterStrategies engine = singleWriterStrategies.getIfAvailable();
+        return engine != null ? decorateEngine(WITHDRAW, engine::withdraw) : decorate(WITHDRAW, withdrawStrategy);
     }
     
     public TransactionStrategy getTransferStrategy() {
-        return transferStrategy;
+        SingleWriterStrategies engine = singleWriterStrategies.getIfAvailable();
+        return engine != null ? decorateEngine(TRANSFER, engine::transfer) : decorate(TRANSFER, transferStrategy);
+    }
+
+    private TransactionStrategy decorate(String operation, TransactionStrategy strategy) {
+        return request -> idempotencyService.execute(operation, request, () ->
+            transactionRetryExecutor.execute(operation, () ->
+                idempotencyService.record(operation, request, strategy.execute(request))));
+    }
+
+    // The engine journals the idempotency record with the command itself, so nothing is written after it applied
+    private TransactionStrategy decorateEngine(String operation, TransactionStrategy strategy) {
+        return request -> idempotencyService.execute(operation, request, () -> strategy.execute(request));
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package br.com.jefersonmbs.recargapaywallet.domain.repository;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    // A plain INSERT, so a concurrent duplicate fails on the primary key instead of being merged
+    @Modifying
+    @Query("INSERT INTO IdempotencyKeyEntity (idempotencyKey, operation, requestHash, responseBody, createdAt) " +
+           "VALUES (:idempotencyKey, :operation, :requestHash, :responseBody, :createdAt)")
+    int insert(@Param("idempotencyKey") String idempotencyKey, @Param("operation") String operation,
+               @Param("requestHash") String requestHash, @Param("responseBody") String responseBody,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
\ No newline at end of file
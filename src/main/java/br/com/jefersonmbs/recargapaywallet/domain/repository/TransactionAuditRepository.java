@@ -4,9 +4,13 @@ import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TransactionAuditRepository extends JpaRepository<TransactionAuditEntity, UUID> {
 
+    List<TransactionAuditEntity> findByTransactionIdOrderByCreatedAtAsc(UUID transactionId);
+
+    List<TransactionAuditEntity> findByCorrelationIdOrderByCreatedAtAsc(String correlationId);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package br.com.jefersonmbs.recargapaywallet.domain.repository;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,22 +10,74 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TransactionHistoryRepository extends JpaRepository<TransactionHistoryEntity, UUID> {
 
 
-    @Query("SELECT t FROM TransactionHistoryEntity t WHERE " +
-           "(t.sourceWallet.id = :walletId AND t.type IN ('WITHDRAWAL', 'TRANSFER_OUT')) OR " +
-           "(t.targetWallet.id = :walletId AND t.type IN ('DEPOSIT', 'TRANSFER_IN')) " +
-           "ORDER BY t.createdAt DESC")
-    Page<TransactionHistoryEntity> findByWalletIdPageable(@Param("walletId") UUID walletId, Pageable pageable);
+    @Query(value = "SELECT new br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto(" +
+           "t.id, t.type, t.amount, sw.id, sw.accountNumber, su.cpf, su.name, tw.id, tw.accountNumber, tu.cpf, tu.name, " +
+           "t.description, t.balanceBeforeTransaction, t.balanceAfterTransaction, t.status, t.createdAt) " +
+           "FROM TransactionHistoryEntity t JOIN WalletLedgerEntity l ON l.transactionId = t.id AND l.createdAt = t.createdAt " +
+           "LEFT JOIN t.sourceWallet sw LEFT JOIN sw.user su " +
+           "LEFT JOIN t.targetWallet tw LEFT JOIN tw.user tu WHERE " +
+           "l.walletId = :walletId " +
+           "ORDER BY l.createdAt DESC",
+           countQuery = "SELECT COUNT(l) FROM WalletLedgerEntity l WHERE l.walletId = :walletId")
+    Page<TransactionResponseDto> findResponsesByWalletIdPageable(@Param("walletId") UUID walletId, Pageable pageable);
 
 
-    @Query("SELECT t FROM TransactionHistoryEntity t WHERE " +
-           "((t.sourceWallet.id = :walletId AND t.type IN ('WITHDRAWAL', 'TRANSFER_OUT')) OR " +
-           "(t.targetWallet.id = :walletId AND t.type IN ('DEPOSIT', 'TRANSFER_IN'))) AND " +
-           "t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
-    Page<TransactionHistoryEntity> findByWalletIdAndDateRangePageable(@Param("walletId") UUID walletId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+    @Query(value = "SELECT new br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto(" +
+           "t.id, t.type, t.amount, sw.id, sw.accountNumber, su.cpf, su.name, tw.id, tw.accountNumber, tu.cpf, tu.name, " +
+           "t.description, t.balanceBeforeTransaction, t.balanceAfterTransaction, t.status, t.createdAt) " +
+           "FROM TransactionHistoryEntity t JOIN WalletLedgerEntity l ON l.transactionId = t.id AND l.createdAt = t.createdAt " +
+           "LEFT JOIN t.sourceWallet sw LEFT JOIN sw.user su " +
+           "LEFT JOIN t.targetWallet tw LEFT JOIN tw.user tu WHERE " +
+           "l.walletId = :walletId AND " +
+           "l.createdAt BETWEEN :startDate AND :endDate AND t.createdAt BETWEEN :startDate AND :endDate " +
+           "ORDER BY l.createdAt DESC",
+           countQuery = "SELECT COUNT(l) FROM WalletLedgerEntity l WHERE " +
+           "l.walletId = :walletId AND l.createdAt BETWEEN :startDate AND :endDate")
+    Page<TransactionResponseDto> findResponsesByWalletIdAndDateRangePageable(@Param("walletId") UUID walletId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+
+    @Query("SELECT new br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto(" +
+           "t.id, t.type, t.amount, sw.id, sw.accountNumber, su.cpf, su.name, tw.id, tw.accountNumber, tu.cpf, tu.name, " +
+           "t.description, t.balanceBeforeTransaction, t.balanceAfterTransaction, t.status, t.createdAt) " +
+           "FROM TransactionHistoryEntity t JOIN WalletLedgerEntity l ON l.transactionId = t.id AND l.createdAt = t.createdAt " +
+           "LEFT JOIN t.sourceWallet sw LEFT JOIN sw.user su " +
+           "LEFT JOIN t.targetWallet tw LEFT JOIN tw.user tu WHERE " +
+           "l.walletId = :walletId AND t.createdAt <= :cursorCreatedAt AND " +
+           "(l.createdAt < :cursorCreatedAt OR (l.createdAt = :cursorCreatedAt AND l.transactionId < :cursorId)) " +
+           "ORDER BY l.createdAt DESC, l.transactionId DESC")
+    List<TransactionResponseDto> findResponsesByWalletIdAfterCursor(@Param("walletId") UUID walletId, @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") UUID cursorId, Pageable pageable);
+
+
+    @Query("SELECT new br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto(" +
+           "t.id, t.type, t.amount, sw.id, sw.accountNumber, su.cpf, su.name, tw.id, tw.accountNumber, tu.cpf, tu.name, " +
+           "t.description, t.balanceBeforeTransaction, t.balanceAfterTransaction, t.status, t.createdAt) " +
+           "FROM TransactionHistoryEntity t JOIN WalletLedgerEntity l ON l.transactionId = t.id AND l.createdAt = t.createdAt " +
+           "LEFT JOIN t.sourceWallet sw LEFT JOIN sw.user su " +
+           "LEFT JOIN t.targetWallet tw LEFT JOIN tw.user tu WHERE " +
+           "l.walletId = :walletId AND " +
+           "l.createdAt BETWEEN :startDate AND :endDate AND " +
+           "t.createdAt BETWEEN :startDate AND :endDate AND t.createdAt <= :cursorCreatedAt AND " +
+           "(l.createdAt < :cursorCreatedAt OR (l.createdAt = :cursorCreatedAt AND l.transactionId < :cursorId)) " +
+           "ORDER BY l.createdAt DESC, l.transactionId DESC")
+    List<TransactionResponseDto> findResponsesByWalletIdAndDateRangeAfterCursor(@Param("walletId") UUID walletId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") UUID cursorId, Pageable pageable);
+
+
+    @Query("SELECT COUNT(l) FROM WalletLedgerEntity l WHERE l.walletId = :walletId")
+    long countByWalletId(@Param("walletId") UUID walletId);
+
+
+    @Query("SELECT COUNT(l) FROM WalletLedgerEntity l WHERE " +
+           "l.walletId = :walletId AND l.createdAt BETWEEN :startDate AND :endDate")
+    long countByWalletIdAndDateRange(@Param("walletId") UUID walletId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT t.id FROM TransactionHistoryEntity t WHERE t.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 package br.com.jefersonmbs.recargapaywallet.domain.repository;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.UserResponseDto;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
@@ -23,9 +29,18 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     @Query("SELECT u FROM UserEntity u WHERE u.active = true")
     List<UserEntity> findAllActive();
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.com.jefersonmbs.recargapaywallet.api.dto.UserResponseDto(" +
+           "u.id, u.name, u.email, u.cpf, u.phone, u.active, u.createdAt, u.updatedAt) " +
+           "FROM UserEntity u WHERE (:activeOnly = false OR u.active = true)")
+    Stream<UserResponseDto> streamUsers(@Param("activeOnly") boolean activeOnly);
+
     @Query("SELECT u FROM UserEntity u WHERE u.active = true AND u.id = :id")
     Optional<UserEntity> findActiveById(@Param("id") Long id);
 
-    @Query("SELECT u FROM UserEntity u WHERE u.active = true AND LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<UserEntity> findActiveByNameContainingIgnoreCase(@Param("name") String name);
+    @Query(value = "SELECT * FROM tb_users u WHERE u.active = true AND " +
+           "(u.name ILIKE :pattern OR u.name % :name) " +
+           "ORDER BY similarity(u.name, :name) DESC, u.id",
+           nativeQuery = true)
+    List<UserEntity> searchActiveByName(@Param("name") String name, @Param("pattern") String pattern, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package br.com.jefersonmbs.recargapaywallet.domain.repository;
+
+import br.com.jefersonmbs.recargapaywallet.domain.dto.WalletBalance;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletBalanceShardEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WalletBalanceShardRepository extends JpaRepository<WalletBalanceShardEntity, WalletBalanceShardEntity.ShardId> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WalletBalanceShardEntity s SET s.balance = s.balance + :amount, s.updatedAt = LOCAL DATETIME " +
+           "WHERE s.walletId = :walletId AND s.shardNo = :shardNo")
+    int credit(@Param("walletId") UUID walletId, @Param("shardNo") int shardNo, @Param("amount") BigDecimal amount);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM WalletBalanceShardEntity s WHERE s.walletId = :walletId ORDER BY s.shardNo")
+    List<WalletBalanceShardEntity> findByWalletIdForUpdate(@Param("walletId") UUID walletId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WalletBalanceShardEntity s SET s.balance = 0, s.updatedAt = LOCAL DATETIME " +
+           "WHERE s.walletId = :walletId AND s.balance > 0")
+    int drain(@Param("walletId") UUID walletId);
+
+    List<WalletBalanceShardEntity> findByWalletIdIn(Collection<UUID> walletIds);
+
+    @Query("SELECT coalesce(sum(s.balance), 0) FROM WalletBalanceShardEntity s WHERE s.walletId = :walletId")
+    BigDecimal sumBalanceByWalletId(@Param("walletId") UUID walletId);
+
+    @Query("SELECT new br.com.jefersonmbs.recargapaywallet.domain.dto.WalletBalance(s.walletId, sum(s.balance)) " +
+           "FROM WalletBalanceShardEntity s WHERE s.walletId IN :walletIds GROUP BY s.walletId")
+    List<WalletBalance> sumBalancesByWalletIds(@Param("walletIds") Collection<UUID> walletIds);
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package br.com.jefersonmbs.recargapaywallet.domain.repository;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletLedgerEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface WalletLedgerRepository extends JpaRepository<WalletLedgerEntity, UUID> {
+
+}
\ No newline at end of file
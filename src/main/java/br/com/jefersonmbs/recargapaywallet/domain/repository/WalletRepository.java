@@ -1,14 +1,26 @@
 package br.com.jefersonmbs.recargapaywallet.domain.repository;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.DepositTarget;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.WalletBalance;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface WalletRepository extends JpaRepository<WalletEntity, UUID> {
@@ -19,12 +31,49 @@ public interface WalletRepository extends JpaRepository<WalletEntity, UUID> {
 
     Optional<WalletEntity> findByUserCpf(String cpf);
 
+    @Query("SELECT w.id FROM WalletEntity w WHERE w.accountNumber = :accountNumber")
+    Optional<UUID> findIdByAccountNumber(@Param("accountNumber") Long accountNumber);
+
+    @Query("SELECT w.id FROM WalletEntity w WHERE w.user.cpf = :cpf")
+    Optional<UUID> findIdByUserCpf(@Param("cpf") String cpf);
+
     @Query("SELECT w FROM WalletEntity w WHERE w.active = :active")
     List<WalletEntity> findByActive(@Param("active") Boolean active);
 
     @Query("SELECT w FROM WalletEntity w WHERE w.user.active = true AND w.active = true")
     List<WalletEntity> findActiveWalletsWithActiveUsers();
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto(" +
+           "w.id, w.accountNumber, w.balance, u.id, u.cpf, u.name, w.active, w.createdAt, w.updatedAt) " +
+           "FROM WalletEntity w JOIN w.user u WHERE u.active = true AND w.active = true")
+    Stream<WalletResponseDto> streamActiveWalletsWithActiveUsers();
+
     boolean existsByUserId(Long userId);
 
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WalletEntity w SET w.balance = w.balance + :delta, w.version = w.version + 1, " +
+           "w.updatedAt = LOCAL DATETIME " +
+           "WHERE w.id = :walletId AND w.balance + :delta >= 0")
+    int applyBalanceDelta(@Param("walletId") UUID walletId, @Param("delta") BigDecimal delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WalletEntity w WHERE w.id = :walletId")
+    Optional<WalletEntity> findByIdForUpdate(@Param("walletId") UUID walletId);
+
+    @Query("SELECT w.balance FROM WalletEntity w WHERE w.id = :walletId")
+    Optional<BigDecimal> findBalanceById(@Param("walletId") UUID walletId);
+
+    @Query("SELECT new br.com.jefersonmbs.recargapaywallet.domain.dto.WalletBalance(w.id, w.balance) " +
+           "FROM WalletEntity w WHERE w.id IN :walletIds")
+    List<WalletBalance> findBalancesByIds(@Param("walletIds") Collection<UUID> walletIds);
+
+    @Query("SELECT new br.com.jefersonmbs.recargapaywallet.domain.dto.DepositTarget(w.id, w.accountNumber, u.id, w.active, u.active) " +
+           "FROM WalletEntity w JOIN w.user u WHERE w.id IN :walletIds")
+    List<DepositTarget> findDepositTargetsByIds(@Param("walletIds") Collection<UUID> walletIds);
+
+    @Query("SELECT new br.com.jefersonmbs.recargapaywallet.domain.dto.DepositTarget(w.id, w.accountNumber, u.id, w.active, u.active) " +
+           "FROM WalletEntity w JOIN w.user u WHERE w.accountNumber IN :accountNumbers")
+    List<DepositTarget> findDepositTargetsByAccountNumbers(@Param("accountNumbers") Collection<Long> accountNumbers);
+
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionAuditResponseDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Audit records come from the database first. The archive is only read when the database has none and a date range
+ * is given, and then only the monthly archives of that range.
+ */
+public interface AuditLookupService {
+
+    List<TransactionAuditResponseDto> findByTransactionId(UUID transactionId, LocalDate startDate, LocalDate endDate);
+
+    List<TransactionAuditResponseDto> findByCorrelationId(String correlationId, LocalDate startDate, LocalDate endDate);
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositResponseDto;
+
+public interface BatchDepositService {
+
+    BatchDepositResponseDto deposit(BatchDepositRequestDto request);
+}
\ No newline at end of file
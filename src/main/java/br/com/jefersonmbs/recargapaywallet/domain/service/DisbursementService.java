@@ -0,0 +1,9 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementResponseDto;
+
+public interface DisbursementService {
+
+    DisbursementResponseDto disburse(DisbursementRequestDto request);
+}
\ No newline at end of file
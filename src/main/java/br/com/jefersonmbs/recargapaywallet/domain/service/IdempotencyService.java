@@ -0,0 +1,30 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.IdempotencyRecord;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs the operation once per {@code Idempotency-Key} and wallet: replays a stored response, joins an in-flight
+     * execution of the same key, or executes. Requests without a key always execute.
+     */
+    TransactionResponseDto execute(String operation, TransactionRequestDto request, Supplier<TransactionResponseDto> action);
+
+    /**
+     * Stores the response under the request's key in the current transaction, so it commits or rolls back together
+     * with the balance change.
+     */
+    TransactionResponseDto record(String operation, TransactionRequestDto request, TransactionResponseDto response);
+
+    /**
+     * Key and request hash of a request whose caller stores the response itself, together with the balance change;
+     * the response body is left empty, see {@link #serialize}. Returns {@code null} when the request has no key.
+     */
+    IdempotencyRecord prepare(String operation, TransactionRequestDto request);
+
+    String serialize(TransactionResponseDto response);
+}
\ No newline at end of file
@@ -3,7 +3,11 @@ package br.com.jefersonmbs.recargapaywallet.domain.service;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionCreationRequest;
 
+import java.util.List;
+
 public interface TransactionHistoryService {
 
     TransactionHistoryEntity createTransaction(TransactionCreationRequest request);
+
+    List<TransactionHistoryEntity> createTransactions(List<TransactionCreationRequest> requests);
 }
\ No newline at end of file
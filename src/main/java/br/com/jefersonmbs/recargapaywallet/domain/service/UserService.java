@@ -5,6 +5,7 @@ import br.com.jefersonmbs.recargapaywallet.api.dto.UserResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.UserUpdateDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -16,12 +17,14 @@ public interface UserService {
 
     List<UserResponseDto> getAllActiveUsers();
 
+    void streamUsers(boolean activeOnly, Consumer<UserResponseDto> consumer);
+
     UserResponseDto updateUser(Long id, UserUpdateDto userUpdateDto);
 
     void deleteUser(Long id);
 
     void toggleActiveUser(Long id);
 
-    List<UserResponseDto> searchUsersByName(String name);
+    List<UserResponseDto> searchUsersByName(String name, int page, int size);
 
 }
\ No newline at end of file
@@ -3,12 +3,38 @@ package br.com.jefersonmbs.recargapaywallet.domain.service;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
 
 public interface WalletBalanceService {
 
-    void updateBalance(WalletEntity wallet, BigDecimal newBalance);
+    BigDecimal applyDelta(UUID walletId, BigDecimal delta);
 
-    void creditAmount(WalletEntity wallet, BigDecimal amount);
+    BigDecimal creditAmount(WalletEntity wallet, BigDecimal amount);
 
-    void debitAmount(WalletEntity wallet, BigDecimal amount);
+    BigDecimal debitAmount(WalletEntity wallet, BigDecimal amount);
+
+    boolean isStriped(UUID walletId);
+
+    /**
+     * The wallet row balance plus, for a striped wallet, the sum of its shards.
+     */
+    BigDecimal totalBalance(WalletEntity wallet);
+
+    /**
+     * The sum of the wallet's shards; zero without a query when the wallet is not striped.
+     */
+    BigDecimal shardBalance(UUID walletId);
+
+    /**
+     * Shard sums of the striped wallets among {@code walletIds}; other wallets are absent from the result.
+     */
+    Map<UUID, BigDecimal> shardBalances(Collection<UUID> walletIds);
+
+    /**
+     * Moves every shard sub-balance of the wallet into its wallet row, locking the wallet row before the shards.
+     * Returns whether anything was moved.
+     */
+    boolean consolidate(UUID walletId);
 }
\ No newline at end of file
@@ -11,4 +11,6 @@ public interface WalletFinderService {
     WalletEntity findWalletById(UUID walletId);
 
     WalletEntity findTargetWallet(TransactionRequestDto request);
+
+    UUID resolveTargetWalletId(TransactionRequestDto request);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface WalletLockService {
+
+    Map<UUID, WalletEntity> lockInOrder(Collection<UUID> walletIds);
+
+    /**
+     * Same as {@link #lockInOrder(Collection)}, but the wallets in {@code sharedWalletIds} only get a shared lock:
+     * enough to keep them from being debited or deactivated while concurrent credits go to their balance shards.
+     */
+    Map<UUID, WalletEntity> lockInOrder(Collection<UUID> walletIds, Collection<UUID> sharedWalletIds);
+}
\ No newline at end of file
@@ -1,5 +1,10 @@
 package br.com.jefersonmbs.recargapaywallet.domain.service;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.CursorTransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.PagedTransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionHistoryRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
@@ -8,6 +13,7 @@ import br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface WalletService {
 
@@ -17,13 +23,21 @@ public interface WalletService {
 
     List<WalletResponseDto> getAllActiveWallets();
 
+    void streamActiveWallets(Consumer<WalletResponseDto> consumer);
+
     TransactionResponseDto deposit(TransactionRequestDto transactionRequest);
 
+    BatchDepositResponseDto batchDeposit(BatchDepositRequestDto batchRequest);
+
     TransactionResponseDto withdraw(TransactionRequestDto transactionRequest);
 
     TransactionResponseDto transfer(TransactionRequestDto transactionRequest);
 
+    DisbursementResponseDto disburse(DisbursementRequestDto disbursementRequest);
+
     PagedTransactionResponseDto getTransactionHistoryPaginated(UUID walletId, Long userId, TransactionHistoryRequestDto request);
+
+    CursorTransactionResponseDto getTransactionHistoryByCursor(UUID walletId, Long userId, TransactionHistoryRequestDto request);
     
     void toggleActiveWallet(UUID walletId);
 
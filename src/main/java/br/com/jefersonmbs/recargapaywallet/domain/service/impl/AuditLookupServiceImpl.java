@@ -0,0 +1,90 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionAuditResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.mapper.TransactionAuditMapper;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionAuditRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.AuditLookupService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.audit.AuditArchive;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditPartitionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Not transactional: the repository reads run in their own transactions, so no connection is held while an archive is read
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditLookupServiceImpl implements AuditLookupService {
+
+    private final TransactionAuditRepository transactionAuditRepository;
+    private final AuditArchive auditArchive;
+    private final TransactionAuditMapper transactionAuditMapper;
+    private final WalletAuditPartitionProperties partitionProperties;
+
+    @Override
+    public List<TransactionAuditResponseDto> findByTransactionId(UUID transactionId, LocalDate startDate, LocalDate endDate) {
+        if (transactionId == null) {
+            throw new IllegalArgumentException("Transaction ID cannot be null");
+        }
+        validateArchiveRange(startDate, endDate);
+        return find(() -> transactionAuditRepository.findByTransactionIdOrderByCreatedAtAsc(transactionId),
+            audit -> transactionId.equals(audit.getTransactionId()), startDate, endDate);
+    }
+
+    @Override
+    public List<TransactionAuditResponseDto> findByCorrelationId(String correlationId, LocalDate startDate, LocalDate endDate) {
+        if (correlationId == null || correlationId.isBlank()) {
+            throw new IllegalArgumentException("Correlation ID cannot be empty");
+        }
+        validateArchiveRange(startDate, endDate);
+        return find(() -> transactionAuditRepository.findByCorrelationIdOrderByCreatedAtAsc(correlationId),
+            audit -> correlationId.equals(audit.getCorrelationId()), startDate, endDate);
+    }
+
+    private List<TransactionAuditResponseDto> find(Supplier<List<TransactionAuditEntity>> live,
+                                                   Predicate<TransactionAuditEntity> archived,
+                                                   LocalDate startDate, LocalDate endDate) {
+        List<TransactionAuditEntity> audits = live.get();
+        if (!audits.isEmpty()) {
+            return audits.stream().map(transactionAuditMapper::toResponseDto).toList();
+        }
+        if (startDate == null) {
+            log.debug("Audit lookup missed the database and has no date range for the archive");
+            return List.of();
+        }
+
+        // Nothing in the database: the records are older than the retention, if they exist at all
+        log.info("Audit lookup missed the database, reading through to the archive from {} to {}", startDate, endDate);
+        return auditArchive.search(YearMonth.from(startDate), YearMonth.from(endDate), archived).stream()
+            .sorted(Comparator.comparing(TransactionAuditEntity::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+            .map(transactionAuditMapper::toArchivedResponseDto)
+            .toList();
+    }
+
+    private void validateArchiveRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null && endDate == null) {
+            return;
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date must be given together");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        long months = ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(endDate)) + 1;
+        if (months > partitionProperties.getArchiveLookupMaxMonths()) {
+            throw new IllegalArgumentException("Archive lookups may span at most "
+                + partitionProperties.getArchiveLookupMaxMonths() + " months");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemResultDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.AuditContext;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.DepositTarget;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionAuditRequest;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionCreationRequest;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletValidationException;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.BatchDepositService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionAuditService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics.Phase;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.transaction.TransactionRetryExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchDepositServiceImpl implements BatchDepositService {
+
+    public static final String OPERATION = "batch-deposit";
+
+    private static final String TARGET_WALLET_INACTIVE_MESSAGE = "Target wallet is not active for deposits";
+
+    private record PendingCredit(int index, BatchDepositItemDto item, DepositTarget target) {
+    }
+
+    private final WalletRepository walletRepository;
+    private final TransactionHistoryService transactionHistoryService;
+    private final TransactionAuditService transactionAuditService;
+    private final WalletBalanceService walletBalanceService;
+    private final TransactionRetryExecutor transactionRetryExecutor;
+    private final TransactionPhaseMetrics transactionPhaseMetrics;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public BatchDepositResponseDto deposit(BatchDepositRequestDto request) {
+        List<BatchDepositItemDto> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new WalletValidationException("Batch must contain at least one item");
+        }
+        if (items.size() > BatchDepositRequestDto.MAX_ITEMS) {
+            throw new WalletValidationException("Batch must not exceed " + BatchDepositRequestDto.MAX_ITEMS + " items");
+        }
+
+        log.info("Processing batch deposit of {} items [correlationId={}]", items.size(), request.getCorrelationId());
+
+        TransactionPhaseMetrics.Recorder phases = transactionPhaseMetrics.start(OPERATION);
+        try {
+            BatchDepositItemResultDto[] results = transactionRetryExecutor.execute(OPERATION, () -> process(request, phases));
+            BatchDepositResponseDto response = summarize(request, results);
+            phases.success();
+
+            log.info("Batch deposit finished: {} completed, {} failed [correlationId={}]",
+                response.getCompleted(), response.getFailed(), request.getCorrelationId());
+            return response;
+        } catch (RuntimeException ex) {
+            phases.failure(ex);
+            throw ex;
+        }
+    }
+
+    private BatchDepositItemResultDto[] process(BatchDepositRequestDto request, TransactionPhaseMetrics.Recorder phases) {
+        List<BatchDepositItemDto> items = request.getItems();
+        BatchDepositItemResultDto[] results = new BatchDepositItemResultDto[items.size()];
+
+        WalletBatchSupport targets = WalletBatchSupport.resolveTargets(walletRepository, items);
+        phases.mark(Phase.LOOKUP);
+
+        List<PendingCredit> pending = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchDepositItemDto item = items.get(i);
+            String error = WalletBatchSupport.validate(item);
+            DepositTarget target = null;
+            if (error == null) {
+                target = targets.find(item);
+                if (target == null) {
+                    error = WalletBatchSupport.notFoundMessage(item);
+                } else if (!target.active()) {
+                    error = TARGET_WALLET_INACTIVE_MESSAGE;
+                }
+            }
+
+            if (error != null) {
+                results[i] = WalletBatchSupport.failed(i, item, target, error);
+            } else {
+                pending.add(new PendingCredit(i, item, target));
+            }
+        }
+        phases.mark(Phase.VALIDATION);
+
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        Set<UUID> credited = applyCredits(pending);
+        phases.mark(Phase.BALANCE_UPDATE);
+
+        Map<UUID, BigDecimal> runningBalances = openingBalances(pending, credited);
+        List<PendingCredit> applied = new ArrayList<>(pending.size());
+        List<TransactionCreationRequest> creations = new ArrayList<>(pending.size());
+        List<BigDecimal[]> balances = new ArrayList<>(pending.size());
+        for (PendingCredit credit : pending) {
+            UUID walletId = credit.target().walletId();
+            if (!credited.contains(walletId)) {
+                results[credit.index()] = WalletBatchSupport.failed(credit.index(), credit.item(), credit.target(),
+                    TARGET_WALLET_INACTIVE_MESSAGE);
+                continue;
+            }
+            BigDecimal balanceBefore = runningBalances.get(walletId);
+            BigDecimal balanceAfter = balanceBefore.add(credit.item().getAmount());
+            runningBalances.put(walletId, balanceAfter);
+
+            applied.add(credit);
+            balances.add(new BigDecimal[]{balanceBefore, balanceAfter});
+            creations.add(TransactionCreationRequest.builder()
+                .type(TransactionType.DEPOSIT)
+                .amount(credit.item().getAmount())
+                .targetWallet(walletRepository.getReferenceById(walletId))
+                .description(credit.item().getDescription() != null ? credit.item().getDescription() : request.getDescription())
+                .balanceBefore(balanceBefore)
+                .balanceAfter(balanceAfter)
+                .correlationId(request.getCorrelationId())
+                .build());
+        }
+
+        List<TransactionHistoryEntity> transactions = transactionHistoryService.createTransactions(creations);
+        phases.mark(Phase.HISTORY_INSERT);
+
+        AuditContext auditContext = AuditContext.capture();
+        for (int i = 0; i < applied.size(); i++) {
+            PendingCredit credit = applied.get(i);
+            TransactionHistoryEntity transaction = transactions.get(i);
+            BigDecimal[] balance = balances.get(i);
+
+            transactionAuditService.auditSuccessful(TransactionAuditRequest.successful(
+                transaction.getId(),
+                credit.target().walletId(),
+                credit.target().userId(),
+                TransactionAuditEntity.OperationType.CREDIT,
+                credit.item().getAmount(),
+                balance[0],
+                balance[1],
+                "Batch deposit completed successfully"
+            ), auditContext);
+
+            results[credit.index()] = WalletBatchSupport.completed(credit.index(), credit.item(), credit.target(),
+                transaction.getId(), balance[0], balance[1]);
+        }
+        phases.mark(Phase.AUDIT);
+
+        return results;
+    }
+
+    private Set<UUID> applyCredits(List<PendingCredit> pending) {
+        SortedMap<UUID, BigDecimal> deltas = new TreeMap<>();
+        for (PendingCredit credit : pending) {
+            deltas.merge(credit.target().walletId(), credit.item().getAmount(), BigDecimal::add);
+        }
+        return WalletBatchSupport.applyDeltas(jdbcTemplate, deltas);
+    }
+
+    private Map<UUID, BigDecimal> openingBalances(List<PendingCredit> pending, Set<UUID> credited) {
+        Map<UUID, BigDecimal> balances = WalletBatchSupport.balancesOf(walletRepository, walletBalanceService, credited);
+        for (PendingCredit credit : pending) {
+            balances.computeIfPresent(credit.target().walletId(), (id, balance) -> balance.subtract(credit.item().getAmount()));
+        }
+        return balances;
+    }
+
+    private static BatchDepositResponseDto summarize(BatchDepositRequestDto request, BatchDepositItemResultDto[] results) {
+        int completed = WalletBatchSupport.countCompleted(results);
+        return BatchDepositResponseDto.builder()
+            .correlationId(request.getCorrelationId())
+            .total(results.length)
+            .completed(completed)
+            .failed(results.length - completed)
+            .results(List.of(results))
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemResultDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.AuditContext;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.DepositTarget;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionAuditRequest;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionCreationRequest;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InactiveWalletException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InsufficientBalanceException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletValidationException;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.DisbursementService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionAuditService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics.Phase;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.transaction.TransactionRetryExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DisbursementServiceImpl implements DisbursementService {
+
+    public static final String OPERATION = "disbursement";
+
+    private static final String SOURCE_WALLET_INACTIVE_MESSAGE = "Source wallet is not active for transfers";
+    private static final String TARGET_WALLET_INACTIVE_MESSAGE = "Target wallet is not active for transfers";
+    private static final String SAME_WALLET_MESSAGE = "Cannot transfer to the same wallet";
+
+    private record Payout(int index, BatchDepositItemDto item, DepositTarget target) {
+    }
+
+    private final WalletRepository walletRepository;
+    private final TransactionHistoryService transactionHistoryService;
+    private final TransactionAuditService transactionAuditService;
+    private final WalletBalanceService walletBalanceService;
+    private final TransactionRetryExecutor transactionRetryExecutor;
+    private final TransactionPhaseMetrics transactionPhaseMetrics;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public DisbursementResponseDto disburse(DisbursementRequestDto request) {
+        List<BatchDepositItemDto> items = request.getItems();
+        if (request.getSourceWalletId() == null) {
+            throw new WalletValidationException("Source wallet ID is required");
+        }
+        if (items == null || items.isEmpty()) {
+            throw new WalletValidationException("Disbursement must contain at least one recipient");
+        }
+        if (items.size() > DisbursementRequestDto.MAX_RECIPIENTS) {
+            throw new WalletValidationException("Disbursement must not exceed " + DisbursementRequestDto.MAX_RECIPIENTS + " recipients");
+        }
+
+        log.info("Processing disbursement from wallet ID: {} to {} recipients [correlationId={}]",
+            request.getSourceWalletId(), items.size(), request.getCorrelationId());
+
+        TransactionPhaseMetrics.Recorder phases = transactionPhaseMetrics.start(OPERATION);
+        try {
+            if (walletBalanceService.isStriped(request.getSourceWalletId())) {
+                // The batch debits the wallet row only; sweep the shards first, in their own transaction, so the batch
+                // keeps taking row locks in id order
+                transactionRetryExecutor.execute(OPERATION, () -> walletBalanceService.consolidate(request.getSourceWalletId()));
+            }
+            DisbursementResponseDto response = transactionRetryExecutor.execute(OPERATION, () -> process(request, phases));
+            phases.success();
+
+            log.info("Disbursement from wallet ID: {} finished: {} paid, {} failed, total {} [correlationId={}]",
+                request.getSourceWalletId(), response.getCompleted(), response.getFailed(), response.getTotalAmount(),
+                request.getCorrelationId());
+            return response;
+        } catch (RuntimeException ex) {
+            phases.failure(ex);
+            throw ex;
+        }
+    }
+
+    private DisbursementResponseDto process(DisbursementRequestDto request, TransactionPhaseMetrics.Recorder phases) {
+        List<BatchDepositItemDto> items = request.getItems();
+        UUID sourceWalletId = request.getSourceWalletId();
+        BatchDepositItemResultDto[] results = new BatchDepositItemResultDto[items.size()];
+
+        DepositTarget source = walletRepository.findDepositTargetsByIds(List.of(sourceWalletId)).stream()
+            .findFirst()
+            .orElseThrow(() -> new WalletNotFoundException("Wallet not found with ID: " + sourceWalletId));
+        WalletBatchSupport targets = WalletBatchSupport.resolveTargets(walletRepository, items);
+        phases.mark(Phase.LOOKUP);
+
+        if (!source.active()) {
+            throw new InactiveWalletException(SOURCE_WALLET_INACTIVE_MESSAGE);
+        }
+
+        List<Payout> payouts = new ArrayList<>(items.size());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (int i = 0; i < items.size(); i++) {
+            BatchDepositItemDto item = items.get(i);
+            String error = WalletBatchSupport.validate(item);
+            DepositTarget target = null;
+            if (error == null) {
+                target = targets.find(item);
+                if (target == null) {
+                    error = WalletBatchSupport.notFoundMessage(item);
+                } else if (target.walletId().equals(sourceWalletId)) {
+                    error = SAME_WALLET_MESSAGE;
+                } else if (!target.active()) {
+                    error = TARGET_WALLET_INACTIVE_MESSAGE;
+                }
+            }
+
+            if (error != null) {
+                results[i] = WalletBatchSupport.failed(i, item, target, error);
+            } else {
+                payouts.add(new Payout(i, item, target));
+                totalAmount = totalAmount.add(item.getAmount());
+            }
+        }
+        phases.mark(Phase.VALIDATION);
+
+        if (payouts.isEmpty()) {
+            return summarize(request, results, BigDecimal.ZERO, null, null);
+        }
+
+        // The source is debited once for the whole payout, in the same sorted batch as the credits
+        SortedMap<UUID, BigDecimal> deltas = new TreeMap<>();
+        for (Payout payout : payouts) {
+            deltas.merge(payout.target().walletId(), payout.item().getAmount(), BigDecimal::add);
+        }
+        deltas.put(sourceWalletId, totalAmount.negate());
+        Set<UUID> updated = WalletBatchSupport.applyDeltas(jdbcTemplate, deltas);
+
+        if (!updated.contains(sourceWalletId)) {
+            // Throwing rolls back the credits that were already applied in this batch. Only the row balance counts:
+            // shard credits that landed after the sweep are not debitable by the batch update
+            BigDecimal balance = walletRepository.findBalanceById(sourceWalletId)
+                .orElseThrow(() -> new WalletNotFoundException("Wallet not found with ID: " + sourceWalletId));
+            if (balance.compareTo(totalAmount) < 0) {
+                throw new InsufficientBalanceException(balance, totalAmount);
+            }
+            throw new InactiveWalletException(SOURCE_WALLET_INACTIVE_MESSAGE);
+        }
+
+        BigDecimal refund = BigDecimal.ZERO;
+        for (Payout payout : payouts) {
+            if (!updated.contains(payout.target().walletId())) {
+                refund = refund.add(payout.item().getAmount());
+            }
+        }
+        if (refund.signum() > 0) {
+            // A recipient was deactivated after resolution; return its share to the source
+            walletRepository.applyBalanceDelta(sourceWalletId, refund);
+        }
+        BigDecimal debited = totalAmount.subtract(refund);
+        phases.mark(Phase.BALANCE_UPDATE);
+
+        Map<UUID, BigDecimal> runningBalances = WalletBatchSupport.balancesOf(walletRepository, walletBalanceService, updated);
+        BigDecimal sourceBalanceAfter = runningBalances.get(sourceWalletId);
+        BigDecimal sourceBalanceBefore = sourceBalanceAfter.add(debited);
+        runningBalances.put(sourceWalletId, sourceBalanceBefore);
+        for (Payout payout : payouts) {
+            runningBalances.computeIfPresent(payout.target().walletId(),
+                (id, balance) -> balance.subtract(payout.item().getAmount()));
+        }
+
+        WalletEntity sourceWallet = walletRepository.getReferenceById(sourceWalletId);
+        List<Payout> paid = new ArrayList<>(payouts.size());
+        List<BigDecimal[]> balances = new ArrayList<>(payouts.size());
+        List<TransactionCreationRequest> creations = new ArrayList<>(payouts.size() * 2);
+        for (Payout payout : payouts) {
+            UUID targetWalletId = payout.target().walletId();
+            if (!updated.contains(targetWalletId)) {
+                results[payout.index()] = WalletBatchSupport.failed(payout.index(), payout.item(), payout.target(),
+                    TARGET_WALLET_INACTIVE_MESSAGE);
+                continue;
+            }
+            BigDecimal amount = payout.item().getAmount();
+            BigDecimal sourceBefore = runningBalances.get(sourceWalletId);
+            BigDecimal sourceAfter = sourceBefore.subtract(amount);
+            BigDecimal targetBefore = runningBalances.get(targetWalletId);
+            BigDecimal targetAfter = targetBefore.add(amount);
+            runningBalances.put(sourceWalletId, sourceAfter);
+            runningBalances.put(targetWalletId, targetAfter);
+
+            WalletEntity targetWallet = walletRepository.getReferenceById(targetWalletId);
+            String description = payout.item().getDescription() != null ? payout.item().getDescription() : request.getDescription();
+            paid.add(payout);
+            balances.add(new BigDecimal[]{sourceBefore, sourceAfter, targetBefore, targetAfter});
+            creations.add(transferLeg(TransactionType.TRANSFER_OUT, amount, sourceWallet, targetWallet, description,
+                sourceBefore, sourceAfter, request.getCorrelationId()));
+            creations.add(transferLeg(TransactionType.TRANSFER_IN, amount, sourceWallet, targetWallet, description,
+                targetBefore, targetAfter, request.getCorrelationId()));
+        }
+
+        List<TransactionHistoryEntity> transactions = transactionHistoryService.createTransactions(creations);
+        phases.mark(Phase.HISTORY_INSERT);
+
+        AuditContext auditContext = AuditContext.capture();
+        for (int i = 0; i < paid.size(); i++) {
+            Payout payout = paid.get(i);
+            BigDecimal[] balance = balances.get(i);
+            TransactionHistoryEntity transferOut = transactions.get(2 * i);
+            TransactionHistoryEntity transferIn = transactions.get(2 * i + 1);
+
+            transactionAuditService.auditSuccessful(TransactionAuditRequest.successful(
+                transferOut.getId(),
+                sourceWalletId,
+                source.userId(),
+                TransactionAuditEntity.OperationType.TRANSFER_OUT,
+                payout.item().getAmount(),
+                balance[0],
+                balance[1],
+                "Disbursement transfer out completed successfully"
+            ), auditContext);
+            transactionAuditService.auditSuccessful(TransactionAuditRequest.successful(
+                transferIn.getId(),
+                payout.target().walletId(),
+                payout.target().userId(),
+                TransactionAuditEntity.OperationType.TRANSFER_IN,
+                payout.item().getAmount(),
+                balance[2],
+                balance[3],
+                "Disbursement transfer in completed successfully"
+            ), auditContext);
+
+            results[payout.index()] = WalletBatchSupport.completed(payout.index(), payout.item(), payout.target(),
+                transferOut.getId(), balance[2], balance[3]);
+        }
+        phases.mark(Phase.AUDIT);
+
+        return summarize(request, results, debited, sourceBalanceBefore, sourceBalanceAfter);
+    }
+
+    private static TransactionCreationRequest transferLeg(TransactionType type, BigDecimal amount, WalletEntity sourceWallet,
+                                                          WalletEntity targetWallet, String description,
+                                                          BigDecimal balanceBefore, BigDecimal balanceAfter,
+                                                          String correlationId) {
+        return TransactionCreationRequest.builder()
+            .type(type)
+            .amount(amount)
+            .sourceWallet(sourceWallet)
+            .targetWallet(targetWallet)
+            .description(description)
+            .balanceBefore(balanceBefore)
+            .balanceAfter(balanceAfter)
+            .correlationId(correlationId)
+            .build();
+    }
+
+    private static DisbursementResponseDto summarize(DisbursementRequestDto request, BatchDepositItemResultDto[] results,
+                                                     BigDecimal totalAmount, BigDecimal sourceBalanceBefore,
+                                                     BigDecimal sourceBalanceAfter) {
+        int completed = WalletBatchSupport.countCompleted(results);
+        return DisbursementResponseDto.builder()
+            .correlationId(request.getCorrelationId())
+            .sourceWalletId(request.getSourceWalletId())
+            .totalAmount(totalAmount)
+            .sourceBalanceBefore(sourceBalanceBefore)
+            .sourceBalanceAfter(sourceBalanceAfter)
+            .total(results.length)
+            .completed(completed)
+            .failed(results.length - completed)
+            .results(List.of(results))
+            .build();
+    }
+}
\ No newline at end of file
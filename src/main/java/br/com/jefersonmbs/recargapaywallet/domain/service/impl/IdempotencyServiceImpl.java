@@ -0,0 +1,220 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.IdempotencyRecord;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.IdempotencyKeyEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.IdempotencyKeyConflictException;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.IdempotencyKeyRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.IdempotencyService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletIdempotencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private record StoredResponse(String requestHash, TransactionResponseDto response) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<TransactionResponseDto> result) {
+    }
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, StoredResponse> recentKeys;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Counter replayed;
+    private final Counter coalesced;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper,
+                                  WalletIdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.recentKeys = Caffeine.newBuilder()
+            .maximumSize(properties.getRecentKeysCapacity())
+            .expireAfterWrite(properties.getRecentKeysTtl())
+            .build();
+        this.replayed = meterRegistry.counter("wallet.idempotency.requests", "result", "replayed");
+        this.coalesced = meterRegistry.counter("wallet.idempotency.requests", "result", "coalesced");
+    }
+
+    @Override
+    public TransactionResponseDto execute(String operation, TransactionRequestDto request, Supplier<TransactionResponseDto> action) {
+        if (request.getIdempotencyKey() == null) {
+            return action.get();
+        }
+        validateKey(request.getIdempotencyKey());
+        String key = scopedKey(request);
+        String requestHash = hash(operation, request);
+
+        StoredResponse recent = recentKeys.getIfPresent(key);
+        if (recent != null) {
+            return replay(key, requestHash, recent);
+        }
+
+        InFlight execution = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight leader = inFlight.putIfAbsent(key, execution);
+        if (leader != null) {
+            return join(key, requestHash, leader);
+        }
+
+        try {
+            TransactionResponseDto response = executeOnce(key, requestHash, action);
+            execution.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            execution.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    @Override
+    public TransactionResponseDto record(String operation, TransactionRequestDto request, TransactionResponseDto response) {
+        if (request.getIdempotencyKey() != null) {
+            idempotencyKeyRepository.insert(scopedKey(request), operation, hash(operation, request), toJson(response), LocalDateTime.now());
+        }
+        return response;
+    }
+
+    @Override
+    public IdempotencyRecord prepare(String operation, TransactionRequestDto request) {
+        if (request.getIdempotencyKey() == null) {
+            return null;
+        }
+        validateKey(request.getIdempotencyKey());
+        return new IdempotencyRecord(scopedKey(request), operation, hash(operation, request), null);
+    }
+
+    @Override
+    public String serialize(TransactionResponseDto response) {
+        return toJson(response);
+    }
+
+    private TransactionResponseDto executeOnce(String key, String requestHash, Supplier<TransactionResponseDto> action) {
+        Optional<IdempotencyKeyEntity> stored = idempotencyKeyRepository.findById(key);
+        if (stored.isPresent()) {
+            return replay(key, requestHash, remember(stored.get()));
+        }
+
+        try {
+            TransactionResponseDto response = action.get();
+            recentKeys.put(key, new StoredResponse(requestHash, response));
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first, which rolled our attempt back
+            IdempotencyKeyEntity winner = idempotencyKeyRepository.findById(key).orElseThrow(() -> e);
+            log.info("Idempotency-Key {} was completed concurrently by another instance, replaying its response", key);
+            return replay(key, requestHash, remember(winner));
+        }
+    }
+
+    private TransactionResponseDto join(String key, String requestHash, InFlight leader) {
+        if (!leader.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+        coalesced.increment();
+        log.debug("Idempotency-Key {} is already executing, waiting for its result", key);
+        try {
+            return leader.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private TransactionResponseDto replay(String key, String requestHash, StoredResponse stored) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+        replayed.increment();
+        log.debug("Replaying stored response for Idempotency-Key {}", key);
+        return stored.response();
+    }
+
+    private StoredResponse remember(IdempotencyKeyEntity entity) {
+        try {
+            StoredResponse stored = new StoredResponse(entity.getRequestHash(),
+                objectMapper.readValue(entity.getResponseBody(), TransactionResponseDto.class));
+            recentKeys.put(entity.getIdempotencyKey(), stored);
+            return stored;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for Idempotency-Key " + entity.getIdempotencyKey() + " is unreadable", e);
+        }
+    }
+
+    private String toJson(TransactionResponseDto response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize transaction response", e);
+        }
+    }
+
+    private static void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    // Keys are chosen by clients, so a key only deduplicates requests acting on the same wallet: the debited one, or
+    // the credited one for deposits, which may address it by account number or CPF instead of id
+    static String scopedKey(TransactionRequestDto request) {
+        Object wallet;
+        if (request.getSourceWalletId() != null) {
+            wallet = request.getSourceWalletId();
+        } else if (request.getTargetWalletId() != null) {
+            wallet = request.getTargetWalletId();
+        } else if (request.getTargetAccountNumber() != null) {
+            wallet = "account-" + request.getTargetAccountNumber();
+        } else {
+            wallet = "cpf-" + request.getTargetUserCpf();
+        }
+        return wallet + ":" + request.getIdempotencyKey();
+    }
+
+    private static String hash(String operation, TransactionRequestDto request) {
+        BigDecimal amount = request.getAmount() != null ? request.getAmount().stripTrailingZeros() : null;
+        String fingerprint = String.join("|",
+            operation,
+            amount != null ? amount.toPlainString() : "",
+            String.valueOf(request.getSourceWalletId()),
+            String.valueOf(request.getTargetWalletId()),
+            String.valueOf(request.getTargetAccountNumber()),
+            String.valueOf(request.getTargetUserCpf()),
+            String.valueOf(request.getDescription()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(fingerprint.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
\ No newline at end of file
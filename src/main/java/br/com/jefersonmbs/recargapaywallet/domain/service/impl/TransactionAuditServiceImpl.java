@@ -4,17 +4,16 @@ import br.com.jefersonmbs.recargapaywallet.domain.dto.AuditContext;
 import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionAuditRequest;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.exception.AuditException;
-import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionAuditRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionAuditService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.audit.AuditWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Service
@@ -23,39 +22,35 @@ import java.util.Objects;
 @Transactional(readOnly = true)
 public class TransactionAuditServiceImpl implements TransactionAuditService {
 
-    private final TransactionAuditRepository auditRepository;
+    private final AuditWriter auditWriter;
     private final ObjectMapper objectMapper;
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public TransactionAuditEntity audit(TransactionAuditRequest request) {
         
         AuditContext context = AuditContext.capture();
         
-        setupMDC(request, context);
-        
         try {
             validateAuditRequest(request);
             
             TransactionAuditEntity auditEntity = buildAuditEntity(request, context);
             
-            TransactionAuditEntity savedAudit = auditRepository.save(auditEntity);
+            auditWriter.write(auditEntity);
             
-            log.info("Transaction audit recorded - TxnId: {}, Wallet: {}, Operation: {}, Status: {}, Amount: {}",
+            log.debug("Transaction audit recorded - TxnId: {}, Wallet: {}, Operation: {}, Status: {}, Amount: {}",
                     request.getTransactionId(), 
                     request.getWalletId(), 
                     request.getOperationType(),
                     request.getStatus(),
                     request.getAmount());
             
-            return savedAudit;
+            return auditEntity;
             
         } catch (Exception e) {
             log.error("Failed to record transaction audit - TxnId: {}, Error: {}", 
                      request.getTransactionId(), e.getMessage(), e);
             throw new AuditException("Failed to record transaction audit", e);
-        } finally {
-            clearMDC();
         }
     }
 
@@ -72,10 +67,10 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
                 request.getTransactionId(), request.getOperationType());
         
          var auditEntity = createAuditEntity(request, context);
-         var savedAudit = auditRepository.save(auditEntity);
+         auditWriter.write(auditEntity);
         
-        log.info("Transaction start audit created: auditId={}, transactionId={}, correlationId={}", 
-                savedAudit.getId(), request.getTransactionId(), context.getCorrelationId());
+        log.debug("Transaction start audit created: auditId={}, transactionId={}, correlationId={}", 
+                auditEntity.getId(), request.getTransactionId(), context.getCorrelationId());
         
     }
 
@@ -92,10 +87,10 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
                 request.getTransactionId(), request.getOperationType());
         
          var auditEntity = createAuditEntity(request, context);
-         var savedAudit = auditRepository.save(auditEntity);
+         auditWriter.write(auditEntity);
         
-        log.info("Successful transaction audit created: auditId={}, transactionId={}, correlationId={}", 
-                savedAudit.getId(), request.getTransactionId(), context.getCorrelationId());
+        log.debug("Successful transaction audit created: auditId={}, transactionId={}, correlationId={}", 
+                auditEntity.getId(), request.getTransactionId(), context.getCorrelationId());
         
     }
 
@@ -112,10 +107,10 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
                 request.getTransactionId(), request.getDescription());
         
         final var auditEntity = createAuditEntity(request, context);
-        final var savedAudit = auditRepository.save(auditEntity);
+        auditWriter.write(auditEntity);
         
         log.warn("Failed transaction audit created: auditId={}, transactionId={}, reason={}", 
-                savedAudit.getId(), request.getTransactionId(), request.getDescription());
+                auditEntity.getId(), request.getTransactionId(), request.getDescription());
         
     }
 
@@ -130,6 +125,7 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
                 .balanceBefore(request.getBalanceBefore())
                 .balanceAfter(request.getBalanceAfter())
                 .status(request.getStatus())
+                .createdAt(LocalDateTime.now())
                 .createdBy(context.getCreatedBy())
                 .description(request.getDescription())
                 .build()
@@ -176,6 +172,7 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
                 .balanceBefore(request.getBalanceBefore())
                 .balanceAfter(request.getBalanceAfter())
                 .status(request.getStatus())
+                .createdAt(LocalDateTime.now())
                 .createdBy(context.getCreatedBy())
                 .description(request.getDescription())
                 .build()
@@ -188,16 +185,6 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
                 );
     }
     
-    private void setupMDC(TransactionAuditRequest request, AuditContext context) {
-        MDC.put("correlationId", context.getCorrelationId());
-        MDC.put("transactionId", request.getTransactionId().toString());
-        MDC.put("walletId", request.getWalletId().toString());
-    }
-    
-    private void clearMDC() {
-        MDC.clear();
-    }
-    
     private String serializeMetadata(Object metadata) {
         if (metadata == null) {
             return null;
@@ -2,20 +2,53 @@ package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
 
 import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionCreationRequest;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletLedgerEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionHistoryRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletLedgerRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class TransactionHistoryServiceImpl implements TransactionHistoryService {
     
     private final TransactionHistoryRepository transactionHistoryRepository;
+    private final WalletLedgerRepository walletLedgerRepository;
     
     @Override
     public TransactionHistoryEntity createTransaction(TransactionCreationRequest request) {
-        TransactionHistoryEntity transaction = TransactionHistoryEntity.builder()
+        TransactionHistoryEntity savedTransaction = transactionHistoryRepository.save(buildTransaction(request));
+        WalletLedgerEntity ledgerEntry = buildLedgerEntry(savedTransaction);
+        if (ledgerEntry != null) {
+            walletLedgerRepository.save(ledgerEntry);
+        }
+        return savedTransaction;
+    }
+
+    @Override
+    public List<TransactionHistoryEntity> createTransactions(List<TransactionCreationRequest> requests) {
+        // saveAll persists without flushing, so Hibernate groups the inserts into JDBC batches at flush time
+        List<TransactionHistoryEntity> savedTransactions = transactionHistoryRepository.saveAll(
+            requests.stream().map(TransactionHistoryServiceImpl::buildTransaction).toList());
+
+        List<WalletLedgerEntity> ledgerEntries = new ArrayList<>(savedTransactions.size());
+        for (TransactionHistoryEntity transaction : savedTransactions) {
+            WalletLedgerEntity ledgerEntry = buildLedgerEntry(transaction);
+            if (ledgerEntry != null) {
+                ledgerEntries.add(ledgerEntry);
+            }
+        }
+        walletLedgerRepository.saveAll(ledgerEntries);
+        return savedTransactions;
+    }
+
+    private static TransactionHistoryEntity buildTransaction(TransactionCreationRequest request) {
+        return TransactionHistoryEntity.builder()
             .type(request.type())
             .amount(request.amount())
             .sourceWallet(request.sourceWallet())
@@ -25,7 +58,23 @@ public class TransactionHistoryServiceImpl implements TransactionHistoryService
             .balanceAfterTransaction(request.balanceAfter())
             .correlationId(request.correlationId())
             .build();
-        
-        return transactionHistoryRepository.save(transaction);
+    }
+
+    private static WalletLedgerEntity buildLedgerEntry(TransactionHistoryEntity transaction) {
+        WalletEntity historyWallet = switch (transaction.getType()) {
+            case WITHDRAWAL, TRANSFER_OUT -> transaction.getSourceWallet();
+            case DEPOSIT, TRANSFER_IN -> transaction.getTargetWallet();
+            case TRANSFER -> null;
+        };
+        if (historyWallet == null) {
+            return null;
+        }
+
+        return WalletLedgerEntity.builder()
+            .walletId(historyWallet.getId())
+            .transactionId(transaction.getId())
+            .type(transaction.getType())
+            .createdAt(transaction.getCreatedAt())
+            .build();
     }
 }
\ No newline at end of file
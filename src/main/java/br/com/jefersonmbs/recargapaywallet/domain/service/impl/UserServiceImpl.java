@@ -8,28 +8,37 @@ import br.com.jefersonmbs.recargapaywallet.domain.entity.UserEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.UserRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.service.UserService;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.cache.WalletRoutingCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final WalletService walletService;
+    private final WalletRoutingCache walletRoutingCache;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, @Lazy WalletService walletService) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, @Lazy WalletService walletService,
+                           WalletRoutingCache walletRoutingCache) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.walletService = walletService;
+        this.walletRoutingCache = walletRoutingCache;
     }
 
     @Override
@@ -93,6 +102,16 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamUsers(boolean activeOnly, Consumer<UserResponseDto> consumer) {
+        log.info("Streaming {} users", activeOnly ? "active" : "all");
+
+        try (Stream<UserResponseDto> users = userRepository.streamUsers(activeOnly)) {
+            users.forEach(consumer);
+        }
+    }
+
     @Override
     public UserResponseDto updateUser(Long id, UserUpdateDto userUpdateDto) {
         log.info("Updating user with ID: {}", id);
@@ -106,6 +125,10 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("User with email " + userUpdateDto.getEmail() + " already exists");
         }
 
+        if (userUpdateDto.getCpf() != null && !userUpdateDto.getCpf().equals(existingUserEntity.getCpf())) {
+            walletRoutingCache.invalidate(null, existingUserEntity.getCpf());
+        }
+
         userMapper.updateUserFromDto(userUpdateDto, existingUserEntity);
         UserEntity updatedUserEntity = userRepository.save(existingUserEntity);
         
@@ -117,10 +140,12 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
         
-        if (!userRepository.existsById(id)) {
-            throw new IllegalArgumentException("User not found with ID: " + id);
-        }
-        
+        UserEntity userEntity = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
+
+        Long accountNumber = userEntity.getWallet() != null ? userEntity.getWallet().getAccountNumber() : null;
+        walletRoutingCache.invalidate(accountNumber, userEntity.getCpf());
+
         userRepository.deleteById(id);
         log.info("User deleted successfully with ID: {}", id);
     }
@@ -140,13 +165,25 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponseDto> searchUsersByName(String name) {
-        log.info("Searching users by name: {}", name);
-        
-        return userRepository.findActiveByNameContainingIgnoreCase(name)
+    public List<UserResponseDto> searchUsersByName(String name, int page, int size) {
+        log.info("Searching users by name: {} (page {}, size {})", name, page, size);
+
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        return userRepository.searchActiveByName(name, containsPattern(name), PageRequest.of(page, size))
                 .stream()
                 .map(userMapper::toResponseDto)
                 .collect(Collectors.toList());
     }
 
+    private static String containsPattern(String name) {
+        String escaped = name.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
 }
\ No newline at end of file
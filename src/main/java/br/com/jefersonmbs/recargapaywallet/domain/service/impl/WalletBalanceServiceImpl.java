@@ -1,34 +1,119 @@
 package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
 
+import br.com.jefersonmbs.recargapaywallet.domain.dto.WalletBalance;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletBalanceShardEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InsufficientBalanceException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletBalanceShardRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletStripingProperties;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WalletBalanceServiceImpl implements WalletBalanceService {
     
     private final WalletRepository walletRepository;
+    private final WalletBalanceShardRepository walletBalanceShardRepository;
+    private final WalletStripingProperties stripingProperties;
     
     @Override
-    public void updateBalance(WalletEntity wallet, BigDecimal newBalance) {
-        wallet.setBalance(newBalance);
-        walletRepository.save(wallet);
+    public BigDecimal applyDelta(UUID walletId, BigDecimal delta) {
+        int updatedRows = walletRepository.applyBalanceDelta(walletId, delta);
+        if (updatedRows == 0 && delta.signum() < 0 && consolidate(walletId)) {
+            updatedRows = walletRepository.applyBalanceDelta(walletId, delta);
+        }
+
+        // The conditional UPDATE keeps the row locked until commit, so this read sees our own write
+        BigDecimal balance = currentBalance(walletId);
+
+        if (updatedRows == 0) {
+            throw new InsufficientBalanceException(balance, delta.negate());
+        }
+        return balance;
     }
     
     @Override
-    public void creditAmount(WalletEntity wallet, BigDecimal amount) {
-        BigDecimal newBalance = wallet.getBalance().add(amount);
-        updateBalance(wallet, newBalance);
+    public BigDecimal creditAmount(WalletEntity wallet, BigDecimal amount) {
+        if (isStriped(wallet.getId())) {
+            // Credits spread over the shard rows so concurrent deposits do not queue on the wallet row lock
+            int shardNo = ThreadLocalRandom.current().nextInt(stripingProperties.getShards());
+            if (walletBalanceShardRepository.credit(wallet.getId(), shardNo, amount) == 1) {
+                return currentBalance(wallet.getId());
+            }
+            // Transfers hold only a shared lock on a striped target, so writing its wallet row here would deadlock
+            throw new IllegalStateException("Shard " + shardNo + " of striped wallet ID: " + wallet.getId() + " is not provisioned");
+        }
+        return applyDelta(wallet.getId(), amount);
     }
     
     @Override
-    public void debitAmount(WalletEntity wallet, BigDecimal amount) {
-        BigDecimal newBalance = wallet.getBalance().subtract(amount);
-        updateBalance(wallet, newBalance);
+    public BigDecimal debitAmount(WalletEntity wallet, BigDecimal amount) {
+        return applyDelta(wallet.getId(), amount.negate());
+    }
+
+    @Override
+    public boolean isStriped(UUID walletId) {
+        return stripingProperties.isEnabled() && stripingProperties.getWalletIds().contains(walletId);
+    }
+
+    @Override
+    public BigDecimal totalBalance(WalletEntity wallet) {
+        return wallet.getBalance().add(shardBalance(wallet.getId()));
+    }
+
+    @Override
+    public BigDecimal shardBalance(UUID walletId) {
+        return isStriped(walletId) ? walletBalanceShardRepository.sumBalanceByWalletId(walletId) : BigDecimal.ZERO;
+    }
+
+    @Override
+    public Map<UUID, BigDecimal> shardBalances(Collection<UUID> walletIds) {
+        List<UUID> striped = walletIds.stream().filter(this::isStriped).toList();
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        if (!striped.isEmpty()) {
+            for (WalletBalance walletBalance : walletBalanceShardRepository.sumBalancesByWalletIds(striped)) {
+                balances.put(walletBalance.walletId(), walletBalance.balance());
+            }
+        }
+        return balances;
+    }
+
+    @Override
+    public boolean consolidate(UUID walletId) {
+        if (walletRepository.findByIdForUpdate(walletId).isEmpty()) {
+            return false;
+        }
+        List<WalletBalanceShardEntity> shards = walletBalanceShardRepository.findByWalletIdForUpdate(walletId);
+        BigDecimal swept = shards.stream()
+            .map(WalletBalanceShardEntity::getBalance)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (swept.signum() == 0) {
+            return false;
+        }
+
+        walletBalanceShardRepository.drain(walletId);
+        walletRepository.applyBalanceDelta(walletId, swept);
+        log.info("Swept {} from {} shards into wallet ID: {}", swept, shards.size(), walletId);
+        return true;
+    }
+
+    private BigDecimal currentBalance(UUID walletId) {
+        return walletRepository.findBalanceById(walletId)
+            .orElseThrow(() -> new WalletNotFoundException("Wallet not found with ID: " + walletId))
+            .add(shardBalance(walletId));
     }
 }
\ No newline at end of file
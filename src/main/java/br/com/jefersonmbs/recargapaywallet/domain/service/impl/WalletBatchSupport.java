@@ -0,0 +1,166 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemResultDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.DepositTarget;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.WalletBalance;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Shared steps of the multi-wallet operations: bulk target resolution, per-item validation and balance deltas applied
+ * as one JDBC batch.
+ */
+final class WalletBatchSupport {
+
+    // Same conditional delta as WalletRepository.applyBalanceDelta, in plain SQL so the driver can batch it
+    private static final String APPLY_DELTA_SQL =
+        "UPDATE tb_wallets SET balance = balance + ?, version = version + 1, updated_at = ? " +
+        "WHERE id = ? AND active = true AND balance + ? >= 0";
+
+    private final Map<UUID, DepositTarget> targetsById = new HashMap<>();
+    private final Map<Long, DepositTarget> targetsByAccountNumber = new HashMap<>();
+
+    private WalletBatchSupport() {
+    }
+
+    static WalletBatchSupport resolveTargets(WalletRepository walletRepository, List<BatchDepositItemDto> items) {
+        Set<UUID> walletIds = new HashSet<>();
+        Set<Long> accountNumbers = new HashSet<>();
+        for (BatchDepositItemDto item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.getWalletId() != null) {
+                walletIds.add(item.getWalletId());
+            } else if (item.getAccountNumber() != null) {
+                accountNumbers.add(item.getAccountNumber());
+            }
+        }
+
+        WalletBatchSupport targets = new WalletBatchSupport();
+        if (!walletIds.isEmpty()) {
+            walletRepository.findDepositTargetsByIds(walletIds)
+                .forEach(target -> targets.targetsById.put(target.walletId(), target));
+        }
+        if (!accountNumbers.isEmpty()) {
+            walletRepository.findDepositTargetsByAccountNumbers(accountNumbers)
+                .forEach(target -> targets.targetsByAccountNumber.put(target.accountNumber(), target));
+        }
+        return targets;
+    }
+
+    DepositTarget find(BatchDepositItemDto item) {
+        return item.getWalletId() != null
+            ? targetsById.get(item.getWalletId())
+            : targetsByAccountNumber.get(item.getAccountNumber());
+    }
+
+    static String notFoundMessage(BatchDepositItemDto item) {
+        return item.getWalletId() != null
+            ? "Wallet not found with ID: " + item.getWalletId()
+            : "Wallet not found for account number: " + item.getAccountNumber();
+    }
+
+    static String validate(BatchDepositItemDto item) {
+        if (item == null) {
+            return "Item cannot be null";
+        }
+        if (item.getWalletId() == null && item.getAccountNumber() == null) {
+            return "Either walletId or accountNumber is required";
+        }
+        if (item.getAmount() == null || item.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Transaction amount must be positive";
+        }
+        if (item.getAmount().scale() > 2) {
+            return "Transaction amount must have at most 2 decimal places";
+        }
+        if (item.getDescription() != null && item.getDescription().length() > 500) {
+            return "Description must not exceed 500 characters";
+        }
+        return null;
+    }
+
+    /**
+     * Applies every delta in one JDBC batch and returns the wallets whose row was updated. The map must be sorted by
+     * wallet id: statements run in that order, matching the lock order WalletLockService uses for transfers.
+     */
+    static Set<UUID> applyDeltas(JdbcTemplate jdbcTemplate, SortedMap<UUID, BigDecimal> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((walletId, delta) -> batchArgs.add(new Object[]{delta, now, walletId, delta}));
+        int[] updatedRows = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batchArgs);
+
+        Set<UUID> updated = new HashSet<>();
+        int i = 0;
+        for (UUID walletId : deltas.keySet()) {
+            if (updatedRows[i++] != 0) {
+                updated.add(walletId);
+            }
+        }
+        return updated;
+    }
+
+    static Map<UUID, BigDecimal> balancesOf(WalletRepository walletRepository, WalletBalanceService walletBalanceService,
+                                            Collection<UUID> walletIds) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        if (!walletIds.isEmpty()) {
+            // The UPDATEs hold the row locks until commit, so these balances include exactly our own deltas
+            for (WalletBalance walletBalance : walletRepository.findBalancesByIds(walletIds)) {
+                balances.put(walletBalance.walletId(), walletBalance.balance());
+            }
+            walletBalanceService.shardBalances(walletIds)
+                .forEach((walletId, shardBalance) -> balances.merge(walletId, shardBalance, BigDecimal::add));
+        }
+        return balances;
+    }
+
+    static BatchDepositItemResultDto failed(int index, BatchDepositItemDto item, DepositTarget target, String error) {
+        return BatchDepositItemResultDto.builder()
+            .index(index)
+            .status(BatchDepositItemResultDto.Status.FAILED)
+            .walletId(target != null ? target.walletId() : item != null ? item.getWalletId() : null)
+            .accountNumber(target != null ? target.accountNumber() : item != null ? item.getAccountNumber() : null)
+            .amount(item != null ? item.getAmount() : null)
+            .error(error)
+            .build();
+    }
+
+    static BatchDepositItemResultDto completed(int index, BatchDepositItemDto item, DepositTarget target, UUID transactionId,
+                                               BigDecimal balanceBefore, BigDecimal balanceAfter) {
+        return BatchDepositItemResultDto.builder()
+            .index(index)
+            .status(BatchDepositItemResultDto.Status.COMPLETED)
+            .walletId(target.walletId())
+            .accountNumber(target.accountNumber())
+            .amount(item.getAmount())
+            .transactionId(transactionId)
+            .balanceBeforeTransaction(balanceBefore)
+            .balanceAfterTransaction(balanceAfter)
+            .build();
+    }
+
+    static int countCompleted(BatchDepositItemResultDto[] results) {
+        int completed = 0;
+        for (BatchDepositItemResultDto result : results) {
+            if (result.getStatus() == BatchDepositItemResultDto.Status.COMPLETED) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+}
\ No newline at end of file
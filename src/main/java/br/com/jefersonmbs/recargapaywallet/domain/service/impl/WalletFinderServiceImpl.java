@@ -5,6 +5,7 @@ import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletFinderService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.cache.WalletRoutingCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +16,7 @@ import java.util.UUID;
 public class WalletFinderServiceImpl implements WalletFinderService {
     
     private final WalletRepository walletRepository;
+    private final WalletRoutingCache walletRoutingCache;
     
     @Override
     public WalletEntity findWalletById(UUID walletId) {
@@ -38,4 +40,39 @@ public class WalletFinderServiceImpl implements WalletFinderService {
             throw new IllegalArgumentException("Target wallet identification is required (wallet ID, account number, or user CPF)");
         }
     }
+
+    @Override
+    public UUID resolveTargetWalletId(TransactionRequestDto request) {
+        if (request.getTargetWalletId() != null) {
+            return request.getTargetWalletId();
+        } else if (request.getTargetAccountNumber() != null) {
+            return resolveByAccountNumber(request.getTargetAccountNumber());
+        } else if (request.getTargetUserCpf() != null) {
+            return resolveByCpf(request.getTargetUserCpf());
+        } else {
+            throw new IllegalArgumentException("Target wallet identification is required (wallet ID, account number, or user CPF)");
+        }
+    }
+
+    private UUID resolveByAccountNumber(long accountNumber) {
+        UUID cached = walletRoutingCache.getByAccountNumber(accountNumber);
+        if (cached != null) {
+            return cached;
+        }
+        UUID walletId = walletRepository.findIdByAccountNumber(accountNumber)
+            .orElseThrow(() -> new WalletNotFoundException("Target wallet not found for account number: " + accountNumber));
+        walletRoutingCache.putAccountNumber(accountNumber, walletId);
+        return walletId;
+    }
+
+    private UUID resolveByCpf(String cpf) {
+        UUID cached = walletRoutingCache.getByCpf(cpf);
+        if (cached != null) {
+            return cached;
+        }
+        UUID walletId = walletRepository.findIdByUserCpf(cpf)
+            .orElseThrow(() -> new WalletNotFoundException("Target wallet not found for user CPF: " + cpf));
+        walletRoutingCache.putCpf(cpf, walletId);
+        return walletId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletLockService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletLockProperties;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WalletLockServiceImpl implements WalletLockService {
+
+    private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+    private final EntityManager entityManager;
+    private final WalletLockProperties lockProperties;
+
+    @Override
+    public Map<UUID, WalletEntity> lockInOrder(Collection<UUID> walletIds) {
+        return lockInOrder(walletIds, Set.of());
+    }
+
+    @Override
+    public Map<UUID, WalletEntity> lockInOrder(Collection<UUID> walletIds, Collection<UUID> sharedWalletIds) {
+        Map<String, Object> hints = Map.of(LOCK_TIMEOUT_HINT, lockProperties.getTimeout().toMillis());
+        Map<UUID, WalletEntity> lockedWallets = new LinkedHashMap<>();
+
+        // Every caller acquires row locks in ascending UUID order, so two opposite transfers cannot deadlock
+        for (UUID walletId : new TreeSet<>(walletIds)) {
+            LockModeType lockMode = sharedWalletIds.contains(walletId) ? LockModeType.PESSIMISTIC_READ : LockModeType.PESSIMISTIC_WRITE;
+            WalletEntity wallet = entityManager.find(WalletEntity.class, walletId, lockMode, hints);
+            if (wallet == null) {
+                throw new WalletNotFoundException("Wallet not found with ID: " + walletId);
+            }
+            lockedWallets.put(walletId, wallet);
+        }
+
+        log.debug("Locked wallets in canonical order: {}", lockedWallets.keySet());
+        return lockedWallets;
+    }
+}
\ No newline at end of file
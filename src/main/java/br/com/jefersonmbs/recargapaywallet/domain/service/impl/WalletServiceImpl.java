@@ -1,36 +1,52 @@
 package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.CursorTransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.PagedTransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionHistoryRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto;
-import br.com.jefersonmbs.recargapaywallet.api.mapper.TransactionMapper;
 import br.com.jefersonmbs.recargapaywallet.api.mapper.WalletMapper;
-import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.HistoryCursor;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.UserEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletValidationException;
 import br.com.jefersonmbs.recargapaywallet.domain.factory.TransactionStrategyFactory;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionHistoryRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.UserRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.BatchDepositService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.DisbursementService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletFinderService;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletService;
 import br.com.jefersonmbs.recargapaywallet.domain.validator.WalletValidator;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.cache.WalletRoutingCache;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.SingleWriterWalletEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -39,15 +55,20 @@ import java.util.UUID;
 public class WalletServiceImpl implements WalletService {
 
     private static final String ACCOUNT_NUMBER_PREFIX = "989";
+    private static final String ENGINE_UNSUPPORTED_MESSAGE = "Multi-wallet operations are not available in single-writer engine mode";
 
     private final WalletRepository walletRepository;
     private final TransactionHistoryRepository transactionHistoryRepository;
     private final UserRepository userRepository;
     private final WalletMapper walletMapper;
-    private final TransactionMapper transactionMapper;
     private final WalletValidator walletValidator;
     private final TransactionStrategyFactory transactionStrategyFactory;
     private final WalletFinderService walletFinderService;
+    private final WalletBalanceService walletBalanceService;
+    private final WalletRoutingCache walletRoutingCache;
+    private final BatchDepositService batchDepositService;
+    private final DisbursementService disbursementService;
+    private final ObjectProvider<SingleWriterWalletEngine> singleWriterWalletEngine;
 
     @Override
     public WalletResponseDto createWallet(Long userId) {
@@ -60,6 +81,7 @@ public class WalletServiceImpl implements WalletService {
         Long accountNumber = generateAccountNumber(userId);
         WalletEntity wallet = buildWallet(user, accountNumber);
         WalletEntity savedWallet = walletRepository.save(wallet);
+        walletRoutingCache.invalidate(accountNumber, user.getCpf());
         
         log.info("Wallet created successfully with ID: {} and account number: {} for user ID: {}", 
             savedWallet.getId(), savedWallet.getAccountNumber(), userId);
@@ -73,31 +95,58 @@ public class WalletServiceImpl implements WalletService {
         walletValidator.validateAccountNumber(accountNumber);
         WalletEntity wallet = walletRepository.findByAccountNumber(accountNumber)
             .orElseThrow(() -> new WalletNotFoundException("Wallet not found for account number: " + accountNumber));
-        return walletMapper.toResponseDto(wallet);
+        return withShardBalance(walletMapper.toResponseDto(wallet));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<WalletResponseDto> getAllActiveWallets() {
         List<WalletEntity> activeWallets = walletRepository.findActiveWalletsWithActiveUsers();
-        return walletMapper.toResponseDtoList(activeWallets);
+        List<WalletResponseDto> wallets = walletMapper.toResponseDtoList(activeWallets);
+        wallets.forEach(this::withShardBalance);
+        return wallets;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamActiveWallets(Consumer<WalletResponseDto> consumer) {
+        try (Stream<WalletResponseDto> wallets = walletRepository.streamActiveWalletsWithActiveUsers()) {
+            wallets.map(this::withShardBalance).forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public TransactionResponseDto deposit(TransactionRequestDto transactionRequest) {
         return transactionStrategyFactory.getDepositStrategy().execute(transactionRequest);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchDepositResponseDto batchDeposit(BatchDepositRequestDto batchRequest) {
+        rejectInEngineMode();
+        return batchDepositService.deposit(batchRequest);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public TransactionResponseDto withdraw(TransactionRequestDto transactionRequest) {
         return transactionStrategyFactory.getWithdrawStrategy().execute(transactionRequest);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public TransactionResponseDto transfer(TransactionRequestDto transactionRequest) {
         return transactionStrategyFactory.getTransferStrategy().execute(transactionRequest);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public DisbursementResponseDto disburse(DisbursementRequestDto disbursementRequest) {
+        rejectInEngineMode();
+        return disbursementService.disburse(disbursementRequest);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PagedTransactionResponseDto getTransactionHistoryPaginated(UUID walletId, Long userId, TransactionHistoryRequestDto request) {
@@ -115,20 +164,18 @@ public class WalletServiceImpl implements WalletService {
         Sort sort = Sort.by(Sort.Direction.fromString(request.getSortDirection()), request.getSortBy());
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
         
-        Page<TransactionHistoryEntity> transactionPage;
+        Page<TransactionResponseDto> transactionPage;
         
         if (request.getStartDate() != null && request.getEndDate() != null) {
             LocalDateTime startDateTime = request.getStartDate().atStartOfDay();
             LocalDateTime endDateTime = request.getEndDate().atTime(LocalTime.MAX);
-            transactionPage = transactionHistoryRepository.findByWalletIdAndDateRangePageable(walletId, startDateTime, endDateTime, pageable);
+            transactionPage = transactionHistoryRepository.findResponsesByWalletIdAndDateRangePageable(walletId, startDateTime, endDateTime, pageable);
         } else {
-            transactionPage = transactionHistoryRepository.findByWalletIdPageable(walletId, pageable);
+            transactionPage = transactionHistoryRepository.findResponsesByWalletIdPageable(walletId, pageable);
         }
 
-        List<TransactionResponseDto> transactions = transactionMapper.toResponseDtoList(transactionPage.getContent());
-        
         return PagedTransactionResponseDto.builder()
-            .content(transactions)
+            .content(transactionPage.getContent())
             .page(transactionPage.getNumber())
             .size(transactionPage.getSize())
             .totalPages(transactionPage.getTotalPages())
@@ -140,6 +187,52 @@ public class WalletServiceImpl implements WalletService {
             .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorTransactionResponseDto getTransactionHistoryByCursor(UUID walletId, Long userId, TransactionHistoryRequestDto request) {
+        walletValidator.validateWalletId(walletId);
+        walletValidator.validateUserId(userId);
+
+        log.info("Fetching cursor transaction history for wallet ID: {} and user ID: {} with filters: {}", walletId, userId, request);
+
+        walletValidator.validateUserExists(userId);
+        WalletEntity wallet = walletFinderService.findWalletById(walletId);
+        walletValidator.validateWalletOwnership(wallet, userId);
+
+        walletValidator.validateDateRange(request);
+        walletValidator.validatePageSize(request.getSize());
+
+        HistoryCursor cursor = HistoryCursor.decode(request.getCursor());
+        Pageable limit = PageRequest.of(0, request.getSize() + 1);
+        boolean dateFiltered = request.getStartDate() != null && request.getEndDate() != null;
+        LocalDateTime startDateTime = dateFiltered ? request.getStartDate().atStartOfDay() : null;
+        LocalDateTime endDateTime = dateFiltered ? request.getEndDate().atTime(LocalTime.MAX) : null;
+
+        List<TransactionResponseDto> rows = dateFiltered
+            ? transactionHistoryRepository.findResponsesByWalletIdAndDateRangeAfterCursor(
+                walletId, startDateTime, endDateTime, cursor.createdAt(), cursor.id(), limit)
+            : transactionHistoryRepository.findResponsesByWalletIdAfterCursor(walletId, cursor.createdAt(), cursor.id(), limit);
+
+        boolean hasNext = rows.size() > request.getSize();
+        List<TransactionResponseDto> content = hasNext ? rows.subList(0, request.getSize()) : rows;
+        TransactionResponseDto last = content.isEmpty() ? null : content.get(content.size() - 1);
+
+        Long totalElements = null;
+        if (Boolean.TRUE.equals(request.getIncludeCount())) {
+            totalElements = dateFiltered
+                ? transactionHistoryRepository.countByWalletIdAndDateRange(walletId, startDateTime, endDateTime)
+                : transactionHistoryRepository.countByWalletId(walletId);
+        }
+
+        return CursorTransactionResponseDto.builder()
+            .content(content)
+            .size(content.size())
+            .nextCursor(hasNext ? new HistoryCursor(last.getCreatedAt(), last.getId()).encode() : null)
+            .hasNext(hasNext)
+            .totalElements(totalElements)
+            .build();
+    }
+
 
     @Override
     public void toggleActiveWallet(UUID walletId) {
@@ -148,9 +241,33 @@ public class WalletServiceImpl implements WalletService {
         boolean newActiveStatus = !wallet.getActive();
         wallet.setActive(newActiveStatus);
         walletRepository.save(wallet);
+        syncEngineActiveFlag(walletId, newActiveStatus);
         log.info("Wallet ID: {} active status toggled to: {}", walletId, newActiveStatus);
     }
 
+    private void rejectInEngineMode() {
+        if (singleWriterWalletEngine.getIfAvailable() != null) {
+            throw new WalletValidationException(ENGINE_UNSUPPORTED_MESSAGE);
+        }
+    }
+
+    private void syncEngineActiveFlag(UUID walletId, boolean active) {
+        SingleWriterWalletEngine engine = singleWriterWalletEngine.getIfAvailable();
+        if (engine == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            engine.setActive(walletId, active);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                engine.setActive(walletId, active);
+            }
+        });
+    }
+
     private Long generateAccountNumber(Long userId) {
         try {
             return Long.parseLong(ACCOUNT_NUMBER_PREFIX + userId);
@@ -170,4 +287,12 @@ public class WalletServiceImpl implements WalletService {
             .accountNumber(accountNumber)
             .build();
     }
+
+    // Only striped wallets hold part of their balance in shard rows, so only they pay for the extra read
+    private WalletResponseDto withShardBalance(WalletResponseDto wallet) {
+        if (walletBalanceService.isStriped(wallet.getId())) {
+            wallet.setBalance(wallet.getBalance().add(walletBalanceService.shardBalance(wallet.getId())));
+        }
+        return wallet;
+    }
 }
\ No newline at end of file
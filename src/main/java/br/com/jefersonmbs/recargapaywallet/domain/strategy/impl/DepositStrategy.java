@@ -16,6 +16,8 @@ import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
 import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
 import br.com.jefersonmbs.recargapaywallet.domain.strategy.TransactionStrategy;
 import br.com.jefersonmbs.recargapaywallet.domain.validator.WalletValidator;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics.Phase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -28,6 +30,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DepositStrategy implements TransactionStrategy {
     
+    private static final String STRATEGY = "deposit";
     private static final String TARGET_WALLET_INACTIVE_MESSAGE = "Target wallet is not active for deposits";
     
     private final WalletFinderService walletFinderService;
@@ -36,42 +39,65 @@ public class DepositStrategy implements TransactionStrategy {
     private final TransactionAuditService transactionAuditService;
     private final WalletValidator walletValidator;
     private final TransactionMapper transactionMapper;
+    private final TransactionPhaseMetrics transactionPhaseMetrics;
     
     @Override
     public TransactionResponseDto execute(TransactionRequestDto request) {
+        TransactionPhaseMetrics.Recorder phases = transactionPhaseMetrics.start(STRATEGY);
+        try {
+            TransactionResponseDto response = deposit(request, phases);
+            phases.success();
+            return response;
+        } catch (RuntimeException ex) {
+            phases.failure(ex);
+            throw ex;
+        }
+    }
+
+    private TransactionResponseDto deposit(TransactionRequestDto request, TransactionPhaseMetrics.Recorder phases) {
         walletValidator.validateTransactionRequest(request);
         walletValidator.validateWalletId(request.getTargetWalletId());
+        phases.mark(Phase.VALIDATION);
         
         log.info("Processing deposit of {} to wallet ID: {}", 
             request.getAmount(), request.getTargetWalletId());
         
         WalletEntity targetWallet = walletFinderService.findWalletById(request.getTargetWalletId());
+        phases.mark(Phase.LOOKUP);
         walletValidator.validateWalletForTransaction(targetWallet, TARGET_WALLET_INACTIVE_MESSAGE);
         
-        BigDecimal balanceBefore = targetWallet.getBalance();
+        BigDecimal balanceBefore = walletBalanceService.totalBalance(targetWallet);
         UUID transactionId = UUID.randomUUID();
 
         TransactionAuditRequest auditRequest = getTransactionAuditRequest(request, transactionId, targetWallet, balanceBefore);
         AuditContext auditContext = AuditContext.capture();
         
         transactionAuditService.auditTransactionStart(auditRequest, auditContext);
+        phases.mark(Phase.AUDIT);
         
+        Phase pending = Phase.BALANCE_UPDATE;
         try {
-            walletBalanceService.creditAmount(targetWallet, request.getAmount());
-            BigDecimal balanceAfter = targetWallet.getBalance();
+            BigDecimal balanceAfter = walletBalanceService.creditAmount(targetWallet, request.getAmount());
+            phases.mark(Phase.BALANCE_UPDATE);
+            pending = Phase.HISTORY_INSERT;
+            BigDecimal settledBalanceBefore = balanceAfter.subtract(request.getAmount());
 
-            TransactionCreationRequest transactionRequest = getTransactionCreationRequest(request, targetWallet, balanceBefore, balanceAfter);
+            TransactionCreationRequest transactionRequest = getTransactionCreationRequest(request, targetWallet, settledBalanceBefore, balanceAfter);
 
             TransactionHistoryEntity transaction = transactionHistoryService.createTransaction(transactionRequest);
+            phases.mark(Phase.HISTORY_INSERT);
+            pending = Phase.AUDIT;
 
-            TransactionAuditRequest successRequest = getTransactionAuditRequest(request, transactionId, targetWallet, balanceBefore, balanceAfter);
+            TransactionAuditRequest successRequest = getTransactionAuditRequest(request, transactionId, targetWallet, settledBalanceBefore, balanceAfter);
 
             transactionAuditService.auditSuccessful(successRequest, auditContext);
+            phases.mark(Phase.AUDIT);
             
             log.info("Deposit completed successfully. Transaction ID: {}", transactionId);
             return transactionMapper.toResponseDto(transaction);
             
         } catch (Exception ex) {
+            phases.mark(pending);
             log.error("Deposit failed for wallet ID: {}, amount: {}, error: {}", 
                 request.getTargetWalletId(), request.getAmount(), ex.getMessage(), ex);
             
@@ -86,6 +112,7 @@ public class DepositStrategy implements TransactionStrategy {
             );
             
             transactionAuditService.auditFailed(failedRequest, auditContext);
+            phases.mark(Phase.AUDIT);
             
             throw ex;
         }
@@ -0,0 +1,175 @@
+package br.com.jefersonmbs.recargapaywallet.domain.strategy.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.AuditContext;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.IdempotencyRecord;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionAuditRequest;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity.OperationType;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionStatus;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletValidationException;
+import br.com.jefersonmbs.recargapaywallet.domain.service.IdempotencyService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionAuditService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletFinderService;
+import br.com.jefersonmbs.recargapaywallet.domain.validator.WalletValidator;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.JournalEntry;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.SingleWriterWalletEngine;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.SingleWriterWalletEngine.IdempotentCommand;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.SingleWriterWalletEngine.Receipt;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.WalletState;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics.Phase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Deposit, withdraw and transfer executed by the {@link SingleWriterWalletEngine} instead of database row locks.
+ * Validation, target resolution, audit and the response shape match the JPA strategies. The Idempotency-Key is handed
+ * to the engine, which stores it with the balance change; once the engine has applied a command, a failed audit write
+ * is logged instead of failing a request whose money already moved.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "single-writer")
+public class SingleWriterStrategies {
+
+    private static final String SAME_WALLET_MESSAGE = "Cannot transfer to the same wallet";
+
+    private final SingleWriterWalletEngine walletEngine;
+    private final WalletFinderService walletFinderService;
+    private final TransactionAuditService transactionAuditService;
+    private final WalletValidator walletValidator;
+    private final TransactionPhaseMetrics transactionPhaseMetrics;
+    private final IdempotencyService idempotencyService;
+
+    public TransactionResponseDto deposit(TransactionRequestDto request) {
+        return run("deposit", request, phases -> {
+            walletValidator.validateWalletId(request.getTargetWalletId());
+            phases.mark(Phase.VALIDATION);
+
+            Receipt receipt = walletEngine.deposit(request.getTargetWalletId(), request.getAmount(),
+                request.getDescription(), request.getCorrelationId(), idempotent("deposit", request));
+            phases.mark(Phase.BALANCE_UPDATE);
+
+            if (!receipt.replayed()) {
+                audit(receipt.entry(), receipt.target(), OperationType.CREDIT, "Deposit completed successfully");
+            }
+            phases.mark(Phase.AUDIT);
+            return receipt;
+        });
+    }
+
+    public TransactionResponseDto withdraw(TransactionRequestDto request) {
+        return run("withdraw", request, phases -> {
+            walletValidator.validateWalletId(request.getSourceWalletId());
+            phases.mark(Phase.VALIDATION);
+
+            Receipt receipt = walletEngine.withdraw(request.getSourceWalletId(), request.getAmount(),
+                request.getDescription(), request.getCorrelationId(), idempotent("withdraw", request));
+            phases.mark(Phase.BALANCE_UPDATE);
+
+            if (!receipt.replayed()) {
+                audit(receipt.entry(), receipt.source(), OperationType.DEBIT, "Withdrawal completed successfully");
+            }
+            phases.mark(Phase.AUDIT);
+            return receipt;
+        });
+    }
+
+    public TransactionResponseDto transfer(TransactionRequestDto request) {
+        return run("transfer", request, phases -> {
+            walletValidator.validateWalletId(request.getSourceWalletId());
+            phases.mark(Phase.VALIDATION);
+
+            UUID targetWalletId = walletFinderService.resolveTargetWalletId(request);
+            if (targetWalletId.equals(request.getSourceWalletId())) {
+                throw new WalletValidationException(SAME_WALLET_MESSAGE);
+            }
+            phases.mark(Phase.LOOKUP);
+
+            Receipt receipt = walletEngine.transfer(request.getSourceWalletId(), targetWalletId, request.getAmount(),
+                request.getDescription(), request.getCorrelationId(), idempotent("transfer", request));
+            phases.mark(Phase.BALANCE_UPDATE);
+
+            if (!receipt.replayed()) {
+                audit(receipt.entry(), receipt.source(), OperationType.TRANSFER_OUT, "Transfer out completed successfully");
+            }
+            if (!receipt.replayed() && receipt.transferIn() != null) {
+                audit(receipt.transferIn(), receipt.target(), OperationType.TRANSFER_IN, "Transfer in completed successfully");
+            }
+            phases.mark(Phase.AUDIT);
+            return receipt;
+        });
+    }
+
+    private TransactionResponseDto run(String strategy, TransactionRequestDto request,
+                                       Function<TransactionPhaseMetrics.Recorder, Receipt> command) {
+        TransactionPhaseMetrics.Recorder phases = transactionPhaseMetrics.start(strategy);
+        try {
+            walletValidator.validateTransactionRequest(request);
+            Receipt receipt = command.apply(phases);
+            phases.success();
+            log.info("{} applied by the single-writer engine. Transaction ID: {}", strategy, receipt.entry().transactionId());
+            return toResponseDto(receipt);
+        } catch (RuntimeException ex) {
+            phases.failure(ex);
+            log.warn("{} rejected by the single-writer engine: {}", strategy, ex.getMessage());
+            throw ex;
+        }
+    }
+
+    private IdempotentCommand idempotent(String operation, TransactionRequestDto request) {
+        IdempotencyRecord record = idempotencyService.prepare(operation, request);
+        return record == null
+            ? null
+            : new IdempotentCommand(record, receipt -> idempotencyService.serialize(toResponseDto(receipt)));
+    }
+
+    private void audit(JournalEntry entry, WalletState wallet, OperationType operationType, String description) {
+        try {
+            transactionAuditService.auditSuccessful(TransactionAuditRequest.successful(
+                entry.transactionId(),
+                wallet.getWalletId(),
+                wallet.getUserId(),
+                operationType,
+                entry.amount(),
+                entry.balanceBefore(),
+                entry.balanceAfter(),
+                description
+            ), AuditContext.capture());
+        } catch (RuntimeException e) {
+            log.error("Failed to audit {} transaction ID: {} applied by the single-writer engine: {}",
+                operationType, entry.transactionId(), e.getMessage());
+        }
+    }
+
+    private static TransactionResponseDto toResponseDto(Receipt receipt) {
+        JournalEntry entry = receipt.entry();
+        WalletState source = receipt.source();
+        WalletState target = receipt.target();
+        return TransactionResponseDto.builder()
+            .id(entry.transactionId())
+            .type(entry.type())
+            .amount(entry.amount())
+            .sourceWalletId(entry.sourceWalletId())
+            .sourceAccountNumber(source != null ? source.getAccountNumber() : null)
+            .sourceUserCpf(source != null ? source.getUserCpf() : null)
+            .sourceUserName(source != null ? source.getUserName() : null)
+            .targetWalletId(entry.targetWalletId())
+            .targetAccountNumber(target != null ? target.getAccountNumber() : null)
+            .targetUserCpf(target != null ? target.getUserCpf() : null)
+            .targetUserName(target != null ? target.getUserName() : null)
+            .description(entry.description())
+            .balanceBeforeTransaction(entry.balanceBefore())
+            .balanceAfterTransaction(entry.balanceAfter())
+            .status(TransactionStatus.COMPLETED)
+            .createdAt(entry.createdAt())
+            .build();
+    }
+}
\ No newline at end of file
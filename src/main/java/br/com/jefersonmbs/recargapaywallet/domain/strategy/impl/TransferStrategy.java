@@ -14,13 +14,19 @@ import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionAuditServic
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletFinderService;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
 import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletLockService;
 import br.com.jefersonmbs.recargapaywallet.domain.strategy.TransactionStrategy;
 import br.com.jefersonmbs.recargapaywallet.domain.validator.WalletValidator;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics.Phase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -29,33 +35,57 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TransferStrategy implements TransactionStrategy {
     
+    private static final String STRATEGY = "transfer";
     private static final String SOURCE_WALLET_INACTIVE_MESSAGE = "Source wallet is not active for transfers";
     private static final String TARGET_WALLET_INACTIVE_MESSAGE = "Target wallet is not active for transfers";
     
     private final WalletFinderService walletFinderService;
+    private final WalletLockService walletLockService;
     private final WalletBalanceService walletBalanceService;
     private final TransactionHistoryService transactionHistoryService;
     private final TransactionAuditService transactionAuditService;
     private final WalletValidator walletValidator;
     private final TransactionMapper transactionMapper;
+    private final TransactionPhaseMetrics transactionPhaseMetrics;
     
     @Override
     public TransactionResponseDto execute(TransactionRequestDto request) {
+        TransactionPhaseMetrics.Recorder phases = transactionPhaseMetrics.start(STRATEGY);
+        try {
+            TransactionResponseDto response = transfer(request, phases);
+            phases.success();
+            return response;
+        } catch (RuntimeException ex) {
+            phases.failure(ex);
+            throw ex;
+        }
+    }
+
+    private TransactionResponseDto transfer(TransactionRequestDto request, TransactionPhaseMetrics.Recorder phases) {
         walletValidator.validateTransactionRequest(request);
         walletValidator.validateWalletId(request.getSourceWalletId());
+        phases.mark(Phase.VALIDATION);
         
         log.info("Processing transfer of {} from wallet ID: {} to target", 
             request.getAmount(), request.getSourceWalletId());
         
-        WalletEntity sourceWallet = walletFinderService.findWalletById(request.getSourceWalletId());
-        WalletEntity targetWallet = walletFinderService.findTargetWallet(request);
+        UUID targetWalletId = walletFinderService.resolveTargetWalletId(request);
+        phases.mark(Phase.LOOKUP);
+        Set<UUID> sharedLocks = !targetWalletId.equals(request.getSourceWalletId()) && walletBalanceService.isStriped(targetWalletId)
+            ? Set.of(targetWalletId)
+            : Set.of();
+        Map<UUID, WalletEntity> lockedWallets = walletLockService.lockInOrder(
+            List.of(request.getSourceWalletId(), targetWalletId), sharedLocks);
+        WalletEntity sourceWallet = lockedWallets.get(request.getSourceWalletId());
+        WalletEntity targetWallet = lockedWallets.get(targetWalletId);
+        phases.mark(Phase.LOCK);
         
         validateTransferWallets(sourceWallet, targetWallet);
         
-        BigDecimal sourceBalanceBefore = sourceWallet.getBalance();
+        BigDecimal sourceBalanceBefore = walletBalanceService.totalBalance(sourceWallet);
         walletValidator.validateSufficientBalance(sourceBalanceBefore, request.getAmount());
         
-        BigDecimal targetBalanceBefore = targetWallet.getBalance();
+        BigDecimal targetBalanceBefore = walletBalanceService.totalBalance(targetWallet);
         UUID transferOutTransactionId = UUID.randomUUID(); 
         UUID transferInTransactionId = UUID.randomUUID();  
         
@@ -83,29 +113,37 @@ public class TransferStrategy implements TransactionStrategy {
         );
         
         transactionAuditService.auditTransactionStart(transferInRequest, auditContext);
+        phases.mark(Phase.AUDIT);
         
+        Phase pending = Phase.BALANCE_UPDATE;
         try {
-            BigDecimal sourceBalanceAfter = sourceBalanceBefore.subtract(request.getAmount());
-            BigDecimal targetBalanceAfter = targetBalanceBefore.add(request.getAmount());
-            
-            executeTransfer(sourceWallet, targetWallet, sourceBalanceAfter, targetBalanceAfter);
+            BigDecimal sourceBalanceAfter = walletBalanceService.debitAmount(sourceWallet, request.getAmount());
+            BigDecimal targetBalanceAfter = walletBalanceService.creditAmount(targetWallet, request.getAmount());
+            phases.mark(Phase.BALANCE_UPDATE);
+            pending = Phase.HISTORY_INSERT;
+            BigDecimal settledSourceBalanceBefore = sourceBalanceAfter.add(request.getAmount());
+            BigDecimal settledTargetBalanceBefore = targetBalanceAfter.subtract(request.getAmount());
             
             TransactionHistoryEntity transferOut = createTransferOutTransaction(
-                request, sourceWallet, targetWallet, sourceBalanceBefore, sourceBalanceAfter, request.getCorrelationId());
+                request, sourceWallet, targetWallet, settledSourceBalanceBefore, sourceBalanceAfter, request.getCorrelationId());
+            phases.mark(Phase.HISTORY_INSERT);
+            pending = Phase.AUDIT;
 
-            TransactionAuditRequest transferOutSuccessRequest = getAuditRequest(request, transferOutTransactionId, sourceWallet, sourceBalanceBefore, sourceBalanceAfter);
+            TransactionAuditRequest transferOutSuccessRequest = getAuditRequest(request, transferOutTransactionId, sourceWallet, settledSourceBalanceBefore, sourceBalanceAfter);
 
             transactionAuditService.auditSuccessful(transferOutSuccessRequest, auditContext);
 
-            TransactionAuditRequest transferInSuccessRequest = getTransactionAuditRequest(request, transferInTransactionId, targetWallet, targetBalanceBefore, targetBalanceAfter);
+            TransactionAuditRequest transferInSuccessRequest = getTransactionAuditRequest(request, transferInTransactionId, targetWallet, settledTargetBalanceBefore, targetBalanceAfter);
 
             transactionAuditService.auditSuccessful(transferInSuccessRequest, auditContext);
+            phases.mark(Phase.AUDIT);
             
             log.info("Transfer completed successfully. Transfer-out ID: {}, Transfer-in ID: {}", 
                 transferOutTransactionId, transferInTransactionId);
             return transactionMapper.toResponseDto(transferOut);
             
         } catch (Exception ex) {
+            phases.mark(pending);
             log.error("Transfer failed from wallet ID: {} to target, amount: {}, error: {}", 
                 request.getSourceWalletId(), request.getAmount(), ex.getMessage(), ex);
 
@@ -116,6 +154,7 @@ public class TransferStrategy implements TransactionStrategy {
             TransactionAuditRequest transferInFailedRequest = getTransactionAuditRequest(request, ex, transferInTransactionId, targetWallet, targetBalanceBefore);
 
             transactionAuditService.auditFailed(transferInFailedRequest, auditContext);
+            phases.mark(Phase.AUDIT);
             
             throw ex;
         }
@@ -177,12 +216,6 @@ public class TransferStrategy implements TransactionStrategy {
         walletValidator.validateDifferentWallets(sourceWallet, targetWallet);
     }
     
-    private void executeTransfer(WalletEntity sourceWallet, WalletEntity targetWallet, 
-                                BigDecimal sourceBalanceAfter, BigDecimal targetBalanceAfter) {
-        walletBalanceService.updateBalance(sourceWallet, sourceBalanceAfter);
-        walletBalanceService.updateBalance(targetWallet, targetBalanceAfter);
-    }
-    
     private TransactionHistoryEntity createTransferOutTransaction(TransactionRequestDto request,
                                                                  WalletEntity sourceWallet, 
                                                                  WalletEntity targetWallet,
@@ -16,6 +16,8 @@ import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
 import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
 import br.com.jefersonmbs.recargapaywallet.domain.strategy.TransactionStrategy;
 import br.com.jefersonmbs.recargapaywallet.domain.validator.WalletValidator;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics.Phase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -28,6 +30,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class WithdrawStrategy implements TransactionStrategy {
     
+    private static final String STRATEGY = "withdraw";
     private static final String SOURCE_WALLET_INACTIVE_MESSAGE = "Source wallet is not active for withdrawals";
     
     private final WalletFinderService walletFinderService;
@@ -36,19 +39,34 @@ public class WithdrawStrategy implements TransactionStrategy {
     private final TransactionAuditService transactionAuditService;
     private final WalletValidator walletValidator;
     private final TransactionMapper transactionMapper;
+    private final TransactionPhaseMetrics transactionPhaseMetrics;
     
     @Override
     public TransactionResponseDto execute(TransactionRequestDto request) {
+        TransactionPhaseMetrics.Recorder phases = transactionPhaseMetrics.start(STRATEGY);
+        try {
+            TransactionResponseDto response = withdraw(request, phases);
+            phases.success();
+            return response;
+        } catch (RuntimeException ex) {
+            phases.failure(ex);
+            throw ex;
+        }
+    }
+
+    private TransactionResponseDto withdraw(TransactionRequestDto request, TransactionPhaseMetrics.Recorder phases) {
         walletValidator.validateTransactionRequest(request);
         walletValidator.validateWalletId(request.getSourceWalletId());
+        phases.mark(Phase.VALIDATION);
         
         log.info("Processing withdrawal of {} from wallet ID: {}", 
             request.getAmount(), request.getSourceWalletId());
         
         WalletEntity sourceWallet = walletFinderService.findWalletById(request.getSourceWalletId());
+        phases.mark(Phase.LOOKUP);
         walletValidator.validateWalletForTransaction(sourceWallet, SOURCE_WALLET_INACTIVE_MESSAGE);
         
-        BigDecimal balanceBefore = sourceWallet.getBalance();
+        BigDecimal balanceBefore = walletBalanceService.totalBalance(sourceWallet);
         walletValidator.validateSufficientBalance(balanceBefore, request.getAmount());
         
         UUID transactionId = UUID.randomUUID();
@@ -57,29 +75,38 @@ public class WithdrawStrategy implements TransactionStrategy {
         AuditContext auditContext = AuditContext.capture();
         
         transactionAuditService.auditTransactionStart(auditRequest, auditContext);
+        phases.mark(Phase.AUDIT);
         
+        Phase pending = Phase.BALANCE_UPDATE;
         try {
-            walletBalanceService.debitAmount(sourceWallet, request.getAmount());
-            BigDecimal balanceAfter = sourceWallet.getBalance();
+            BigDecimal balanceAfter = walletBalanceService.debitAmount(sourceWallet, request.getAmount());
+            phases.mark(Phase.BALANCE_UPDATE);
+            pending = Phase.HISTORY_INSERT;
+            BigDecimal settledBalanceBefore = balanceAfter.add(request.getAmount());
 
-            TransactionCreationRequest transactionRequest = getTransactionCreationRequest(request, sourceWallet, balanceBefore, balanceAfter);
+            TransactionCreationRequest transactionRequest = getTransactionCreationRequest(request, sourceWallet, settledBalanceBefore, balanceAfter);
 
             TransactionHistoryEntity transaction = transactionHistoryService.createTransaction(transactionRequest);
+            phases.mark(Phase.HISTORY_INSERT);
+            pending = Phase.AUDIT;
 
-            TransactionAuditRequest successRequest = getTransactionAuditRequest(request, transactionId, sourceWallet, balanceBefore, balanceAfter);
+            TransactionAuditRequest successRequest = getTransactionAuditRequest(request, transactionId, sourceWallet, settledBalanceBefore, balanceAfter);
 
             transactionAuditService.auditSuccessful(successRequest, auditContext);
+            phases.mark(Phase.AUDIT);
             
             log.info("Withdrawal completed successfully. Transaction ID: {}", transactionId);
             return transactionMapper.toResponseDto(transaction);
             
         } catch (Exception ex) {
+            phases.mark(pending);
             log.error("Withdrawal failed for wallet ID: {}, amount: {}, error: {}", 
                 request.getSourceWalletId(), request.getAmount(), ex.getMessage(), ex);
 
             TransactionAuditRequest failedRequest = getTransactionAuditRequest(request, ex, transactionId, sourceWallet, balanceBefore);
 
             transactionAuditService.auditFailed(failedRequest, auditContext);
+            phases.mark(Phase.AUDIT);
             
             throw ex;
         }
@@ -110,4 +110,10 @@ public class WalletValidator {
             throw new IllegalArgumentException("Both start date and end date must be provided");
         }
     }
+
+    public void validatePageSize(Integer size) {
+        if (size == null || size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+    }
 }
\ No newline at end of file
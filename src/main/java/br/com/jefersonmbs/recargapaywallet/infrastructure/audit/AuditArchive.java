@@ -0,0 +1,208 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditPartitionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for expired audit partitions: one gzip-compressed NDJSON file per partition, next to a SHA-256 sidecar
+ * in {@code sha256sum} format so archives can also be checked by hand. Every read verifies the checksum. Archives are
+ * named after their monthly partition, so a search only opens the months it asks for.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditArchive {
+
+    private static final String ARCHIVE_SUFFIX = ".ndjson.gz";
+    private static final String CHECKSUM_SUFFIX = ".sha256";
+    private static final Pattern MONTH_ARCHIVE = Pattern.compile(".*_(\\d{4})_(\\d{2})" + Pattern.quote(ARCHIVE_SUFFIX));
+
+    private final WalletAuditPartitionProperties partitionProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the records handed to {@code sink} by {@code producer} to the archive {@code name}, replacing any earlier
+     * attempt. The archive only becomes visible once it is complete and forced to disk; this returns once the archive,
+     * its checksum and their directory entries are durable and the archive has been read back.
+     */
+    public long write(String name, Consumer<Consumer<TransactionAuditEntity>> producer) {
+        Path directory = partitionProperties.getArchiveDir();
+        Path archive = directory.resolve(name + ARCHIVE_SUFFIX);
+        Path partial = directory.resolve(name + ARCHIVE_SUFFIX + ".partial");
+        MessageDigest digest = sha256();
+        long[] written = {0};
+
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream file = Files.newOutputStream(partial, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+                 BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(new DigestOutputStream(file, digest)), StandardCharsets.UTF_8))) {
+                producer.accept(auditEntity -> {
+                    try {
+                        writer.write(objectMapper.writeValueAsString(auditEntity));
+                        writer.newLine();
+                        written[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            force(partial);
+
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            Path checksumFile = directory.resolve(name + ARCHIVE_SUFFIX + CHECKSUM_SUFFIX);
+            Files.writeString(checksumFile, checksum + "  " + archive.getFileName() + "\n", StandardCharsets.UTF_8);
+            force(checksumFile);
+            Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // The partition is dropped once this returns, so the rename and the sidecar entry must survive a crash too
+            forceDirectory(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write audit archive " + archive, e);
+        }
+
+        long verified = read(archive, auditEntity -> { });
+        if (verified != written[0]) {
+            throw new IllegalStateException("Audit archive " + archive + " holds " + verified + " records, expected " + written[0]);
+        }
+        log.info("Archived {} audit records to {}", written[0], archive);
+        return written[0];
+    }
+
+    /**
+     * Returns the archived records matching {@code filter} from the archives of the months {@code from} to {@code to}.
+     * The archive of the pre-partitioning table is read too when the range starts before the oldest monthly archive.
+     */
+    public List<TransactionAuditEntity> search(YearMonth from, YearMonth to, Predicate<TransactionAuditEntity> filter) {
+        Path directory = partitionProperties.getArchiveDir();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> archives;
+        try (Stream<Path> listing = Files.list(directory)) {
+            archives = listing
+                .filter(file -> file.getFileName().toString().endsWith(ARCHIVE_SUFFIX))
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        YearMonth oldest = archives.stream()
+            .map(AuditArchive::month)
+            .filter(Objects::nonNull)
+            .min(YearMonth::compareTo)
+            .orElse(null);
+        List<TransactionAuditEntity> matches = new ArrayList<>();
+        for (Path archive : archives) {
+            YearMonth month = month(archive);
+            boolean selected = month != null
+                ? !month.isBefore(from) && !month.isAfter(to)
+                : oldest == null || from.isBefore(oldest);
+            if (selected) {
+                read(archive, auditEntity -> {
+                    if (filter.test(auditEntity)) {
+                        matches.add(auditEntity);
+                    }
+                });
+            }
+        }
+        return matches;
+    }
+
+    private static YearMonth month(Path archive) {
+        Matcher matcher = MONTH_ARCHIVE.matcher(archive.getFileName().toString());
+        return matcher.matches() ? YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))) : null;
+    }
+
+    // Streams the records to the sink and returns how many were read; the checksum is verified after the last one
+    private long read(Path archive, Consumer<TransactionAuditEntity> sink) {
+        MessageDigest digest = sha256();
+        long records = 0;
+        try (InputStream file = new DigestInputStream(Files.newInputStream(archive), digest);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                 new GZIPInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sink.accept(objectMapper.readValue(line, TransactionAuditEntity.class));
+                records++;
+            }
+            // The gzip trailer may end before the file does; hash whatever is left
+            file.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit archive " + archive, e);
+        }
+
+        String expected = expectedChecksum(archive);
+        String actual = HexFormat.of().formatHex(digest.digest());
+        if (!actual.equals(expected)) {
+            throw new IllegalStateException("Audit archive " + archive + " failed checksum verification");
+        }
+        return records;
+    }
+
+    private static String expectedChecksum(Path archive) {
+        Path checksumFile = archive.resolveSibling(archive.getFileName() + CHECKSUM_SUFFIX);
+        try {
+            String content = Files.readString(checksumFile, StandardCharsets.UTF_8).trim();
+            int separator = content.indexOf(' ');
+            return separator < 0 ? content : content.substring(0, separator);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Missing checksum for audit archive " + archive, e);
+        }
+    }
+
+    private static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.audit.mode", havingValue = "async")
+public class AuditFallbackJournal {
+
+    private final WalletAuditProperties auditProperties;
+    private final ObjectMapper objectMapper;
+
+    public synchronized void append(List<TransactionAuditEntity> auditEntities) {
+        Path file = auditProperties.getFallbackFile();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC)) {
+            for (TransactionAuditEntity auditEntity : auditEntities) {
+                writer.write(objectMapper.writeValueAsString(auditEntity));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            // Last line of defence: the records still reach the log so they can be recovered by hand
+            log.error("Failed to journal {} audit records to {}: {}", auditEntities.size(), file, auditEntities, e);
+            throw new UncheckedIOException(e);
+        }
+        log.warn("Journaled {} audit records to fallback file {}", auditEntities.size(), file);
+    }
+
+    public synchronized List<TransactionAuditEntity> readAll() {
+        Path file = auditProperties.getFallbackFile();
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            List<TransactionAuditEntity> auditEntities = new ArrayList<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    auditEntities.add(objectMapper.readValue(line, TransactionAuditEntity.class));
+                }
+            }
+            return auditEntities;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void replace(List<TransactionAuditEntity> remaining) {
+        try {
+            Files.deleteIfExists(auditProperties.getFallbackFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!remaining.isEmpty()) {
+            append(remaining);
+        }
+    }
+}
\ No newline at end of file
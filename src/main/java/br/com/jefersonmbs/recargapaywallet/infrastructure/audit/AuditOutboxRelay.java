@@ -0,0 +1,59 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.audit.mode", havingValue = "outbox")
+public class AuditOutboxRelay implements SchedulingConfigurer {
+
+    // SKIP LOCKED lets several instances relay concurrently without handing out the same rows. Counts the claimed
+    // outbox rows rather than the inserted ones, which fall short whenever a conflict is skipped
+    private static final String RELAY_SQL = """
+            WITH batch AS (
+                SELECT id FROM tb_audit_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+            ), moved AS (
+                DELETE FROM tb_audit_outbox o USING batch WHERE o.id = batch.id
+                RETURNING o.audit_id, %1$s
+            ), inserted AS (
+                INSERT INTO tb_transaction_audit (id, %1$s)
+                SELECT audit_id, %1$s FROM moved
+                ON CONFLICT (id, created_at) DO NOTHING
+            )
+            SELECT count(*) FROM moved
+            """.formatted(AuditRowBinder.COLUMNS);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletAuditProperties auditProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::relay, auditProperties.getRelayInterval());
+    }
+
+    void relay() {
+        int batchSize = auditProperties.getBatchSize();
+        try {
+            int moved;
+            do {
+                moved = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(RELAY_SQL, Integer.class, batchSize));
+                meterRegistry.counter("wallet.audit.outbox.relayed").increment(moved);
+            } while (moved == batchSize);
+        } catch (DataAccessException e) {
+            log.error("Audit outbox relay failed, rows stay in the outbox for the next run: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
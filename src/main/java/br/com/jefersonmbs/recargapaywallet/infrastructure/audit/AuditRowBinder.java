@@ -0,0 +1,50 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+final class AuditRowBinder {
+
+    static final String COLUMNS = """
+            transaction_id, wallet_id, user_id, operation_type, amount, balance_before, balance_after,
+            transaction_status, created_at, created_by, origin_ip, user_agent, session_id, correlation_id,
+            description, metadata""";
+
+    static final String PLACEHOLDERS = "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?";
+
+    private AuditRowBinder() {
+    }
+
+    static void assignIdentity(TransactionAuditEntity auditEntity) {
+        if (auditEntity.getId() == null) {
+            auditEntity.setId(UUID.randomUUID());
+        }
+        if (auditEntity.getCreatedAt() == null) {
+            auditEntity.setCreatedAt(LocalDateTime.now());
+        }
+    }
+
+    static void bind(PreparedStatement ps, TransactionAuditEntity audit) throws SQLException {
+        ps.setObject(1, audit.getId());
+        ps.setObject(2, audit.getTransactionId());
+        ps.setObject(3, audit.getWalletId());
+        ps.setLong(4, audit.getUserId());
+        ps.setString(5, audit.getOperationType().name());
+        ps.setBigDecimal(6, audit.getAmount());
+        ps.setBigDecimal(7, audit.getBalanceBefore());
+        ps.setBigDecimal(8, audit.getBalanceAfter());
+        ps.setString(9, audit.getStatus().name());
+        ps.setObject(10, audit.getCreatedAt());
+        ps.setString(11, audit.getCreatedBy());
+        ps.setString(12, audit.getOriginIp());
+        ps.setString(13, audit.getUserAgent());
+        ps.setString(14, audit.getSessionId());
+        ps.setString(15, audit.getCorrelationId());
+        ps.setString(16, audit.getDescription());
+        ps.setString(17, audit.getMetadata());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+
+public interface AuditWriter {
+
+    void write(TransactionAuditEntity auditEntity);
+}
\ No newline at end of file
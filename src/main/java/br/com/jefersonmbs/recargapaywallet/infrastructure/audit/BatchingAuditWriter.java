@@ -0,0 +1,194 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.audit.mode", havingValue = "async")
+public class BatchingAuditWriter implements AuditWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO tb_transaction_audit (id, " + AuditRowBinder.COLUMNS
+            + ") VALUES (" + AuditRowBinder.PLACEHOLDERS + ")";
+    // A batch that failed after reaching the database may be partly committed, so replay skips rows already there
+    private static final String REPLAY_SQL = INSERT_SQL + " ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditFallbackJournal fallbackJournal;
+    private final WalletAuditProperties auditProperties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate requiresNewTemplate;
+
+    private BlockingQueue<TransactionAuditEntity> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public BatchingAuditWriter(JdbcTemplate jdbcTemplate, AuditFallbackJournal fallbackJournal,
+                               WalletAuditProperties auditProperties, MeterRegistry meterRegistry,
+                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fallbackJournal = fallbackJournal;
+        this.auditProperties = auditProperties;
+        this.meterRegistry = meterRegistry;
+        // Caller-run flushes happen in afterCommit, where the business connection is still bound but already committed
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(auditProperties.getQueueCapacity());
+        Gauge.builder("wallet.audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-batch-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void write(TransactionAuditEntity auditEntity) {
+        AuditRowBinder.assignIdentity(auditEntity);
+
+        // A COMPLETED record must not outlive a rollback, so it is only queued once the business commit succeeds
+        if (auditEntity.getStatus() == TransactionAuditEntity.TransactionStatus.COMPLETED
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(auditEntity);
+                }
+            });
+        } else {
+            enqueue(auditEntity);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void replayFallbackJournal() {
+        List<TransactionAuditEntity> pending = fallbackJournal.readAll();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        log.info("Replaying {} audit records from fallback journal", pending.size());
+        int batchSize = auditProperties.getBatchSize();
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<TransactionAuditEntity> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            try {
+                insertBatch(REPLAY_SQL, chunk);
+            } catch (DataAccessException e) {
+                log.error("Fallback journal replay stopped at record {}: {}", from, e.getMessage());
+                fallbackJournal.replace(new ArrayList<>(pending.subList(from, pending.size())));
+                return;
+            }
+        }
+        fallbackJournal.replace(List.of());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(auditProperties.getShutdownTimeout().toMillis());
+
+        List<TransactionAuditEntity> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        if (!leftovers.isEmpty()) {
+            log.warn("Audit writer did not drain in time, journaling {} records", leftovers.size());
+            fallbackJournal.append(leftovers);
+        }
+    }
+
+    private void enqueue(TransactionAuditEntity auditEntity) {
+        if (!running) {
+            flush(List.of(auditEntity));
+            return;
+        }
+        try {
+            if (!queue.offer(auditEntity, auditProperties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                // Backpressure: the producer pays for its own insert instead of growing the queue
+                meterRegistry.counter("wallet.audit.queue.rejected").increment();
+                flush(List.of(auditEntity));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flush(List.of(auditEntity));
+        }
+    }
+
+    private void drainLoop() {
+        int batchSize = auditProperties.getBatchSize();
+        long flushIntervalNanos = auditProperties.getFlushInterval().toNanos();
+        List<TransactionAuditEntity> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+
+        while (running || !queue.isEmpty()) {
+            try {
+                long waitNanos = batch.isEmpty() ? flushIntervalNanos : Math.max(0, deadline - System.nanoTime());
+                TransactionAuditEntity next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+                if (next != null) {
+                    if (batch.isEmpty()) {
+                        deadline = System.nanoTime() + flushIntervalNanos;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!batch.isEmpty() && (batch.size() >= batchSize || System.nanoTime() >= deadline)) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<TransactionAuditEntity> batch) {
+        try {
+            insertBatch(INSERT_SQL, batch);
+            log.debug("Flushed {} audit records", batch.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to flush {} audit records, writing them to the fallback journal: {}", batch.size(), e.getMessage());
+            try {
+                fallbackJournal.append(batch);
+            } catch (UncheckedIOException journalFailure) {
+                // Already logged with the full records by the journal; keep the writer thread alive
+                meterRegistry.counter("wallet.audit.records.lost").increment(batch.size());
+            }
+        }
+    }
+
+    private void insertBatch(String sql, List<TransactionAuditEntity> batch) {
+        requiresNewTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(sql, batch, batch.size(), AuditRowBinder::bind));
+    }
+}
\ No newline at end of file
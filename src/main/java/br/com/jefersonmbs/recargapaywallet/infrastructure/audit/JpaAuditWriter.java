@@ -0,0 +1,20 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionAuditRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.audit.mode", havingValue = "sync", matchIfMissing = true)
+public class JpaAuditWriter implements AuditWriter {
+
+    private final TransactionAuditRepository auditRepository;
+
+    @Override
+    public void write(TransactionAuditEntity auditEntity) {
+        auditRepository.save(auditEntity);
+    }
+}
\ No newline at end of file
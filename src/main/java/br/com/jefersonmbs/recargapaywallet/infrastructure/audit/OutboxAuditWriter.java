@@ -0,0 +1,79 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.audit.mode", havingValue = "outbox")
+public class OutboxAuditWriter implements AuditWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO tb_audit_outbox (audit_id, " + AuditRowBinder.COLUMNS
+            + ") VALUES (" + AuditRowBinder.PLACEHOLDERS + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNewTemplate;
+
+    public OutboxAuditWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void write(TransactionAuditEntity auditEntity) {
+        AuditRowBinder.assignIdentity(auditEntity);
+
+        // A failure may come from a statement that aborted the business transaction, where PostgreSQL rejects any
+        // further insert and its error would replace the caller's; the record is written once the transaction ends
+        if (auditEntity.getStatus() == TransactionAuditEntity.TransactionStatus.FAILED) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                keepOutsideTransaction(auditEntity);
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    keepOutsideTransaction(auditEntity);
+                }
+            });
+            return;
+        }
+
+        // Same connection and commit as the business change: no second pooled connection on the hot path
+        insert(auditEntity);
+
+        if (auditEntity.getStatus() != TransactionAuditEntity.TransactionStatus.COMPLETED
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        keepOutsideTransaction(auditEntity);
+                    }
+                }
+            });
+        }
+    }
+
+    private void keepOutsideTransaction(TransactionAuditEntity auditEntity) {
+        // Initiated and failed records describe the attempt itself, so they must survive its rollback
+        try {
+            requiresNewTemplate.executeWithoutResult(status -> insert(auditEntity));
+        } catch (RuntimeException e) {
+            log.error("Failed to keep audit record {} outside the business transaction: {}", auditEntity, e.getMessage(), e);
+        }
+    }
+
+    private void insert(TransactionAuditEntity auditEntity) {
+        jdbcTemplate.update(INSERT_SQL, ps -> AuditRowBinder.bind(ps, auditEntity));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.bulkhead;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletBulkheadProperties;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent database work below the size of the connection pool. With virtual threads the number of in-flight
+ * requests is no longer bounded by Tomcat's worker pool, so excess callers park on this fair semaphore instead of
+ * piling up inside Hikari's connection wait, and are rejected once {@code wallet.bulkhead.max-wait} elapses. Unless
+ * set explicitly, permits leave {@code reserved-connections} to scheduled jobs and allow every permit holder
+ * {@code connections-per-call} connections, so the pool cannot run dry while all permits are taken.
+ */
+@Slf4j
+@Component
+public class DatabaseBulkhead {
+
+    private final boolean enabled;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public DatabaseBulkhead(WalletBulkheadProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+        int maxConcurrentCalls = properties.getMaxConcurrentCalls() > 0
+            ? properties.getMaxConcurrentCalls()
+            : Math.max(1, (poolSize(dataSource) - properties.getReservedConnections()) / properties.getConnectionsPerCall());
+        this.enabled = properties.isEnabled();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.waitTimer = Timer.builder("wallet.bulkhead.wait").register(meterRegistry);
+        this.rejections = Counter.builder("wallet.bulkhead.rejections").register(meterRegistry);
+        Gauge.builder("wallet.bulkhead.available", permits, Semaphore::availablePermits).register(meterRegistry);
+        Gauge.builder("wallet.bulkhead.queued", permits, Semaphore::getQueueLength).register(meterRegistry);
+
+        log.info("Database bulkhead {} with {} permits", enabled ? "enabled" : "disabled", maxConcurrentCalls);
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        if (!enabled) {
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejections.increment();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        if (enabled) {
+            permits.release();
+        }
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        HikariConfigMXBean hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        if (hikari == null) {
+            throw new IllegalStateException("wallet.bulkhead.max-concurrent-calls must be set for non-Hikari data sources");
+        }
+        return hikari.getMaximumPoolSize();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.bulkhead;
+
+import br.com.jefersonmbs.recargapaywallet.api.exception.GlobalExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseBulkheadFilter extends OncePerRequestFilter {
+
+    private final DatabaseBulkhead bulkhead;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            reject(request, response);
+            return;
+        }
+
+        boolean releaseNow = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep reading from the database after this thread returns; async dispatches are
+                // not filtered again, so the permit is held until the whole async request completes
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+                releaseNow = false;
+            }
+        } finally {
+            if (releaseNow) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.warn("Bulkhead full, rejecting {} {}", request.getMethod(), request.getRequestURI());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Too many concurrent requests, please retry")
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private final class PermitReleasingListener implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when the request starts another async cycle, so this one registers itself again
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
\ No newline at end of file
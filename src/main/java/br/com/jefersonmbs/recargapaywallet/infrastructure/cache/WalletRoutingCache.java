@@ -0,0 +1,153 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.cache;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletRoutingCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolves transfer targets (account number or CPF) to wallet ids without a query.
+ * <p>
+ * Each key space is a fixed-size direct-mapped table: a key owns exactly one slot, a colliding put replaces the
+ * previous occupant and entries expire after the configured TTL. Slots hold immutable entries, so lookups are
+ * lock-free and account numbers are compared as primitives. Only positive lookups are cached.
+ */
+@Component
+public class WalletRoutingCache {
+
+    private static final String METRIC = "wallet.routing.cache";
+
+    private record AccountEntry(long accountNumber, UUID walletId, long expiresAt) {
+    }
+
+    private record CpfEntry(String cpf, UUID walletId, long expiresAt) {
+    }
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int mask;
+    private final AtomicReferenceArray<AccountEntry> accountSlots;
+    private final AtomicReferenceArray<CpfEntry> cpfSlots;
+    private final LongSupplier nanoClock;
+
+    private final Counter accountHits;
+    private final Counter accountMisses;
+    private final Counter cpfHits;
+    private final Counter cpfMisses;
+
+    @Autowired
+    public WalletRoutingCache(WalletRoutingCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    WalletRoutingCache(WalletRoutingCacheProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getCapacity()) * 2 - 1);
+        this.enabled = properties.isEnabled();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.mask = capacity - 1;
+        this.accountSlots = new AtomicReferenceArray<>(capacity);
+        this.cpfSlots = new AtomicReferenceArray<>(capacity);
+        this.nanoClock = nanoClock;
+        this.accountHits = counter(meterRegistry, "account_number", "hit");
+        this.accountMisses = counter(meterRegistry, "account_number", "miss");
+        this.cpfHits = counter(meterRegistry, "cpf", "hit");
+        this.cpfMisses = counter(meterRegistry, "cpf", "miss");
+    }
+
+    public UUID getByAccountNumber(long accountNumber) {
+        if (!enabled) {
+            return null;
+        }
+        AccountEntry entry = accountSlots.get(slot(Long.hashCode(accountNumber)));
+        if (entry != null && entry.accountNumber() == accountNumber && isLive(entry.expiresAt())) {
+            accountHits.increment();
+            return entry.walletId();
+        }
+        accountMisses.increment();
+        return null;
+    }
+
+    public void putAccountNumber(long accountNumber, UUID walletId) {
+        if (enabled) {
+            accountSlots.set(slot(Long.hashCode(accountNumber)), new AccountEntry(accountNumber, walletId, expiry()));
+        }
+    }
+
+    public UUID getByCpf(String cpf) {
+        if (!enabled) {
+            return null;
+        }
+        CpfEntry entry = cpfSlots.get(slot(cpf.hashCode()));
+        if (entry != null && entry.cpf().equals(cpf) && isLive(entry.expiresAt())) {
+            cpfHits.increment();
+            return entry.walletId();
+        }
+        cpfMisses.increment();
+        return null;
+    }
+
+    public void putCpf(String cpf, UUID walletId) {
+        if (enabled) {
+            cpfSlots.set(slot(cpf.hashCode()), new CpfEntry(cpf, walletId, expiry()));
+        }
+    }
+
+    /**
+     * Evicts the mappings now and again after commit, so a lookup racing the writing transaction cannot
+     * leave a stale entry behind.
+     */
+    public void invalidate(Long accountNumber, String cpf) {
+        evict(accountNumber, cpf);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(accountNumber, cpf);
+                }
+            });
+        }
+    }
+
+    private void evict(Long accountNumber, String cpf) {
+        if (accountNumber != null) {
+            int slot = slot(Long.hashCode(accountNumber));
+            AccountEntry entry = accountSlots.get(slot);
+            if (entry != null && entry.accountNumber() == accountNumber) {
+                accountSlots.compareAndSet(slot, entry, null);
+            }
+        }
+        if (cpf != null) {
+            int slot = slot(cpf.hashCode());
+            CpfEntry entry = cpfSlots.get(slot);
+            if (entry != null && entry.cpf().equals(cpf)) {
+                cpfSlots.compareAndSet(slot, entry, null);
+            }
+        }
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private long expiry() {
+        return nanoClock.getAsLong() + ttlNanos;
+    }
+
+    private boolean isLive(long expiresAt) {
+        return nanoClock.getAsLong() - expiresAt < 0;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder(METRIC)
+            .tag("key", key)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.audit-partitions")
+public class WalletAuditPartitionProperties {
+
+    private boolean enabled = false;
+
+    private int monthsAhead = 3;
+
+    /**
+     * Whole months of audit kept in the database before the current one; 0 never archives.
+     */
+    private int retentionMonths = 0;
+
+    private Duration maintenanceInterval = Duration.ofHours(6);
+
+    private Path archiveDir = Path.of("audit-archive");
+
+    private int exportFetchSize = 1000;
+
+    /**
+     * Widest date range, in calendar months, an audit lookup may read through to the archive.
+     */
+    private int archiveLookupMaxMonths = 3;
+}
\ No newline at end of file
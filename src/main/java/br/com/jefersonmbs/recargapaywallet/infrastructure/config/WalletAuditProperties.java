@@ -0,0 +1,34 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.audit")
+public class WalletAuditProperties {
+
+    private Mode mode = Mode.SYNC;
+
+    private int queueCapacity = 10_000;
+
+    private int batchSize = 500;
+
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    private Path fallbackFile = Path.of("audit-fallback.ndjson");
+
+    private Duration relayInterval = Duration.ofMillis(500);
+
+    public enum Mode {
+        SYNC,
+        ASYNC,
+        OUTBOX
+    }
+}
\ No newline at end of file
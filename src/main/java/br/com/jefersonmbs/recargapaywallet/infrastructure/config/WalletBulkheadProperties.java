@@ -0,0 +1,30 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.bulkhead")
+public class WalletBulkheadProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Concurrent API requests allowed to touch the database; 0 derives it from the connection pool size.
+     */
+    private int maxConcurrentCalls = 0;
+
+    /**
+     * Pool connections left to scheduled jobs when the bulkhead is derived from the pool.
+     */
+    private int reservedConnections = 4;
+
+    /**
+     * Connections one request may hold at once: its transaction plus the REQUIRES_NEW audit written on rollback.
+     */
+    private int connectionsPerCall = 2;
+
+    private Duration maxWait = Duration.ofSeconds(2);
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.engine")
+public class WalletEngineProperties {
+
+    private Mode mode = Mode.JPA;
+
+    private int partitions = 4;
+
+    private Path journalDir = Path.of("wallet-journal");
+
+    private int segmentEntries = 10_000;
+
+    private int batchSize = 500;
+
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    private Duration commandTimeout = Duration.ofSeconds(5);
+
+    public enum Mode {
+        JPA,
+        SINGLE_WRITER
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.history-partitions")
+public class WalletHistoryPartitionProperties {
+
+    private boolean enabled = false;
+
+    private int monthsAhead = 3;
+
+    /**
+     * Whole months of history kept attached before the current one; 0 keeps every partition.
+     */
+    private int retentionMonths = 0;
+
+    private Duration maintenanceInterval = Duration.ofHours(6);
+
+    private int ledgerPurgeBatchSize = 5000;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.idempotency")
+public class WalletIdempotencyProperties {
+
+    private int recentKeysCapacity = 10000;
+
+    private Duration recentKeysTtl = Duration.ofMinutes(10);
+
+    private Duration retention = Duration.ofHours(24);
+
+    private Duration purgeInterval = Duration.ofHours(1);
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.lock")
+public class WalletLockProperties {
+
+    private Duration timeout = Duration.ofSeconds(2);
+}
\ No newline at end of file
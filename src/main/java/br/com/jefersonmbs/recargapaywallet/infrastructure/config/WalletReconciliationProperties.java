@@ -0,0 +1,34 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.reconciliation")
+public class WalletReconciliationProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Delay between scheduled runs; the first run also waits this long after startup.
+     */
+    private Duration interval = Duration.ofHours(24);
+
+    private int parallelism = 4;
+
+    /**
+     * Wallets per key range; each range is reconciled by one aggregate query.
+     */
+    private int rangeSize = 1000;
+
+    /**
+     * Share of each worker's wall time spent in queries, between 0 and 1; workers sleep for the rest.
+     */
+    private double dbLoadBudget = 0.5;
+
+    private int maxReportedMismatches = 1000;
+
+    private int historyFetchSize = 1000;
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.retry")
+public class WalletRetryProperties {
+
+    private int maxAttempts = 3;
+
+    private Duration initialBackoff = Duration.ofMillis(20);
+
+    private Duration maxBackoff = Duration.ofMillis(500);
+
+    private double multiplier = 2.0;
+
+    private Map<String, Integer> strategyMaxAttempts = new HashMap<>();
+
+    public int maxAttemptsFor(String operation) {
+        return strategyMaxAttempts.getOrDefault(operation, maxAttempts);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.routing-cache")
+public class WalletRoutingCacheProperties {
+
+    private boolean enabled = true;
+
+    private int capacity = 16384;
+
+    private Duration ttl = Duration.ofMinutes(10);
+}
\ No newline at end of file
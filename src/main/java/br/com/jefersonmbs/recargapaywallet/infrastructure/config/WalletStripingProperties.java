@@ -0,0 +1,19 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.striping")
+public class WalletStripingProperties {
+
+    private boolean enabled = false;
+
+    private int shards = 8;
+
+    private Set<UUID> walletIds = new LinkedHashSet<>();
+}
\ No newline at end of file
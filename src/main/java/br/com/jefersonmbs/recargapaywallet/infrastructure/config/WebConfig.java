@@ -1,8 +1,13 @@
 package br.com.jefersonmbs.recargapaywallet.infrastructure.config;
 
+import br.com.jefersonmbs.recargapaywallet.infrastructure.bulkhead.DatabaseBulkhead;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.bulkhead.DatabaseBulkheadFilter;
 import br.com.jefersonmbs.recargapaywallet.infrastructure.interceptor.AuditContextInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -32,4 +37,13 @@ public class WebConfig implements WebMvcConfigurer {
         
         log.info("AuditContextInterceptor registered successfully for path patterns: /api/**");
     }
+
+    @Bean
+    public FilterRegistrationBean<DatabaseBulkheadFilter> databaseBulkheadFilter(DatabaseBulkhead databaseBulkhead,
+                                                                                ObjectMapper objectMapper) {
+        FilterRegistrationBean<DatabaseBulkheadFilter> registration =
+                new FilterRegistrationBean<>(new DatabaseBulkheadFilter(databaseBulkhead, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,272 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.engine;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletEngineProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only NDJSON write-ahead log of the single-writer engine, split into segments named after their first
+ * sequence. Every append is forced to disk before it returns; segments are deleted once the database holds all of
+ * their entries.
+ * <p>
+ * Partitions write under the journal lock but force outside it, as a group commit: one force covers every entry
+ * written before it, so partitions appending concurrently share a force instead of queueing one each.
+ * <p>
+ * A failed write or force fails the journal for good. Whether the entries it covered reached the disk is unknown, so
+ * they are neither retried nor handed on, and every later append is rejected until a restart replays the segments.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "single-writer")
+public class CommandJournal {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+
+    private record Segment(Path file, long lastSequence) {
+    }
+
+    private record Appended(JournalEntry entry, Consumer<JournalEntry> onAppended) {
+    }
+
+    private final WalletEngineProperties engineProperties;
+    private final ObjectMapper objectMapper;
+
+    private final Deque<Segment> closedSegments = new ArrayDeque<>();
+    private final List<FileChannel> unforcedChannels = new ArrayList<>();
+    private final List<Appended> unforced = new ArrayList<>();
+    private final Object forceLock = new Object();
+    private FileChannel channel;
+    private Path currentFile;
+    private int currentEntries;
+    private long nextSequence = 1;
+    private long forcedSequence;
+    private volatile IOException failure;
+
+    /**
+     * Reads every entry left by previous runs, in sequence order. Must run before the first append so new
+     * sequences continue after the recovered ones.
+     */
+    public synchronized List<JournalEntry> recover() {
+        List<JournalEntry> entries = new ArrayList<>();
+        try {
+            Files.createDirectories(engineProperties.getJournalDir());
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(engineProperties.getJournalDir())) {
+                files = listing
+                    .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+            }
+            for (Path file : files) {
+                long lastSequence = readSegment(file, entries);
+                closedSegments.addLast(new Segment(file, lastSequence));
+                nextSequence = Math.max(nextSequence, lastSequence + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+
+    /**
+     * Assigns sequences, appends and forces the entries. Each one is handed to {@code onAppended} once it is on disk,
+     * in sequence order across all callers, before this returns.
+     */
+    public List<JournalEntry> append(List<JournalEntry> entries, Consumer<JournalEntry> onAppended) {
+        List<JournalEntry> sequenced = write(entries, onAppended);
+        if (!sequenced.isEmpty()) {
+            force(sequenced.get(sequenced.size() - 1).sequence());
+        }
+        return sequenced;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Deletes the closed segments whose entries all have a sequence up to {@code upToSequence}.
+     */
+    public synchronized void release(long upToSequence) {
+        while (!closedSegments.isEmpty() && closedSegments.peekFirst().lastSequence() <= upToSequence) {
+            Segment segment = closedSegments.pollFirst();
+            try {
+                Files.deleteIfExists(segment.file());
+                log.debug("Released journal segment {}", segment.file());
+            } catch (IOException e) {
+                log.warn("Failed to delete journal segment {}: {}", segment.file(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (forceLock) {
+            List<FileChannel> channels;
+            synchronized (this) {
+                if (channel != null) {
+                    closeSegment();
+                }
+                channels = new ArrayList<>(unforcedChannels);
+                unforcedChannels.clear();
+            }
+            for (FileChannel closedChannel : channels) {
+                try {
+                    forceChannel(closedChannel);
+                } catch (IOException e) {
+                    log.warn("Failed to force journal segment on close: {}", e.getMessage());
+                }
+                closeQuietly(closedChannel);
+            }
+        }
+    }
+
+    private synchronized List<JournalEntry> write(List<JournalEntry> entries, Consumer<JournalEntry> onAppended) {
+        requireHealthy();
+        List<JournalEntry> sequenced = new ArrayList<>(entries.size());
+        StringBuilder lines = new StringBuilder();
+        long sequence = nextSequence;
+        try {
+            for (JournalEntry entry : entries) {
+                JournalEntry withSequence = entry.withSequence(sequence++);
+                lines.append(objectMapper.writeValueAsString(withSequence)).append('\n');
+                sequenced.add(withSequence);
+            }
+            if (channel == null) {
+                openSegment();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            // Part of the lines may be in the file already, so the next append must not follow them
+            throw fail("Failed to append to the wallet journal " + currentFile, e);
+        }
+
+        nextSequence = sequence;
+        currentEntries += sequenced.size();
+        sequenced.forEach(entry -> unforced.add(new Appended(entry, onAppended)));
+        if (currentEntries >= engineProperties.getSegmentEntries()) {
+            closeSegment();
+        }
+        return sequenced;
+    }
+
+    private void force(long sequence) {
+        synchronized (forceLock) {
+            if (forcedSequence >= sequence) {
+                // Forced by the caller that held the force lock before us
+                return;
+            }
+            requireHealthy();
+            FileChannel current;
+            List<FileChannel> channels;
+            List<Appended> batch;
+            synchronized (this) {
+                current = channel;
+                channels = new ArrayList<>(unforcedChannels);
+                batch = new ArrayList<>(unforced);
+                unforcedChannels.clear();
+                unforced.clear();
+            }
+
+            try {
+                for (FileChannel closedChannel : channels) {
+                    forceChannel(closedChannel);
+                    closeQuietly(closedChannel);
+                }
+                if (current != null) {
+                    forceChannel(current);
+                }
+            } catch (IOException e) {
+                // A retried fsync can report success for pages the failed one dropped, so the batch is never handed on
+                channels.forEach(this::closeQuietly);
+                throw fail("Failed to force the wallet journal", e);
+            }
+
+            batch.forEach(appended -> appended.onAppended().accept(appended.entry()));
+            forcedSequence = batch.get(batch.size() - 1).entry().sequence();
+        }
+    }
+
+    // Overridden by tests to simulate a failing disk
+    void forceChannel(FileChannel forcedChannel) throws IOException {
+        forcedChannel.force(false);
+    }
+
+    private void requireHealthy() {
+        if (failure != null) {
+            throw new IllegalStateException("The wallet journal failed and rejects appends until a restart replays it", failure);
+        }
+    }
+
+    private UncheckedIOException fail(String message, IOException e) {
+        failure = e;
+        log.error("{}; rejecting further appends until a restart replays the journal", message, e);
+        return new UncheckedIOException(message, e);
+    }
+
+    private long readSegment(Path file, List<JournalEntry> entries) throws IOException {
+        long lastSequence = 0;
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).isBlank()) {
+                continue;
+            }
+            try {
+                JournalEntry entry = objectMapper.readValue(lines.get(i), JournalEntry.class);
+                entries.add(entry);
+                lastSequence = entry.sequence();
+            } catch (JsonProcessingException e) {
+                // Only the tail of the last segment can be torn by a crash; that append was never acknowledged
+                log.warn("Ignoring unreadable journal line {} of {}: {}", i + 1, file, e.getOriginalMessage());
+            }
+        }
+        return lastSequence;
+    }
+
+    private void openSegment() throws IOException {
+        Files.createDirectories(engineProperties.getJournalDir());
+        currentFile = engineProperties.getJournalDir().resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(currentFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentEntries = 0;
+    }
+
+    // The channel stays open until the next force covers its last entries
+    private void closeSegment() {
+        unforcedChannels.add(channel);
+        closedSegments.addLast(new Segment(currentFile, nextSequence - 1));
+        channel = null;
+    }
+
+    private void closeQuietly(FileChannel closedChannel) {
+        try {
+            closedChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close journal segment: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
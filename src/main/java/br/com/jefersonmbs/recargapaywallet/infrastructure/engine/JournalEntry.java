@@ -0,0 +1,34 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.engine;
+
+import br.com.jefersonmbs.recargapaywallet.domain.dto.IdempotencyRecord;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One applied balance change: becomes exactly one tb_transaction_history row. {@code walletId} is the wallet whose
+ * balance moved from {@code balanceBefore} to {@code balanceAfter}; a TRANSFER_OUT names the TRANSFER_IN that must
+ * follow it in {@code relatedTransactionId}. {@code idempotency}, when the command had an Idempotency-Key, is stored in
+ * the same database transaction as the history row.
+ */
+public record JournalEntry(long sequence, UUID transactionId, TransactionType type, UUID walletId, UUID sourceWalletId,
+                           UUID targetWalletId, BigDecimal amount, BigDecimal balanceBefore, BigDecimal balanceAfter,
+                           String description, String correlationId, UUID relatedTransactionId, LocalDateTime createdAt,
+                           IdempotencyRecord idempotency) {
+
+    public BigDecimal delta() {
+        return balanceAfter.subtract(balanceBefore);
+    }
+
+    JournalEntry withSequence(long sequence) {
+        return new JournalEntry(sequence, transactionId, type, walletId, sourceWalletId, targetWalletId, amount,
+            balanceBefore, balanceAfter, description, correlationId, relatedTransactionId, createdAt, idempotency);
+    }
+
+    JournalEntry withIdempotency(IdempotencyRecord idempotency) {
+        return new JournalEntry(sequence, transactionId, type, walletId, sourceWalletId, targetWalletId, amount,
+            balanceBefore, balanceAfter, description, correlationId, relatedTransactionId, createdAt, idempotency);
+    }
+}
\ No newline at end of file
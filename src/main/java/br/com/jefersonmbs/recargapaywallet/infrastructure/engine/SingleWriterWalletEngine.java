@@ -0,0 +1,508 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.engine;
+
+import br.com.jefersonmbs.recargapaywallet.domain.dto.IdempotencyRecord;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.IdempotencyKeyConflictException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InactiveWalletException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InsufficientBalanceException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletEngineProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletStripingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Single-writer execution engine: wallets are partitioned by id hash onto single-threaded executors that own their
+ * balances in memory, so commands on one wallet apply one after another without row locks.
+ * <p>
+ * A command is appended to the {@link CommandJournal} before its balance changes in memory, then a background flusher
+ * writes journaled entries to PostgreSQL in batches. A transfer debits on the source partition (TRANSFER_OUT), which
+ * then queues the credit on the target partition (TRANSFER_IN); journal segments holding a TRANSFER_OUT are kept until
+ * its TRANSFER_IN is journaled, and on startup every unpersisted entry is written and every unfinished credit re-applied.
+ * <p>
+ * A command with an Idempotency-Key is checked on the partition that owns the keyed wallet, and the key is journaled
+ * with the entry and flushed in the same transaction as the history row, so a retry can never apply it twice.
+ * <p>
+ * {@code wallet.engine.command-timeout} bounds how long a command may wait in its partition queue. A command that has
+ * not started by then is dropped and fails; a started one may already be journaled, so its caller waits for it.
+ * <p>
+ * When the journal fails, the engine stops taking commands: the failed entries may or may not be on disk, and only a
+ * restart that replays the journal brings the balances in memory and in the database back in line with it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "single-writer")
+public class SingleWriterWalletEngine {
+
+    private static final String SOURCE_WALLET_INACTIVE_MESSAGE = "Source wallet is not active for transfers";
+    private static final String TARGET_WALLET_INACTIVE_MESSAGE = "Target wallet is not active for transfers";
+    private static final String DEPOSIT_WALLET_INACTIVE_MESSAGE = "Target wallet is not active for deposits";
+    private static final String WITHDRAW_WALLET_INACTIVE_MESSAGE = "Source wallet is not active for withdrawals";
+
+    /**
+     * Outcome of a command; {@code transferIn} is only set for transfers whose credit was applied, a failed credit is
+     * re-applied from the journal on restart. {@code replayed} marks the outcome of an earlier command with the same
+     * Idempotency-Key. Only the identity fields of the wallet states (account number, user) may be read outside the
+     * owning partition.
+     */
+    public record Receipt(JournalEntry entry, JournalEntry transferIn, WalletState source, WalletState target,
+                          boolean replayed) {
+    }
+
+    /**
+     * Idempotency-Key of a command; {@code responseBody} renders the response stored under the key from the receipt.
+     */
+    public record IdempotentCommand(IdempotencyRecord record, Function<Receipt, String> responseBody) {
+    }
+
+    private record AppliedKey(String requestHash, Receipt receipt) {
+    }
+
+    // Claimed by the partition thread when the command starts, or by a caller that gave up before that
+    private record Pending<T>(CompletableFuture<T> result, AtomicBoolean claimed) {
+    }
+
+    private record Debit(Receipt receipt, CompletableFuture<JournalEntry> credit) {
+    }
+
+    private static final class Partition {
+
+        private final ExecutorService executor;
+        private final Map<UUID, WalletState> wallets = new HashMap<>();
+
+        private Partition(int index) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wallet-engine-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private final WalletEngineProperties engineProperties;
+    private final WalletStripingProperties stripingProperties;
+    private final CommandJournal journal;
+    private final WalletEnginePersister persister;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<JournalEntry> unflushed = new LinkedBlockingQueue<>();
+    private final ConcurrentSkipListSet<Long> openTransfers = new ConcurrentSkipListSet<>();
+    // Keys journaled but not flushed yet; the database answers for the others
+    private final Map<String, AppliedKey> appliedKeys = new ConcurrentHashMap<>();
+    private Partition[] partitions;
+    private Thread flusherThread;
+    private volatile boolean running;
+    private volatile long flushedSequence;
+
+    @PostConstruct
+    void start() {
+        if (stripingProperties.isEnabled()) {
+            // The engine owns whole balances; shard credits written behind its back would be invisible to it
+            throw new IllegalStateException("wallet.striping cannot be enabled together with the single-writer engine");
+        }
+        partitions = new Partition[Math.max(1, engineProperties.getPartitions())];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i);
+        }
+        Gauge.builder("wallet.engine.unflushed", unflushed, BlockingQueue::size).register(meterRegistry);
+
+        List<JournalEntry> pendingCredits = replay();
+
+        running = true;
+        flusherThread = new Thread(this::flushLoop, "wallet-engine-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+
+        for (JournalEntry transferOut : pendingCredits) {
+            join(dispatch(transferOut.targetWalletId(), partition -> credit(partition, transferOut)));
+        }
+        if (!pendingCredits.isEmpty()) {
+            log.info("Re-applied {} transfer credits interrupted by the last shutdown", pendingCredits.size());
+        }
+    }
+
+    public Receipt deposit(UUID targetWalletId, BigDecimal amount, String description, String correlationId,
+                           IdempotentCommand idempotency) {
+        return await(submit(targetWalletId, partition -> {
+            Receipt replayed = replayed(idempotency);
+            if (replayed != null) {
+                return replayed;
+            }
+            WalletState target = activeWallet(partition, targetWalletId, DEPOSIT_WALLET_INACTIVE_MESSAGE);
+            return applyOnce(target, entry(UUID.randomUUID(), TransactionType.DEPOSIT, target, null, targetWalletId,
+                amount, amount, description, correlationId, null), idempotency,
+                entry -> new Receipt(entry, null, null, target, false));
+        }));
+    }
+
+    public Receipt withdraw(UUID sourceWalletId, BigDecimal amount, String description, String correlationId,
+                            IdempotentCommand idempotency) {
+        return await(submit(sourceWalletId, partition -> {
+            Receipt replayed = replayed(idempotency);
+            if (replayed != null) {
+                return replayed;
+            }
+            WalletState source = activeWallet(partition, sourceWalletId, WITHDRAW_WALLET_INACTIVE_MESSAGE);
+            requireBalance(source, amount);
+            return applyOnce(source, entry(UUID.randomUUID(), TransactionType.WITHDRAWAL, source, sourceWalletId, null,
+                amount, amount.negate(), description, correlationId, null), idempotency,
+                entry -> new Receipt(entry, null, source, null, false));
+        }));
+    }
+
+    public Receipt transfer(UUID sourceWalletId, UUID targetWalletId, BigDecimal amount, String description, String correlationId,
+                            IdempotentCommand idempotency) {
+        WalletState target = await(submit(targetWalletId,
+            partition -> activeWallet(partition, targetWalletId, TARGET_WALLET_INACTIVE_MESSAGE)));
+
+        UUID transferInId = UUID.randomUUID();
+        Debit debit = await(submit(sourceWalletId, partition -> {
+            Receipt replayed = replayed(idempotency);
+            if (replayed != null) {
+                return new Debit(replayed, CompletableFuture.completedFuture(null));
+            }
+            WalletState source = activeWallet(partition, sourceWalletId, SOURCE_WALLET_INACTIVE_MESSAGE);
+            requireBalance(source, amount);
+            Receipt debited = applyOnce(source, entry(UUID.randomUUID(), TransactionType.TRANSFER_OUT, source,
+                sourceWalletId, targetWalletId, amount, amount.negate(), description, correlationId, transferInId), idempotency,
+                entry -> new Receipt(entry, null, source, target, false));
+            // Queued by the partition itself, so the credit follows the journaled debit whether or not a caller waits
+            CompletableFuture<JournalEntry> creditLeg = dispatch(targetWalletId,
+                targetPartition -> credit(targetPartition, debited.entry()));
+            return new Debit(debited, creditLeg);
+        }));
+
+        Receipt debited = debit.receipt();
+        try {
+            return new Receipt(debited.entry(), join(debit.credit()), debited.source(), target, debited.replayed());
+        } catch (RuntimeException e) {
+            // The debit is journaled, so the transfer succeeded; its TRANSFER_IN is re-applied from the journal on restart
+            log.error("Credit of transfer {} to wallet ID: {} failed, it is re-applied on restart: {}",
+                debited.entry().transactionId(), targetWalletId, e.getMessage());
+            return debited;
+        }
+    }
+
+    /**
+     * Updates the active flag of a wallet already loaded by its partition; unloaded wallets read it on first use.
+     */
+    public void setActive(UUID walletId, boolean active) {
+        join(dispatch(walletId, partition -> {
+            WalletState wallet = partition.wallets.get(walletId);
+            if (wallet != null) {
+                wallet.setActive(active);
+            }
+            return wallet;
+        }));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (Partition partition : partitions) {
+            partition.executor.shutdown();
+        }
+        for (Partition partition : partitions) {
+            partition.executor.awaitTermination(engineProperties.getCommandTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        running = false;
+        flusherThread.join(engineProperties.getCommandTimeout().toMillis());
+        if (!unflushed.isEmpty()) {
+            log.warn("Stopping with {} journaled entries not yet in the database; they are replayed on the next start", unflushed.size());
+        }
+    }
+
+    private List<JournalEntry> replay() {
+        List<JournalEntry> journaled = journal.recover();
+        if (journaled.isEmpty()) {
+            return List.of();
+        }
+
+        int batchSize = Math.max(1, engineProperties.getBatchSize());
+        int persisted = 0;
+        for (int from = 0; from < journaled.size(); from += batchSize) {
+            persisted += persister.persist(journaled.subList(from, Math.min(from + batchSize, journaled.size())));
+        }
+        flushedSequence = journaled.get(journaled.size() - 1).sequence();
+
+        Map<UUID, JournalEntry> unmatched = new HashMap<>();
+        for (JournalEntry entry : journaled) {
+            if (entry.type() == TransactionType.TRANSFER_OUT) {
+                unmatched.put(entry.relatedTransactionId(), entry);
+            } else if (entry.type() == TransactionType.TRANSFER_IN) {
+                unmatched.remove(entry.transactionId());
+            }
+        }
+        unmatched.keySet().removeAll(persister.existingTransactionIds(new ArrayList<>(unmatched.keySet())));
+        List<JournalEntry> pendingCredits = new ArrayList<>(unmatched.values());
+        pendingCredits.forEach(transferOut -> openTransfers.add(transferOut.sequence()));
+
+        log.info("Replayed {} journal entries, {} were missing from the database, {} transfer credits pending",
+            journaled.size(), persisted, pendingCredits.size());
+        return pendingCredits;
+    }
+
+    private JournalEntry credit(Partition partition, JournalEntry transferOut) {
+        // No active check: the money already left the source, so a wallet deactivated in between still receives it
+        WalletState target = wallet(partition, transferOut.targetWalletId());
+        JournalEntry transferIn = apply(target, entry(transferOut.relatedTransactionId(), TransactionType.TRANSFER_IN, target,
+            transferOut.sourceWalletId(), transferOut.targetWalletId(), transferOut.amount(), transferOut.amount(),
+            transferOut.description(), transferOut.correlationId(), transferOut.transactionId()));
+        openTransfers.remove(transferOut.sequence());
+        return transferIn;
+    }
+
+    private Receipt replayed(IdempotentCommand idempotency) {
+        if (idempotency == null) {
+            return null;
+        }
+        String key = idempotency.record().key();
+        AppliedKey applied = appliedKeys.get(key);
+        if (applied != null) {
+            if (!applied.requestHash().equals(idempotency.record().requestHash())) {
+                throw new IdempotencyKeyConflictException(key);
+            }
+            Receipt receipt = applied.receipt();
+            return new Receipt(receipt.entry(), receipt.transferIn(), receipt.source(), receipt.target(), true);
+        }
+        if (persister.idempotencyKeyExists(key)) {
+            // Flushed already; the idempotency service replays the stored response as for a concurrent commit
+            throw new DuplicateKeyException("Idempotency-Key " + key + " was already applied");
+        }
+        return null;
+    }
+
+    private Receipt applyOnce(WalletState wallet, JournalEntry entry, IdempotentCommand idempotency,
+                              Function<JournalEntry, Receipt> receipt) {
+        if (idempotency == null) {
+            return receipt.apply(apply(wallet, entry));
+        }
+        Receipt outcome = receipt.apply(entry);
+        IdempotencyRecord record = idempotency.record().withResponseBody(idempotency.responseBody().apply(outcome));
+        // Registered before the append: the flush that stores the key removes it, and must not get here first
+        appliedKeys.put(record.key(), new AppliedKey(record.requestHash(), outcome));
+        try {
+            return receipt.apply(apply(wallet, entry.withIdempotency(record)));
+        } catch (RuntimeException e) {
+            appliedKeys.remove(record.key());
+            throw e;
+        }
+    }
+
+    private JournalEntry apply(WalletState wallet, JournalEntry entry) {
+        JournalEntry journaled = journal.append(List.of(entry), this::enqueue).get(0);
+        wallet.setBalance(journaled.balanceAfter());
+        return journaled;
+    }
+
+    private void enqueue(JournalEntry entry) {
+        // Runs in sequence order once the entry is forced, before the flusher can see it or release its segment
+        if (entry.type() == TransactionType.TRANSFER_OUT) {
+            openTransfers.add(entry.sequence());
+        }
+        unflushed.add(entry);
+    }
+
+    private static JournalEntry entry(UUID transactionId, TransactionType type, WalletState wallet, UUID sourceWalletId,
+                                      UUID targetWalletId, BigDecimal amount, BigDecimal delta, String description,
+                                      String correlationId, UUID relatedTransactionId) {
+        return new JournalEntry(0, transactionId, type, wallet.getWalletId(), sourceWalletId, targetWalletId, amount,
+            wallet.getBalance(), wallet.getBalance().add(delta), description, correlationId, relatedTransactionId,
+            LocalDateTime.now(), null);
+    }
+
+    private WalletState activeWallet(Partition partition, UUID walletId, String inactiveMessage) {
+        WalletState wallet = wallet(partition, walletId);
+        if (!wallet.isActive()) {
+            throw new InactiveWalletException(inactiveMessage);
+        }
+        return wallet;
+    }
+
+    private WalletState wallet(Partition partition, UUID walletId) {
+        WalletState wallet = partition.wallets.get(walletId);
+        if (wallet == null) {
+            // First touch only: every later change to this wallet goes through this partition
+            wallet = persister.load(walletId)
+                .orElseThrow(() -> new WalletNotFoundException("Wallet not found with ID: " + walletId));
+            partition.wallets.put(walletId, wallet);
+        }
+        return wallet;
+    }
+
+    private static void requireBalance(WalletState wallet, BigDecimal amount) {
+        if (wallet.getBalance().compareTo(amount) < 0) {
+            throw new InsufficientBalanceException(wallet.getBalance(), amount);
+        }
+    }
+
+    private Partition partition(UUID walletId) {
+        return partitions[Math.floorMod(walletId.hashCode(), partitions.length)];
+    }
+
+    // For commands a caller may give up on while they are still queued
+    private <T> Pending<T> submit(UUID walletId, Function<Partition, T> command) {
+        if (journal.isFailed()) {
+            throw halted();
+        }
+        Partition partition = partition(walletId);
+        Pending<T> pending = new Pending<>(new CompletableFuture<>(), new AtomicBoolean());
+        partition.executor.execute(() -> {
+            if (!pending.claimed().compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                pending.result().complete(command.apply(partition));
+            } catch (Throwable e) {
+                pending.result().completeExceptionally(e);
+            }
+        });
+        return pending;
+    }
+
+    // For commands that must run once queued, such as the credit leg of a journaled debit
+    private <T> CompletableFuture<T> dispatch(UUID walletId, Function<Partition, T> command) {
+        if (journal.isFailed()) {
+            return CompletableFuture.failedFuture(halted());
+        }
+        Partition partition = partition(walletId);
+        try {
+            return CompletableFuture.supplyAsync(() -> command.apply(partition), partition.executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T await(Pending<T> pending) {
+        try {
+            return pending.result().get(engineProperties.getCommandTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        } catch (TimeoutException e) {
+            if (pending.claimed().compareAndSet(false, true)) {
+                throw new IllegalStateException("Wallet engine command timed out before it started", e);
+            }
+        } catch (InterruptedException e) {
+            if (pending.claimed().compareAndSet(false, true)) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the wallet engine", e);
+            }
+            Thread.currentThread().interrupt();
+        }
+        // Already started, and possibly journaled: reporting a failure now would invite a retry that applies it twice
+        return join(pending.result());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw failure(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static IllegalStateException halted() {
+        return new IllegalStateException("Wallet engine stopped after a journal failure; restart it to replay the journal");
+    }
+
+    private static RuntimeException failure(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtimeException
+            ? runtimeException
+            : new IllegalStateException(e.getCause());
+    }
+
+    private void flushLoop() {
+        int batchSize = Math.max(1, engineProperties.getBatchSize());
+        long flushIntervalNanos = engineProperties.getFlushInterval().toNanos();
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+
+        while (running || !unflushed.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    JournalEntry next = unflushed.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        continue;
+                    }
+                    batch.add(next);
+                }
+                unflushed.drainTo(batch, batchSize - batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                persister.persist(batch);
+            } catch (RuntimeException e) {
+                // The batch stays journaled; keep it and try again instead of reordering later entries ahead of it
+                log.error("Failed to flush {} journaled entries, retrying: {}", batch.size(), e.getMessage());
+                if (!running) {
+                    return;
+                }
+                pause(flushIntervalNanos);
+                continue;
+            }
+
+            flushedSequence = batch.get(batch.size() - 1).sequence();
+            batch.stream()
+                .map(JournalEntry::idempotency)
+                .filter(Objects::nonNull)
+                .forEach(idempotency -> appliedKeys.remove(idempotency.key()));
+            release();
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void release() {
+        Long oldestOpenTransfer = openTransfers.ceiling(Long.MIN_VALUE);
+        journal.release(oldestOpenTransfer == null ? flushedSequence : Math.min(flushedSequence, oldestOpenTransfer - 1));
+    }
+
+    private static void pause(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.engine;
+
+import br.com.jefersonmbs.recargapaywallet.domain.dto.IdempotencyRecord;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.IdempotencyKeyRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Database side of the single-writer engine: loads wallet state and writes journaled entries back to
+ * tb_transaction_history, tb_wallet_ledger, tb_wallets and tb_idempotency_keys.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.engine.mode", havingValue = "single-writer")
+public class WalletEnginePersister {
+
+    private static final String LOAD_SQL =
+        "SELECT w.id, w.account_number, u.id, u.cpf, u.name, w.active AND u.active, " +
+        "w.balance + COALESCE((SELECT SUM(s.balance) FROM tb_wallet_balance_shards s WHERE s.wallet_id = w.id), 0) " +
+        "FROM tb_wallets w JOIN tb_users u ON u.id = w.user_id WHERE w.id = ?";
+
+    private static final String INSERT_HISTORY_SQL =
+        "INSERT INTO tb_transaction_history (id, type, amount, source_wallet_id, target_wallet_id, description, " +
+        "balance_before_transaction, balance_after_transaction, status, created_at, correlation_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'COMPLETED', ?, ?)";
+
+    private static final String INSERT_LEDGER_SQL =
+        "INSERT INTO tb_wallet_ledger (id, wallet_id, transaction_id, type, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_IDEMPOTENCY_KEY_SQL =
+        "INSERT INTO tb_idempotency_keys (idempotency_key, operation, request_hash, response_body, created_at) " +
+        "VALUES (?, ?, ?, ?, ?) ON CONFLICT (idempotency_key) DO NOTHING";
+
+    // Deltas rather than absolute balances, so a replayed or concurrent write can never clobber a newer balance
+    private static final String APPLY_DELTA_SQL =
+        "UPDATE tb_wallets SET balance = balance + ?, version = version + 1, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionHistoryRepository transactionHistoryRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    public Optional<WalletState> load(UUID walletId) {
+        return jdbcTemplate.query(LOAD_SQL, rs -> rs.next()
+            ? Optional.of(new WalletState(rs.getObject(1, UUID.class), rs.getLong(2), rs.getLong(3), rs.getString(4),
+                rs.getString(5), rs.getBigDecimal(7), rs.getBoolean(6)))
+            : Optional.empty(), walletId);
+    }
+
+    /**
+     * Writes the entries that are not in tb_transaction_history yet, in one transaction. Entries already there were
+     * persisted before a crash cut the journal release short, so their deltas are not applied twice.
+     */
+    public int persist(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Integer persisted = transactionTemplate.execute(status -> {
+            Set<UUID> existing = new HashSet<>(transactionHistoryRepository.findExistingIds(
+                entries.stream().map(JournalEntry::transactionId).toList()));
+            List<JournalEntry> fresh = entries.stream()
+                .filter(entry -> !existing.contains(entry.transactionId()))
+                .toList();
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+
+            List<Object[]> historyArgs = new ArrayList<>(fresh.size());
+            List<Object[]> ledgerArgs = new ArrayList<>(fresh.size());
+            List<Object[]> idempotencyArgs = new ArrayList<>();
+            SortedMap<UUID, BigDecimal> deltas = new TreeMap<>();
+            for (JournalEntry entry : fresh) {
+                Timestamp createdAt = Timestamp.valueOf(entry.createdAt());
+                historyArgs.add(new Object[]{entry.transactionId(), entry.type().name(), entry.amount(),
+                    entry.sourceWalletId(), entry.targetWalletId(), entry.description(), entry.balanceBefore(),
+                    entry.balanceAfter(), createdAt, entry.correlationId()});
+                ledgerArgs.add(new Object[]{UUID.randomUUID(), entry.walletId(), entry.transactionId(), entry.type().name(), createdAt});
+                deltas.merge(entry.walletId(), entry.delta(), BigDecimal::add);
+                IdempotencyRecord idempotency = entry.idempotency();
+                if (idempotency != null) {
+                    idempotencyArgs.add(new Object[]{idempotency.key(), idempotency.operation(), idempotency.requestHash(),
+                        idempotency.responseBody(), createdAt});
+                }
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, historyArgs);
+            jdbcTemplate.batchUpdate(INSERT_LEDGER_SQL, ledgerArgs);
+            if (!idempotencyArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_IDEMPOTENCY_KEY_SQL, idempotencyArgs);
+            }
+
+            // Sorted by wallet id, the lock order every other balance writer uses
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> deltaArgs = new ArrayList<>(deltas.size());
+            deltas.forEach((walletId, delta) -> deltaArgs.add(new Object[]{delta, now, walletId}));
+            jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, deltaArgs);
+            return fresh.size();
+        });
+        return persisted == null ? 0 : persisted;
+    }
+
+    public Set<UUID> existingTransactionIds(List<UUID> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(transactionHistoryRepository.findExistingIds(transactionIds));
+    }
+
+    public boolean idempotencyKeyExists(String key) {
+        return idempotencyKeyRepository.existsById(key);
+    }
+}
\ No newline at end of file
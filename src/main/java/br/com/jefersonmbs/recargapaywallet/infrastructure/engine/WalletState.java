@@ -0,0 +1,37 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.engine;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * In-memory view of one wallet, owned by exactly one engine partition thread.
+ */
+@Getter
+public final class WalletState {
+
+    private final UUID walletId;
+    private final Long accountNumber;
+    private final Long userId;
+    private final String userCpf;
+    private final String userName;
+
+    @Setter
+    private BigDecimal balance;
+
+    @Setter
+    private boolean active;
+
+    public WalletState(UUID walletId, Long accountNumber, Long userId, String userCpf, String userName,
+                       BigDecimal balance, boolean active) {
+        this.walletId = walletId;
+        this.accountNumber = accountNumber;
+        this.userId = userId;
+        this.userCpf = userCpf;
+        this.userName = userName;
+        this.balance = balance;
+        this.active = active;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.idempotency;
+
+import br.com.jefersonmbs.recargapaywallet.domain.repository.IdempotencyKeyRepository;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletIdempotencyProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyPurgeJob implements SchedulingConfigurer {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletIdempotencyProperties idempotencyProperties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::purge, idempotencyProperties.getPurgeInterval());
+    }
+
+    void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(idempotencyProperties.getRetention());
+        try {
+            Integer deleted = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteCreatedBefore(cutoff));
+            log.info("Purged {} idempotency keys created before {}", deleted, cutoff);
+        } catch (DataAccessException e) {
+            log.error("Idempotency key purge failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
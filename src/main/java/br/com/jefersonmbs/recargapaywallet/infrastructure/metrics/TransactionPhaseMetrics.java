@@ -0,0 +1,100 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.metrics;
+
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletDomainException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits each strategy execution into phases and records them as {@code wallet.transaction.phase} timers tagged by
+ * strategy, phase and outcome, plus the end-to-end {@code wallet.transaction.execution} timer. Phase durations are
+ * buffered until the execution finishes, because the outcome tag is only known at that point. Percentiles and
+ * histograms are configured under {@code management.metrics.distribution}.
+ */
+@Component
+public class TransactionPhaseMetrics {
+
+    public enum Phase {
+        VALIDATION("validation"),
+        LOOKUP("lookup"),
+        LOCK("lock"),
+        AUDIT("audit"),
+        BALANCE_UPDATE("balance_update"),
+        HISTORY_INSERT("history_insert");
+
+        private static final Phase[] VALUES = values();
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Meter.MeterProvider<Timer> phaseTimers;
+    private final Meter.MeterProvider<Timer> executionTimers;
+
+    public TransactionPhaseMetrics(MeterRegistry meterRegistry) {
+        this.phaseTimers = Timer.builder("wallet.transaction.phase")
+            .description("Time spent in each phase of a transaction strategy execution")
+            .withRegistry(meterRegistry);
+        this.executionTimers = Timer.builder("wallet.transaction.execution")
+            .description("End-to-end time of a transaction strategy execution")
+            .withRegistry(meterRegistry);
+    }
+
+    public Recorder start(String strategy) {
+        return new Recorder(strategy);
+    }
+
+    public final class Recorder {
+
+        private final String strategy;
+        private final long startedAt;
+        private final long[] elapsed = new long[Phase.VALUES.length];
+        private int visited;
+        private long lastMark;
+
+        private Recorder(String strategy) {
+            this.strategy = strategy;
+            this.startedAt = System.nanoTime();
+            this.lastMark = startedAt;
+        }
+
+        /**
+         * Attributes the time since the previous mark to {@code phase}, so a phase is marked when it ends and any
+         * untimed work before it is booked with it. Strategies rely on this in two places: in-memory checks on the
+         * loaded wallets count towards the start audit that follows them, and after an exception the step that
+         * failed is marked first, so that only the failure audit is booked as {@link Phase#AUDIT}.
+         */
+        public void mark(Phase phase) {
+            long now = System.nanoTime();
+            elapsed[phase.ordinal()] += now - lastMark;
+            visited |= 1 << phase.ordinal();
+            lastMark = now;
+        }
+
+        public void success() {
+            finish("success");
+        }
+
+        public void failure(Throwable ex) {
+            finish(ex instanceof WalletDomainException || ex instanceof IllegalArgumentException ? "rejected" : "error");
+        }
+
+        private void finish(String outcome) {
+            long now = System.nanoTime();
+            for (Phase phase : Phase.VALUES) {
+                if ((visited & (1 << phase.ordinal())) != 0) {
+                    phaseTimers.withTags("strategy", strategy, "phase", phase.tag, "outcome", outcome)
+                        .record(elapsed[phase.ordinal()], TimeUnit.NANOSECONDS);
+                }
+            }
+            executionTimers.withTags("strategy", strategy, "outcome", outcome)
+                .record(now - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
\ No newline at end of file
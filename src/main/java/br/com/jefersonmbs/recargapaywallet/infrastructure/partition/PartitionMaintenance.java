@@ -0,0 +1,65 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Detaches the monthly partitions of a table whose whole range is older than the retention. Statements run in
+ * autocommit: DETACH CONCURRENTLY cannot run inside a transaction block.
+ */
+@Slf4j
+final class PartitionMaintenance {
+
+    private static final String LIST_PARTITIONS_SQL =
+        "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid), i.inhdetachpending " +
+        "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+        "WHERE i.inhparent = ?::regclass";
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    record Partition(String name, String bound, boolean detachPending) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    PartitionMaintenance(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the latest upper bound among the detached partitions, or null when none expired.
+     */
+    LocalDateTime detachExpired(String parentTable, int retentionMonths) {
+        LocalDateTime cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths).atStartOfDay();
+        List<Partition> partitions = jdbcTemplate.query(LIST_PARTITIONS_SQL,
+            (rs, rowNum) -> new Partition(rs.getString(1), rs.getString(2), rs.getBoolean(3)), parentTable);
+
+        LocalDateTime detachedUpTo = null;
+        for (Partition partition : partitions) {
+            LocalDateTime upperBound = upperBound(partition.bound());
+            if (upperBound == null || upperBound.isAfter(cutoff)) {
+                continue;
+            }
+            // A pending detach was interrupted mid-way and can only be finished, not restarted
+            String mode = partition.detachPending() ? "FINALIZE" : "CONCURRENTLY";
+            jdbcTemplate.execute("ALTER TABLE " + parentTable + " DETACH PARTITION \"" + partition.name() + "\" " + mode);
+            log.info("Detached partition {} of {} (rows before {})", partition.name(), parentTable, upperBound);
+            if (detachedUpTo == null || upperBound.isAfter(detachedUpTo)) {
+                detachedUpTo = upperBound;
+            }
+        }
+        return detachedUpTo;
+    }
+
+    private static LocalDateTime upperBound(String bound) {
+        Matcher matcher = UPPER_BOUND.matcher(bound);
+        return matcher.find() ? LocalDateTime.parse(matcher.group(1), BOUND_FORMAT) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.partition;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity.OperationType;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity.TransactionStatus;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.audit.AuditArchive;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditPartitionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps monthly partitions of tb_transaction_audit created ahead of time. With a retention set, expired partitions
+ * are detached concurrently, exported to the {@link AuditArchive} and dropped only once their archive is verified.
+ * A partition left detached by an interrupted run is picked up again on the next one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.audit-partitions.enabled", havingValue = "true")
+public class TransactionAuditPartitionJob implements SchedulingConfigurer {
+
+    private static final String CREATE_PARTITIONS_SQL = "SELECT create_transaction_audit_partitions(?)";
+    private static final String AUDIT_TABLE = "tb_transaction_audit";
+    // Once detached, a partition is a plain table again under the name it had
+    private static final String DETACHED_PARTITIONS_SQL =
+        "SELECT c.relname FROM pg_class c WHERE c.relkind = 'r' AND NOT c.relispartition " +
+        "AND c.relnamespace = current_schema()::regnamespace " +
+        "AND c.relname ~ '^tb_transaction_audit_(legacy|[0-9]{4}_[0-9]{2})$' ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditArchive auditArchive;
+    private final WalletAuditPartitionProperties partitionProperties;
+    private final PartitionMaintenance partitionMaintenance;
+
+    public TransactionAuditPartitionJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                        AuditArchive auditArchive, WalletAuditPartitionProperties partitionProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.auditArchive = auditArchive;
+        this.partitionProperties = partitionProperties;
+        this.partitionMaintenance = new PartitionMaintenance(jdbcTemplate);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::maintain, partitionProperties.getMaintenanceInterval());
+    }
+
+    void maintain() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(CREATE_PARTITIONS_SQL, Integer.class, partitionProperties.getMonthsAhead());
+            if (created != null && created > 0) {
+                log.info("Created {} transaction audit partitions", created);
+            }
+            if (partitionProperties.getRetentionMonths() > 0) {
+                partitionMaintenance.detachExpired(AUDIT_TABLE, partitionProperties.getRetentionMonths());
+                archiveDetached();
+            }
+        } catch (DataAccessException e) {
+            log.error("Transaction audit partition maintenance failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    private void archiveDetached() {
+        List<String> detached = jdbcTemplate.queryForList(DETACHED_PARTITIONS_SQL, String.class);
+        for (String table : detached) {
+            try {
+                archive(table);
+            } catch (RuntimeException e) {
+                log.error("Failed to archive audit partition {}, it stays in the database for the next run: {}",
+                    table, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void archive(String table) {
+        long archived = auditArchive.write(table, sink -> transactionTemplate.executeWithoutResult(status -> {
+            // Runs in a transaction so the driver streams rows by fetch size instead of loading the partition
+            RowCallbackHandler exportRow = rs -> sink.accept(toAuditEntity(rs));
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement("SELECT * FROM \"" + table + "\"");
+                ps.setFetchSize(partitionProperties.getExportFetchSize());
+                return ps;
+            }, exportRow);
+        }));
+        jdbcTemplate.execute("DROP TABLE \"" + table + "\"");
+        log.info("Dropped audit partition {} after archiving {} records", table, archived);
+    }
+
+    private static TransactionAuditEntity toAuditEntity(ResultSet rs) throws SQLException {
+        return TransactionAuditEntity.builder()
+            .id(rs.getObject("id", UUID.class))
+            .transactionId(rs.getObject("transaction_id", UUID.class))
+            .walletId(rs.getObject("wallet_id", UUID.class))
+            .userId(rs.getLong("user_id"))
+            .operationType(OperationType.valueOf(rs.getString("operation_type")))
+            .amount(rs.getBigDecimal("amount"))
+            .balanceBefore(rs.getBigDecimal("balance_before"))
+            .balanceAfter(rs.getBigDecimal("balance_after"))
+            .status(TransactionStatus.valueOf(rs.getString("transaction_status")))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .createdBy(rs.getString("created_by"))
+            .originIp(rs.getString("origin_ip"))
+            .userAgent(rs.getString("user_agent"))
+            .sessionId(rs.getString("session_id"))
+            .correlationId(rs.getString("correlation_id"))
+            .description(rs.getString("description"))
+            .metadata(rs.getString("metadata"))
+            .build();
+    }
+}
\ No newline at end of file
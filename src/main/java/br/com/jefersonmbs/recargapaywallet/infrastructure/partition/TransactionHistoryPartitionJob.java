@@ -0,0 +1,78 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.partition;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletHistoryPartitionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps monthly partitions of tb_transaction_history created ahead of time and, when a retention is set, detaches
+ * the expired ones with DETACH CONCURRENTLY so inserts and reads are never blocked. Detached partitions stay in the
+ * database as plain tables to be archived or dropped.
+ * <p>
+ * Runs outside any transaction: DETACH CONCURRENTLY cannot run inside a transaction block.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.history-partitions.enabled", havingValue = "true")
+public class TransactionHistoryPartitionJob implements SchedulingConfigurer {
+
+    private static final String CREATE_PARTITIONS_SQL = "SELECT create_transaction_history_partitions(?)";
+    private static final String PURGE_LEDGER_SQL =
+        "DELETE FROM tb_wallet_ledger WHERE id IN (SELECT id FROM tb_wallet_ledger WHERE created_at < ? LIMIT ?)";
+    private static final String HISTORY_TABLE = "tb_transaction_history";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WalletHistoryPartitionProperties partitionProperties;
+    private final PartitionMaintenance partitionMaintenance;
+
+    public TransactionHistoryPartitionJob(JdbcTemplate jdbcTemplate, WalletHistoryPartitionProperties partitionProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionProperties = partitionProperties;
+        this.partitionMaintenance = new PartitionMaintenance(jdbcTemplate);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::maintain, partitionProperties.getMaintenanceInterval());
+    }
+
+    void maintain() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(CREATE_PARTITIONS_SQL, Integer.class, partitionProperties.getMonthsAhead());
+            if (created != null && created > 0) {
+                log.info("Created {} transaction history partitions", created);
+            }
+            if (partitionProperties.getRetentionMonths() > 0) {
+                detachExpired();
+            }
+        } catch (DataAccessException e) {
+            log.error("Transaction history partition maintenance failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    private void detachExpired() {
+        LocalDateTime detachedUpTo = partitionMaintenance.detachExpired(HISTORY_TABLE, partitionProperties.getRetentionMonths());
+        if (detachedUpTo != null) {
+            purgeLedger(detachedUpTo);
+        }
+    }
+
+    private void purgeLedger(LocalDateTime before) {
+        // Ledger rows of detached history would page and count transactions the history can no longer show
+        int batchSize = partitionProperties.getLedgerPurgeBatchSize();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_LEDGER_SQL, before, batchSize);
+            purged += deleted;
+        } while (deleted >= batchSize);
+        log.info("Purged {} wallet ledger rows created before {}", purged, before);
+    }
+}
\ No newline at end of file
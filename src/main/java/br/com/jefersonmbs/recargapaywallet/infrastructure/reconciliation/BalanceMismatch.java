@@ -0,0 +1,22 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.reconciliation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A wallet whose stored balance differs from the sum of its completed history. The divergent transaction is the
+ * first one whose recorded balance before does not match the history replayed up to it; it is null when every
+ * transaction agrees and the balance drifted after the last of them.
+ */
+public record BalanceMismatch(
+    UUID walletId,
+    BigDecimal actualBalance,
+    BigDecimal expectedBalance,
+    BigDecimal difference,
+    UUID firstDivergentTransactionId,
+    LocalDateTime firstDivergentAt,
+    BigDecimal recordedBalanceBefore,
+    BigDecimal expectedBalanceBefore
+) {
+}
\ No newline at end of file
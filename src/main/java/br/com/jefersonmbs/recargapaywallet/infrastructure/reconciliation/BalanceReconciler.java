@@ -0,0 +1,298 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.reconciliation;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletHistoryPartitionProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletReconciliationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks every wallet balance against its completed transaction history. Wallets are walked in key ranges of
+ * {@code wallet.reconciliation.range-size}; each range is handed to a dedicated fork-join pool and reconciled by one
+ * aggregate query, so a range is compared within a single snapshot. Only wallets that disagree have their history
+ * replayed, in order, to find the first transaction whose recorded balance before does not match.
+ * <p>
+ * Workers sleep after each range so that their share of time spent in queries stays within
+ * {@code wallet.reconciliation.db-load-budget}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "wallet.reconciliation.enabled", havingValue = "true")
+public class BalanceReconciler implements SchedulingConfigurer {
+
+    // Wallet ids are random UUIDs, so the nil UUID never belongs to a wallet and opens the first range
+    private static final UUID FIRST_RANGE_START = new UUID(0L, 0L);
+
+    private static final String COUNT_WALLETS_SQL = "SELECT count(*) FROM tb_wallets";
+    private static final String NEXT_RANGE_SQL =
+        "SELECT max(id) AS range_end, count(*) AS wallets FROM " +
+        "(SELECT id FROM tb_wallets WHERE id > ? ORDER BY id LIMIT ?) r";
+
+    // Transfers count once, through their TRANSFER_OUT row: it debits the source and credits the target, and the
+    // TRANSFER_IN row written by disbursements and the engine only mirrors the credit
+    private static final String RANGE_SQL =
+        "WITH movements AS (" +
+        "    SELECT target_wallet_id AS wallet_id, amount AS delta FROM tb_transaction_history" +
+        "    WHERE status = 'COMPLETED' AND type IN ('DEPOSIT', 'TRANSFER_OUT')" +
+        "      AND target_wallet_id > ? AND target_wallet_id <= ?" +
+        "    UNION ALL" +
+        "    SELECT source_wallet_id, -amount FROM tb_transaction_history" +
+        "    WHERE status = 'COMPLETED' AND type IN ('WITHDRAWAL', 'TRANSFER_OUT')" +
+        "      AND source_wallet_id > ? AND source_wallet_id <= ?" +
+        "), expected AS (" +
+        "    SELECT wallet_id, sum(delta) AS balance FROM movements GROUP BY wallet_id" +
+        "), shards AS (" +
+        "    SELECT wallet_id, sum(balance) AS balance FROM tb_wallet_balance_shards" +
+        "    WHERE wallet_id > ? AND wallet_id <= ? GROUP BY wallet_id" +
+        ") " +
+        "SELECT w.id, w.balance + coalesce(s.balance, 0) AS actual, coalesce(e.balance, 0) AS expected " +
+        "FROM tb_wallets w " +
+        "LEFT JOIN shards s ON s.wallet_id = w.id " +
+        "LEFT JOIN expected e ON e.wallet_id = w.id " +
+        "WHERE w.id > ? AND w.id <= ? AND w.balance + coalesce(s.balance, 0) <> coalesce(e.balance, 0)";
+
+    // A TRANSFER_OUT records the source's balances, so its credit is replayed with the balance before of the
+    // TRANSFER_IN mirroring it. History has no link between the two rows: they are paired by source, amount and
+    // correlation id in creation order, and a transfer without a TRANSFER_IN (JPA transfers) has no balance before
+    private static final String WALLET_HISTORY_SQL =
+        "SELECT id, created_at, delta, balance_before FROM (" +
+        "    SELECT id, created_at, amount AS delta, balance_before_transaction AS balance_before" +
+        "    FROM tb_transaction_history WHERE status = 'COMPLETED' AND type = 'DEPOSIT' AND target_wallet_id = ?" +
+        "    UNION ALL" +
+        "    SELECT id, created_at, -amount, balance_before_transaction FROM tb_transaction_history" +
+        "    WHERE status = 'COMPLETED' AND type IN ('WITHDRAWAL', 'TRANSFER_OUT') AND source_wallet_id = ?" +
+        "    UNION ALL" +
+        "    SELECT coalesce(i.id, o.id), coalesce(i.created_at, o.created_at), o.amount, i.balance_before_transaction" +
+        "    FROM (" +
+        "        SELECT id, created_at, amount, source_wallet_id, correlation_id, row_number() OVER (" +
+        "            PARTITION BY source_wallet_id, amount, correlation_id ORDER BY created_at, id) AS seq" +
+        "        FROM tb_transaction_history WHERE status = 'COMPLETED' AND type = 'TRANSFER_OUT' AND target_wallet_id = ?" +
+        "    ) o LEFT JOIN (" +
+        "        SELECT id, created_at, balance_before_transaction, amount, source_wallet_id, correlation_id, row_number() OVER (" +
+        "            PARTITION BY source_wallet_id, amount, correlation_id ORDER BY created_at, id) AS seq" +
+        "        FROM tb_transaction_history WHERE status = 'COMPLETED' AND type = 'TRANSFER_IN' AND target_wallet_id = ?" +
+        "    ) i ON i.source_wallet_id = o.source_wallet_id AND i.amount = o.amount" +
+        "      AND i.correlation_id IS NOT DISTINCT FROM o.correlation_id AND i.seq = o.seq" +
+        ") h ORDER BY created_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletReconciliationProperties properties;
+    private final Timer rangeTimer;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong walletsTotal = new AtomicLong();
+    private final AtomicLong walletsChecked = new AtomicLong();
+    private final AtomicLong mismatchCount = new AtomicLong();
+    private final AtomicReference<ReconciliationReport> lastReport = new AtomicReference<>();
+
+    public BalanceReconciler(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             WalletReconciliationProperties properties,
+                             WalletHistoryPartitionProperties historyPartitionProperties, MeterRegistry meterRegistry) {
+        if (historyPartitionProperties.isEnabled() && historyPartitionProperties.getRetentionMonths() > 0) {
+            throw new IllegalStateException(
+                "Balance reconciliation needs the full transaction history; disable wallet.history-partitions.retention-months");
+        }
+        if (properties.getDbLoadBudget() <= 0 || properties.getDbLoadBudget() > 1) {
+            throw new IllegalStateException("wallet.reconciliation.db-load-budget must be greater than 0 and at most 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.rangeTimer = Timer.builder("wallet.reconciliation.range")
+            .description("Time spent reconciling one key range of wallets")
+            .register(meterRegistry);
+        Gauge.builder("wallet.reconciliation.wallets.total", walletsTotal, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("wallet.reconciliation.wallets.checked", walletsChecked, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("wallet.reconciliation.mismatches", mismatchCount, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("wallet.reconciliation.running", running, flag -> flag.get() ? 1 : 0).register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::run, properties.getInterval(), properties.getInterval()));
+    }
+
+    void run() {
+        try {
+            reconcile();
+        } catch (DataAccessException | IllegalStateException e) {
+            log.error("Balance reconciliation failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A balance reconciliation is already running");
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        Queue<BalanceMismatch> reported = new ConcurrentLinkedQueue<>();
+        ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+        try {
+            walletsChecked.set(0);
+            mismatchCount.set(0);
+            walletsTotal.set(jdbcTemplate.queryForObject(COUNT_WALLETS_SQL, Long.class));
+
+            // Ranges are read just ahead of the workers instead of listing every wallet id up front
+            Deque<ForkJoinTask<?>> inFlight = new ArrayDeque<>();
+            UUID rangeStart = FIRST_RANGE_START;
+            KeyRange range;
+            while ((range = nextRange(rangeStart)) != null) {
+                if (inFlight.size() >= properties.getParallelism() * 2) {
+                    inFlight.removeFirst().join();
+                }
+                KeyRange submitted = range;
+                inFlight.addLast(pool.submit(() -> reconcileRange(submitted, reported)));
+                rangeStart = range.end();
+            }
+            inFlight.forEach(ForkJoinTask::join);
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+
+        List<BalanceMismatch> mismatches = new ArrayList<>(reported);
+        mismatches.sort(Comparator.comparing(BalanceMismatch::walletId));
+        ReconciliationReport report = new ReconciliationReport(startedAt, LocalDateTime.now(), walletsChecked.get(),
+            mismatchCount.get(), mismatches);
+        lastReport.set(report);
+        log.info("Balance reconciliation checked {} wallets in {} and found {} mismatches", report.walletsChecked(),
+            Duration.between(report.startedAt(), report.finishedAt()), report.mismatchCount());
+        return report;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long getWalletsTotal() {
+        return walletsTotal.get();
+    }
+
+    public long getWalletsChecked() {
+        return walletsChecked.get();
+    }
+
+    public long getMismatchCount() {
+        return mismatchCount.get();
+    }
+
+    public ReconciliationReport getLastReport() {
+        return lastReport.get();
+    }
+
+    private KeyRange nextRange(UUID rangeStart) {
+        return jdbcTemplate.queryForObject(NEXT_RANGE_SQL, (rs, rowNum) -> {
+            UUID rangeEnd = rs.getObject("range_end", UUID.class);
+            return rangeEnd == null ? null : new KeyRange(rangeStart, rangeEnd, rs.getLong("wallets"));
+        }, rangeStart, properties.getRangeSize());
+    }
+
+    private void reconcileRange(KeyRange range, Queue<BalanceMismatch> reported) {
+        long startedAt = System.nanoTime();
+        List<WalletBalance> drifted = jdbcTemplate.query(RANGE_SQL,
+            (rs, rowNum) -> new WalletBalance(rs.getObject("id", UUID.class), rs.getBigDecimal("actual"), rs.getBigDecimal("expected")),
+            range.start(), range.end(), range.start(), range.end(), range.start(), range.end(), range.start(), range.end());
+
+        for (WalletBalance wallet : drifted) {
+            if (mismatchCount.incrementAndGet() > properties.getMaxReportedMismatches()) {
+                log.warn("Wallet {} balance {} does not match its history total {}", wallet.walletId(),
+                    wallet.actual(), wallet.expected());
+                continue;
+            }
+            BalanceMismatch mismatch = locateDivergence(wallet);
+            reported.add(mismatch);
+            log.warn("Wallet {} balance {} does not match its history total {}, first divergent transaction {} at {}",
+                mismatch.walletId(), mismatch.actualBalance(), mismatch.expectedBalance(),
+                mismatch.firstDivergentTransactionId(), mismatch.firstDivergentAt());
+        }
+
+        long busyNanos = System.nanoTime() - startedAt;
+        rangeTimer.record(busyNanos, TimeUnit.NANOSECONDS);
+        walletsChecked.addAndGet(range.wallets());
+        pause(throttleDelayNanos(busyNanos, properties.getDbLoadBudget()));
+    }
+
+    private BalanceMismatch locateDivergence(WalletBalance wallet) {
+        UUID walletId = wallet.walletId();
+        // Runs in a transaction so the driver streams the history by fetch size instead of loading all of it
+        return transactionTemplate.execute(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(WALLET_HISTORY_SQL);
+            ps.setFetchSize(properties.getHistoryFetchSize());
+            ps.setObject(1, walletId);
+            ps.setObject(2, walletId);
+            ps.setObject(3, walletId);
+            ps.setObject(4, walletId);
+            return ps;
+        }, rs -> {
+            BigDecimal replayed = BigDecimal.ZERO;
+            while (rs.next()) {
+                BigDecimal recordedBefore = rs.getBigDecimal("balance_before");
+                if (recordedBefore != null && recordedBefore.compareTo(replayed) != 0) {
+                    return mismatch(wallet, rs.getObject("id", UUID.class), rs.getObject("created_at", LocalDateTime.class),
+                        recordedBefore, replayed);
+                }
+                replayed = replayed.add(rs.getBigDecimal("delta"));
+            }
+            return mismatch(wallet, null, null, null, null);
+        }));
+    }
+
+    private static BalanceMismatch mismatch(WalletBalance wallet, UUID transactionId, LocalDateTime createdAt,
+                                            BigDecimal recordedBefore, BigDecimal expectedBefore) {
+        return new BalanceMismatch(wallet.walletId(), wallet.actual(), wallet.expected(),
+            wallet.actual().subtract(wallet.expected()), transactionId, createdAt, recordedBefore, expectedBefore);
+    }
+
+    /**
+     * Idle time that brings {@code busyNanos} of query time down to {@code budget} of the worker's wall time.
+     */
+    static long throttleDelayNanos(long busyNanos, double budget) {
+        return budget >= 1 ? 0 : (long) (busyNanos * (1 - budget) / budget);
+    }
+
+    private static void pause(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record KeyRange(UUID start, UUID end, long wallets) {
+    }
+
+    private record WalletBalance(UUID walletId, BigDecimal actual, BigDecimal expected) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.reconciliation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/reconciliation}: progress of the current run and the report of the last finished one. A POST
+ * starts a run in the background unless one is already in progress.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.reconciliation.enabled", havingValue = "true")
+public class ReconciliationEndpoint {
+
+    private final BalanceReconciler balanceReconciler;
+
+    public record Status(boolean running, long walletsTotal, long walletsChecked, long mismatches,
+                         ReconciliationReport lastReport) {
+    }
+
+    @ReadOperation
+    public Status status() {
+        return new Status(balanceReconciler.isRunning(), balanceReconciler.getWalletsTotal(),
+            balanceReconciler.getWalletsChecked(), balanceReconciler.getMismatchCount(), balanceReconciler.getLastReport());
+    }
+
+    @WriteOperation
+    public Status start() {
+        if (!balanceReconciler.isRunning()) {
+            Thread.ofPlatform().name("wallet-reconciliation").daemon().start(balanceReconciler::run);
+        }
+        return status();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.reconciliation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of one reconciliation run. {@code mismatches} holds at most
+ * {@code wallet.reconciliation.max-reported-mismatches} entries, {@code mismatchCount} counts all of them.
+ */
+public record ReconciliationReport(
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    long walletsChecked,
+    long mismatchCount,
+    List<BalanceMismatch> mismatches
+) {
+}
\ No newline at end of file
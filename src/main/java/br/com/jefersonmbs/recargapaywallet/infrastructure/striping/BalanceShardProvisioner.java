@@ -0,0 +1,76 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.striping;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletBalanceShardEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletBalanceShardRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletStripingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Creates the missing shard rows of the wallets listed in {@code wallet.striping.wallet-ids}. Credits to a shard that
+ * does not exist yet are rejected, so a failed run must be fixed before the listed wallets can be credited.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceShardProvisioner {
+
+    private final WalletRepository walletRepository;
+    private final WalletBalanceShardRepository walletBalanceShardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletStripingProperties stripingProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void provision() {
+        if (!stripingProperties.isEnabled() || stripingProperties.getWalletIds().isEmpty()) {
+            return;
+        }
+        try {
+            Integer created = transactionTemplate.execute(status -> createMissingShards());
+            log.info("Balance striping enabled for {} wallets with {} shards each, {} shard rows created",
+                stripingProperties.getWalletIds().size(), stripingProperties.getShards(), created);
+        } catch (DataAccessException e) {
+            log.error("Balance shard provisioning failed, credits to striped wallets are rejected until it succeeds: {}", e.getMessage());
+        }
+    }
+
+    int createMissingShards() {
+        Set<UUID> walletIds = new HashSet<>();
+        walletRepository.findAllById(stripingProperties.getWalletIds()).forEach(wallet -> walletIds.add(wallet.getId()));
+        if (walletIds.size() < stripingProperties.getWalletIds().size()) {
+            log.warn("Ignoring striped wallet IDs that do not exist: {}", stripingProperties.getWalletIds().stream()
+                .filter(walletId -> !walletIds.contains(walletId))
+                .toList());
+        }
+        if (walletIds.isEmpty()) {
+            return 0;
+        }
+
+        Set<WalletBalanceShardEntity.ShardId> existing = new HashSet<>();
+        walletBalanceShardRepository.findByWalletIdIn(walletIds)
+            .forEach(shard -> existing.add(new WalletBalanceShardEntity.ShardId(shard.getWalletId(), shard.getShardNo())));
+
+        List<WalletBalanceShardEntity> missing = new ArrayList<>();
+        for (UUID walletId : walletIds) {
+            for (int shardNo = 0; shardNo < stripingProperties.getShards(); shardNo++) {
+                if (!existing.contains(new WalletBalanceShardEntity.ShardId(walletId, shardNo))) {
+                    missing.add(WalletBalanceShardEntity.builder().walletId(walletId).shardNo(shardNo).build());
+                }
+            }
+        }
+        walletBalanceShardRepository.saveAll(missing);
+        return missing.size();
+    }
+}
\ No newline at end of file
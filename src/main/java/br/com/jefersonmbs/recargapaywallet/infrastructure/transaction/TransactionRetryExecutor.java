@@ -0,0 +1,88 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.transaction;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletRetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionRetryExecutor {
+
+    private static final String ATTEMPTS_METRIC = "wallet.transaction.attempts";
+    private static final String CONFLICTS_METRIC = "wallet.transaction.conflicts";
+    private static final String EXHAUSTED_METRIC = "wallet.transaction.retries.exhausted";
+
+    private final TransactionTemplate transactionTemplate;
+    private final WalletRetryProperties retryProperties;
+    private final MeterRegistry meterRegistry;
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // A failed statement poisons the caller's transaction, so it can only be retried by its owner
+            return action.get();
+        }
+
+        int maxAttempts = retryProperties.maxAttemptsFor(operation);
+        int attempt = 1;
+        while (true) {
+            counter(ATTEMPTS_METRIC, operation).increment();
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException | OptimisticLockException | PessimisticLockException | LockTimeoutException ex) {
+                Counter.builder(CONFLICTS_METRIC)
+                    .tag("operation", operation)
+                    .tag("type", conflictType(ex))
+                    .register(meterRegistry)
+                    .increment();
+
+                if (attempt >= maxAttempts) {
+                    counter(EXHAUSTED_METRIC, operation).increment();
+                    log.error("Giving up {} after {} attempts on concurrent modification: {}", operation, attempt, ex.getMessage());
+                    throw ex;
+                }
+                log.warn("Concurrent modification on {} (attempt {}/{}), retrying: {}",
+                    operation, attempt, maxAttempts, ex.getMessage());
+                pause(attempt);
+                attempt++;
+            }
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private static String conflictType(RuntimeException ex) {
+        return ex instanceof OptimisticLockingFailureException || ex instanceof OptimisticLockException
+            ? "optimistic"
+            : "pessimistic";
+    }
+
+    private void pause(int attempt) {
+        // Full jitter: sleep a random slice of the capped exponential window so colliding retries spread out
+        double window = retryProperties.getInitialBackoff().toMillis() * Math.pow(retryProperties.getMultiplier(), attempt - 1);
+        long cap = Math.min(retryProperties.getMaxBackoff().toMillis(), (long) window);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry transaction", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+CREATE TABLE tb_wallet_balance_shards (
+    wallet_id UUID NOT NULL REFERENCES tb_wallets(id),
+    shard_no INTEGER NOT NULL,
+    balance NUMERIC(15,2) NOT NULL DEFAULT 0 CHECK (balance >= 0),
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (wallet_id, shard_no)
+);
+
+COMMENT ON TABLE tb_wallet_balance_shards IS 'Credit stripes of hot wallets; a wallet balance is tb_wallets.balance plus the sum of its shards';
+COMMENT ON COLUMN tb_wallet_balance_shards.wallet_id IS 'Wallet that owns the sub-balance';
+COMMENT ON COLUMN tb_wallet_balance_shards.shard_no IS 'Stripe number, from 0 to the configured shard count - 1';
+COMMENT ON COLUMN tb_wallet_balance_shards.balance IS 'Credits received by this stripe and not yet swept into tb_wallets.balance';
\ No newline at end of file
@@ -0,0 +1,104 @@
+-- The existing heap becomes the first partition as-is, so no rows are copied. ATTACH builds the (id, created_at)
+-- key on it and checks its rows against the partition bound.
+ALTER TABLE tb_transaction_history RENAME TO tb_transaction_history_legacy;
+ALTER TABLE tb_transaction_history_legacy RENAME CONSTRAINT tb_transaction_history_pkey TO tb_transaction_history_legacy_pkey;
+
+-- Single-column indexes no query filters on; wallet lookups are covered by the keyset indexes
+DROP INDEX idx_transaction_type;
+DROP INDEX idx_transaction_status;
+DROP INDEX idx_transaction_amount;
+DROP INDEX idx_transaction_created_at;
+DROP INDEX idx_transaction_source_wallet;
+DROP INDEX idx_transaction_target_wallet;
+DROP INDEX idx_transaction_wallet_date;
+DROP INDEX idx_transaction_wallet_type;
+
+ALTER INDEX idx_transaction_source_wallet_keyset RENAME TO idx_transaction_legacy_source_wallet_keyset;
+ALTER INDEX idx_transaction_target_wallet_keyset RENAME TO idx_transaction_legacy_target_wallet_keyset;
+ALTER INDEX idx_transaction_correlation_id RENAME TO idx_transaction_legacy_correlation_id;
+
+-- Constraint names match the legacy table, which ATTACH requires for CHECK constraints
+CREATE TABLE tb_transaction_history (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    type VARCHAR(20) NOT NULL CONSTRAINT tb_transaction_history_type_check
+        CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER_OUT', 'TRANSFER_IN', 'TRANSFER')),
+    amount DECIMAL(15,2) NOT NULL CONSTRAINT tb_transaction_history_amount_check CHECK (amount > 0),
+    source_wallet_id UUID,
+    target_wallet_id UUID,
+    description VARCHAR(500),
+    balance_before_transaction DECIMAL(15,2) NOT NULL,
+    balance_after_transaction DECIMAL(15,2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'COMPLETED' CONSTRAINT tb_transaction_history_status_check
+        CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED', 'CANCELLED')),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    correlation_id VARCHAR(100),
+
+    CONSTRAINT tb_transaction_history_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_transaction_source_wallet FOREIGN KEY (source_wallet_id) REFERENCES tb_wallets(id) ON DELETE SET NULL,
+    CONSTRAINT fk_transaction_target_wallet FOREIGN KEY (target_wallet_id) REFERENCES tb_wallets(id) ON DELETE SET NULL,
+    CONSTRAINT chk_transaction_wallets CHECK (
+        (type = 'DEPOSIT' AND source_wallet_id IS NULL AND target_wallet_id IS NOT NULL) OR
+        (type = 'WITHDRAWAL' AND source_wallet_id IS NOT NULL AND target_wallet_id IS NULL) OR
+        (type IN ('TRANSFER_OUT', 'TRANSFER_IN', 'TRANSFER') AND source_wallet_id IS NOT NULL AND target_wallet_id IS NOT NULL)
+    )
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_transaction_source_wallet_keyset ON tb_transaction_history(source_wallet_id, created_at DESC, id DESC);
+CREATE INDEX idx_transaction_target_wallet_keyset ON tb_transaction_history(target_wallet_id, created_at DESC, id DESC);
+CREATE INDEX idx_transaction_correlation_id ON tb_transaction_history(correlation_id);
+
+-- Creates the monthly partitions from the current month up to months_ahead; months already covered are skipped
+CREATE OR REPLACE FUNCTION create_transaction_history_partitions(months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    first_month DATE := date_trunc('month', CURRENT_DATE)::DATE;
+    partition_start DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        partition_start := (first_month + make_interval(months => i))::DATE;
+        partition_name := 'tb_transaction_history_' || to_char(partition_start, 'YYYY_MM');
+        CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+        BEGIN
+            EXECUTE format('CREATE TABLE %I PARTITION OF tb_transaction_history FOR VALUES FROM (%L) TO (%L)',
+                partition_name, partition_start, (partition_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        EXCEPTION WHEN invalid_object_definition THEN
+            -- The month overlaps the legacy partition
+            NULL;
+        END;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    legacy_end DATE;
+BEGIN
+    SELECT (date_trunc('month', greatest(CURRENT_TIMESTAMP::TIMESTAMP, coalesce(max(created_at), CURRENT_TIMESTAMP::TIMESTAMP)))
+            + INTERVAL '1 month')::DATE
+    INTO legacy_end
+    FROM tb_transaction_history_legacy;
+
+    EXECUTE format('ALTER TABLE tb_transaction_history ATTACH PARTITION tb_transaction_history_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        legacy_end);
+END;
+$$;
+
+SELECT create_transaction_history_partitions(3);
+
+COMMENT ON TABLE tb_transaction_history IS 'Transaction history for all wallet operations, range partitioned by month of created_at';
+COMMENT ON TABLE tb_transaction_history_legacy IS 'Transaction history written before partitioning, up to the end of the migration month';
+COMMENT ON COLUMN tb_transaction_history.id IS 'Unique identifier for the transaction (UUID)';
+COMMENT ON COLUMN tb_transaction_history.type IS 'Type of transaction: DEPOSIT, WITHDRAWAL, TRANSFER_OUT, TRANSFER_IN, TRANSFER';
+COMMENT ON COLUMN tb_transaction_history.amount IS 'Transaction amount (must be positive)';
+COMMENT ON COLUMN tb_transaction_history.source_wallet_id IS 'Source wallet for the transaction (null for deposits)';
+COMMENT ON COLUMN tb_transaction_history.target_wallet_id IS 'Target wallet for the transaction (null for withdrawals)';
+COMMENT ON COLUMN tb_transaction_history.description IS 'Optional description of the transaction';
+COMMENT ON COLUMN tb_transaction_history.balance_before_transaction IS 'Wallet balance before the transaction';
+COMMENT ON COLUMN tb_transaction_history.balance_after_transaction IS 'Wallet balance after the transaction';
+COMMENT ON COLUMN tb_transaction_history.status IS 'Transaction status: PENDING, COMPLETED, FAILED, CANCELLED';
+COMMENT ON COLUMN tb_transaction_history.created_at IS 'Timestamp when the transaction was created; partition key';
+COMMENT ON COLUMN tb_transaction_history.correlation_id IS 'Correlation identifier for distributed tracing and grouping related transactions';
\ No newline at end of file
@@ -0,0 +1,113 @@
+-- Same approach as V11: the existing heap is attached unchanged as the partition holding everything written so far
+ALTER TABLE tb_transaction_audit RENAME TO tb_transaction_audit_legacy;
+ALTER TABLE tb_transaction_audit_legacy RENAME CONSTRAINT tb_transaction_audit_pkey TO tb_transaction_audit_legacy_pkey;
+
+-- 15 indexes made every audit row cost 16 index insertions; keep the lookups and the foreign key paths
+DROP INDEX idx_transaction_audit_wallet_id;
+DROP INDEX idx_transaction_audit_user_id;
+DROP INDEX idx_transaction_audit_created_at;
+DROP INDEX idx_transaction_audit_operation_type;
+DROP INDEX idx_transaction_audit_status;
+DROP INDEX idx_transaction_audit_origin_ip;
+DROP INDEX idx_transaction_audit_session_id;
+DROP INDEX idx_audit_status_created_at;
+DROP INDEX idx_audit_operation_wallet;
+DROP INDEX idx_audit_ip_created_at;
+DROP INDEX idx_audit_failed_transactions;
+
+ALTER INDEX idx_transaction_audit_transaction_id RENAME TO idx_transaction_audit_legacy_transaction_id;
+ALTER INDEX idx_transaction_audit_correlation_id RENAME TO idx_transaction_audit_legacy_correlation_id;
+ALTER INDEX idx_audit_wallet_created_at RENAME TO idx_audit_legacy_wallet_created_at;
+ALTER INDEX idx_audit_user_created_at RENAME TO idx_audit_legacy_user_created_at;
+
+CREATE TABLE tb_transaction_audit (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    transaction_id UUID NOT NULL,
+    wallet_id UUID NOT NULL,
+    user_id BIGINT NOT NULL,
+    operation_type VARCHAR(20) NOT NULL CONSTRAINT tb_transaction_audit_operation_type_check
+        CHECK (operation_type IN ('CREDIT', 'DEBIT', 'TRANSFER_OUT', 'TRANSFER_IN', 'REFUND', 'ADJUSTMENT')),
+    amount DECIMAL(19,2) NOT NULL CONSTRAINT tb_transaction_audit_amount_check CHECK (amount >= 0),
+    balance_before DECIMAL(19,2) NOT NULL CONSTRAINT tb_transaction_audit_balance_before_check CHECK (balance_before >= 0),
+    balance_after DECIMAL(19,2) NOT NULL CONSTRAINT tb_transaction_audit_balance_after_check CHECK (balance_after >= 0),
+    transaction_status VARCHAR(20) NOT NULL CONSTRAINT tb_transaction_audit_transaction_status_check
+        CHECK (transaction_status IN ('INITIATED', 'COMPLETED', 'FAILED', 'ROLLED_BACK')),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(100) NOT NULL,
+    origin_ip VARCHAR(45),
+    user_agent VARCHAR(500),
+    session_id VARCHAR(100),
+    correlation_id VARCHAR(100),
+    description VARCHAR(500),
+    metadata TEXT,
+
+    CONSTRAINT tb_transaction_audit_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_audit_wallet_id FOREIGN KEY (wallet_id) REFERENCES tb_wallets(id) ON DELETE CASCADE,
+    CONSTRAINT fk_audit_user_id FOREIGN KEY (user_id) REFERENCES tb_users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_transaction_audit_transaction_id ON tb_transaction_audit(transaction_id);
+CREATE INDEX idx_transaction_audit_correlation_id ON tb_transaction_audit(correlation_id);
+CREATE INDEX idx_audit_wallet_created_at ON tb_transaction_audit(wallet_id, created_at DESC);
+CREATE INDEX idx_audit_user_created_at ON tb_transaction_audit(user_id, created_at DESC);
+
+CREATE OR REPLACE FUNCTION create_transaction_audit_partitions(months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    first_month DATE := date_trunc('month', CURRENT_DATE)::DATE;
+    partition_start DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        partition_start := (first_month + make_interval(months => i))::DATE;
+        partition_name := 'tb_transaction_audit_' || to_char(partition_start, 'YYYY_MM');
+        CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+        BEGIN
+            EXECUTE format('CREATE TABLE %I PARTITION OF tb_transaction_audit FOR VALUES FROM (%L) TO (%L)',
+                partition_name, partition_start, (partition_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        EXCEPTION WHEN invalid_object_definition THEN
+            -- The month overlaps the legacy partition
+            NULL;
+        END;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    legacy_end DATE;
+BEGIN
+    SELECT (date_trunc('month', greatest(CURRENT_TIMESTAMP::TIMESTAMP, coalesce(max(created_at), CURRENT_TIMESTAMP::TIMESTAMP)))
+            + INTERVAL '1 month')::DATE
+    INTO legacy_end
+    FROM tb_transaction_audit_legacy;
+
+    EXECUTE format('ALTER TABLE tb_transaction_audit ATTACH PARTITION tb_transaction_audit_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        legacy_end);
+END;
+$$;
+
+SELECT create_transaction_audit_partitions(3);
+
+COMMENT ON TABLE tb_transaction_audit IS 'Audit trail for all wallet transactions, range partitioned by month of created_at';
+COMMENT ON TABLE tb_transaction_audit_legacy IS 'Audit records written before partitioning, up to the end of the migration month';
+COMMENT ON COLUMN tb_transaction_audit.id IS 'Unique identifier for the audit record (UUID)';
+COMMENT ON COLUMN tb_transaction_audit.transaction_id IS 'Reference to the transaction being audited';
+COMMENT ON COLUMN tb_transaction_audit.wallet_id IS 'ID of the wallet involved in the transaction';
+COMMENT ON COLUMN tb_transaction_audit.user_id IS 'ID of the user who owns the wallet';
+COMMENT ON COLUMN tb_transaction_audit.operation_type IS 'Type of operation: CREDIT, DEBIT, TRANSFER_OUT, TRANSFER_IN, REFUND, ADJUSTMENT';
+COMMENT ON COLUMN tb_transaction_audit.amount IS 'Amount of the transaction (always positive)';
+COMMENT ON COLUMN tb_transaction_audit.balance_before IS 'Wallet balance before the transaction';
+COMMENT ON COLUMN tb_transaction_audit.balance_after IS 'Wallet balance after the transaction';
+COMMENT ON COLUMN tb_transaction_audit.transaction_status IS 'Status: INITIATED, COMPLETED, FAILED, ROLLED_BACK';
+COMMENT ON COLUMN tb_transaction_audit.created_at IS 'Timestamp when the audit record was created; partition key';
+COMMENT ON COLUMN tb_transaction_audit.created_by IS 'User or system that initiated the transaction';
+COMMENT ON COLUMN tb_transaction_audit.origin_ip IS 'IP address of the client that initiated the transaction';
+COMMENT ON COLUMN tb_transaction_audit.user_agent IS 'User agent string from the client request';
+COMMENT ON COLUMN tb_transaction_audit.session_id IS 'Session identifier for grouping related operations';
+COMMENT ON COLUMN tb_transaction_audit.correlation_id IS 'Correlation identifier for distributed tracing';
+COMMENT ON COLUMN tb_transaction_audit.description IS 'Human-readable description of the transaction';
+COMMENT ON COLUMN tb_transaction_audit.metadata IS 'Additional metadata stored as JSON or text';
\ No newline at end of file
@@ -0,0 +1,2 @@
+-- Keys are stored as <wallet>:<client key>, so the column grows by a wallet id and separator
+ALTER TABLE tb_idempotency_keys ALTER COLUMN idempotency_key TYPE VARCHAR(200);
\ No newline at end of file
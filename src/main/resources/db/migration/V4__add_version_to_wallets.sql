@@ -0,0 +1,4 @@
+ALTER TABLE tb_wallets
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN tb_wallets.version IS 'Optimistic locking version, incremented on every wallet write';
\ No newline at end of file
@@ -0,0 +1,24 @@
+CREATE TABLE tb_audit_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    audit_id UUID NOT NULL,
+    transaction_id UUID NOT NULL,
+    wallet_id UUID NOT NULL,
+    user_id BIGINT NOT NULL,
+    operation_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19,2) NOT NULL,
+    balance_before DECIMAL(19,2) NOT NULL,
+    balance_after DECIMAL(19,2) NOT NULL,
+    transaction_status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    created_by VARCHAR(100) NOT NULL,
+    origin_ip VARCHAR(45),
+    user_agent VARCHAR(500),
+    session_id VARCHAR(100),
+    correlation_id VARCHAR(100),
+    description VARCHAR(500),
+    metadata TEXT
+);
+
+COMMENT ON TABLE tb_audit_outbox IS 'Audit records written in the business transaction, relayed in bulk to tb_transaction_audit';
+COMMENT ON COLUMN tb_audit_outbox.id IS 'Insertion sequence used to relay records in commit order';
+COMMENT ON COLUMN tb_audit_outbox.audit_id IS 'Identifier the record will keep in tb_transaction_audit';
\ No newline at end of file
@@ -0,0 +1,2 @@
+CREATE INDEX idx_transaction_source_wallet_keyset ON tb_transaction_history(source_wallet_id, created_at DESC, id DESC);
+CREATE INDEX idx_transaction_target_wallet_keyset ON tb_transaction_history(target_wallet_id, created_at DESC, id DESC);
\ No newline at end of file
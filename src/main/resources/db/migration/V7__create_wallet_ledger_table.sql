@@ -0,0 +1,24 @@
+CREATE TABLE tb_wallet_ledger (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    wallet_id UUID NOT NULL,
+    transaction_id UUID NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO tb_wallet_ledger (wallet_id, transaction_id, type, created_at)
+SELECT source_wallet_id, id, type, created_at
+FROM tb_transaction_history
+WHERE type IN ('WITHDRAWAL', 'TRANSFER_OUT') AND source_wallet_id IS NOT NULL
+UNION ALL
+SELECT target_wallet_id, id, type, created_at
+FROM tb_transaction_history
+WHERE type IN ('DEPOSIT', 'TRANSFER_IN') AND target_wallet_id IS NOT NULL;
+
+CREATE INDEX idx_wallet_ledger_wallet_created_at ON tb_wallet_ledger(wallet_id, created_at DESC, transaction_id DESC);
+
+COMMENT ON TABLE tb_wallet_ledger IS 'One row per transaction shown in a wallet history, ordered for single range scans';
+COMMENT ON COLUMN tb_wallet_ledger.wallet_id IS 'Wallet whose history lists the transaction';
+COMMENT ON COLUMN tb_wallet_ledger.transaction_id IS 'Reference to tb_transaction_history.id';
+COMMENT ON COLUMN tb_wallet_ledger.type IS 'Transaction type copied from tb_transaction_history';
+COMMENT ON COLUMN tb_wallet_ledger.created_at IS 'Transaction timestamp copied from tb_transaction_history';
\ No newline at end of file
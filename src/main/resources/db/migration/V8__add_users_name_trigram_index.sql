@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- A btree on name cannot serve '%term%' or similarity lookups; the trigram index replaces it
+DROP INDEX IF EXISTS idx_users_name;
+
+CREATE INDEX idx_users_name_trgm ON tb_users USING gin (name gin_trgm_ops) WHERE active = true;
\ No newline at end of file
@@ -0,0 +1,9 @@
+CREATE TABLE tb_idempotency_keys (
+    idempotency_key VARCHAR(128) PRIMARY KEY,
+    operation VARCHAR(20) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON tb_idempotency_keys(created_at);
\ No newline at end of file
@@ -1,5 +1,8 @@
 package br.com.jefersonmbs.recargapaywallet.api.controller;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto;
@@ -21,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.test.annotation.Rollback;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -143,6 +147,158 @@ class WalletControllerIntegrationTest {
                 .andExpect(jsonPath("$.description").value("Test deposit"));
     }
 
+    @Test
+    void deposit_ShouldReplayOriginalResponse_WhenIdempotencyKeyIsReused() throws Exception {
+        UserCreateDto createUserDto = UserCreateDto.builder()
+                .name("Idempotent User")
+                .email("idempotent@example.com")
+                .phone("11987654321")
+                .cpf("44455566677")
+                .build();
+
+        UserResponseDto createdUser = userService.createUser(createUserDto);
+        WalletResponseDto createdWallet = walletService.createWallet(createdUser.getId());
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        TransactionRequestDto depositRequest = TransactionRequestDto.builder()
+                .amount(BigDecimal.valueOf(100.00))
+                .type(TransactionHistoryEntity.TransactionType.DEPOSIT)
+                .targetWalletId(createdWallet.getId())
+                .description("Idempotent deposit")
+                .build();
+
+        String firstResponse = mockMvc.perform(post("/api/v1/wallets/deposit")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(depositRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        TransactionResponseDto firstTransaction = objectMapper.readValue(firstResponse, TransactionResponseDto.class);
+
+        mockMvc.perform(post("/api/v1/wallets/deposit")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(depositRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(firstTransaction.getId().toString()));
+
+        depositRequest.setAmount(BigDecimal.valueOf(200.00));
+        mockMvc.perform(post("/api/v1/wallets/deposit")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(depositRequest)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void batchDeposit_ShouldCreditValidItems_AndReportFailedOnes() throws Exception {
+        UserResponseDto firstUser = userService.createUser(UserCreateDto.builder()
+                .name("Payroll User One")
+                .email("payroll.one@example.com")
+                .phone("11987654321")
+                .cpf("10120230344")
+                .build());
+        UserResponseDto secondUser = userService.createUser(UserCreateDto.builder()
+                .name("Payroll User Two")
+                .email("payroll.two@example.com")
+                .phone("11987654321")
+                .cpf("20230340455")
+                .build());
+        WalletResponseDto firstWallet = walletService.createWallet(firstUser.getId());
+        WalletResponseDto secondWallet = walletService.createWallet(secondUser.getId());
+
+        BatchDepositRequestDto batchRequest = BatchDepositRequestDto.builder()
+                .description("Payroll")
+                .items(List.of(
+                        BatchDepositItemDto.builder().walletId(firstWallet.getId()).amount(new BigDecimal("100.00")).build(),
+                        BatchDepositItemDto.builder().accountNumber(secondWallet.getAccountNumber()).amount(new BigDecimal("50.00")).build(),
+                        BatchDepositItemDto.builder().walletId(firstWallet.getId()).amount(new BigDecimal("25.00")).build(),
+                        BatchDepositItemDto.builder().walletId(UUID.randomUUID()).amount(new BigDecimal("10.00")).build(),
+                        BatchDepositItemDto.builder().accountNumber(secondWallet.getAccountNumber()).amount(new BigDecimal("-1.00")).build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/wallets/deposit/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.completed").value(3))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.results[0].balanceAfterTransaction").value(100.00))
+                .andExpect(jsonPath("$.results[1].walletId").value(secondWallet.getId().toString()))
+                .andExpect(jsonPath("$.results[1].balanceAfterTransaction").value(50.00))
+                .andExpect(jsonPath("$.results[2].balanceBeforeTransaction").value(100.00))
+                .andExpect(jsonPath("$.results[2].balanceAfterTransaction").value(125.00))
+                .andExpect(jsonPath("$.results[3].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[4].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[4].error").value("Transaction amount must be positive"));
+    }
+
+    @Test
+    void batchDeposit_ShouldReturnBadRequest_WhenBatchIsEmpty() throws Exception {
+        BatchDepositRequestDto batchRequest = BatchDepositRequestDto.builder()
+                .items(List.of())
+                .build();
+
+        mockMvc.perform(post("/api/v1/wallets/deposit/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void disburse_ShouldDebitSourceOnce_AndCreditEveryRecipient() throws Exception {
+        UserResponseDto merchant = userService.createUser(UserCreateDto.builder()
+                .name("Merchant")
+                .email("merchant@example.com")
+                .phone("11987654321")
+                .cpf("30340450566")
+                .build());
+        UserResponseDto firstRecipient = userService.createUser(UserCreateDto.builder()
+                .name("Recipient One")
+                .email("recipient.one@example.com")
+                .phone("11987654321")
+                .cpf("40450560677")
+                .build());
+        UserResponseDto secondRecipient = userService.createUser(UserCreateDto.builder()
+                .name("Recipient Two")
+                .email("recipient.two@example.com")
+                .phone("11987654321")
+                .cpf("50560670788")
+                .build());
+        WalletResponseDto merchantWallet = walletService.createWallet(merchant.getId());
+        WalletResponseDto firstWallet = walletService.createWallet(firstRecipient.getId());
+        WalletResponseDto secondWallet = walletService.createWallet(secondRecipient.getId());
+        walletService.deposit(TransactionRequestDto.builder()
+                .amount(new BigDecimal("500.00"))
+                .type(TransactionHistoryEntity.TransactionType.DEPOSIT)
+                .targetWalletId(merchantWallet.getId())
+                .build());
+
+        DisbursementRequestDto disbursementRequest = DisbursementRequestDto.builder()
+                .sourceWalletId(merchantWallet.getId())
+                .description("Payout")
+                .items(List.of(
+                        BatchDepositItemDto.builder().walletId(firstWallet.getId()).amount(new BigDecimal("120.00")).build(),
+                        BatchDepositItemDto.builder().accountNumber(secondWallet.getAccountNumber()).amount(new BigDecimal("80.00")).build(),
+                        BatchDepositItemDto.builder().walletId(merchantWallet.getId()).amount(new BigDecimal("10.00")).build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/wallets/disbursement")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(disbursementRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.totalAmount").value(200.00))
+                .andExpect(jsonPath("$.sourceBalanceBefore").value(500.00))
+                .andExpect(jsonPath("$.sourceBalanceAfter").value(300.00))
+                .andExpect(jsonPath("$.results[0].balanceAfterTransaction").value(120.00))
+                .andExpect(jsonPath("$.results[1].balanceAfterTransaction").value(80.00))
+                .andExpect(jsonPath("$.results[2].error").value("Cannot transfer to the same wallet"));
+    }
+
     @Test
     void deposit_ShouldReturnBadRequest_WhenInvalidAmount() throws Exception {
         TransactionRequestDto invalidRequest = TransactionRequestDto.builder()
@@ -1,32 +1,40 @@
 package br.com.jefersonmbs.recargapaywallet.api.controller;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.CursorTransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.PagedTransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionHistoryRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,6 +46,9 @@ class WalletControllerTest {
     @Mock
     private WalletService walletService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private WalletController walletController;
 
@@ -183,7 +194,7 @@ class WalletControllerTest {
     void deposit_ShouldReturnOkStatus_WhenDepositSuccessful() {
         when(walletService.deposit(testTransactionRequest)).thenReturn(testTransactionResponse);
 
-        ResponseEntity<TransactionResponseDto> response = walletController.deposit(testTransactionRequest);
+        ResponseEntity<TransactionResponseDto> response = walletController.deposit(testTransactionRequest, null);
 
         
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -208,7 +219,7 @@ class WalletControllerTest {
 
         when(walletService.deposit(largeAmountRequest)).thenReturn(largeAmountResponse);
 
-        ResponseEntity<TransactionResponseDto> response = walletController.deposit(largeAmountRequest);
+        ResponseEntity<TransactionResponseDto> response = walletController.deposit(largeAmountRequest, null);
 
         
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -233,7 +244,7 @@ class WalletControllerTest {
 
         when(walletService.withdraw(withdrawRequest)).thenReturn(withdrawResponse);
 
-        ResponseEntity<TransactionResponseDto> response = walletController.withdraw(withdrawRequest);
+        ResponseEntity<TransactionResponseDto> response = walletController.withdraw(withdrawRequest, null);
 
         
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -258,7 +269,7 @@ class WalletControllerTest {
 
         when(walletService.withdraw(smallAmountRequest)).thenReturn(smallAmountResponse);
 
-        ResponseEntity<TransactionResponseDto> response = walletController.withdraw(smallAmountRequest);
+        ResponseEntity<TransactionResponseDto> response = walletController.withdraw(smallAmountRequest, null);
 
         
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -286,7 +297,7 @@ class WalletControllerTest {
 
         when(walletService.transfer(transferRequest)).thenReturn(transferResponse);
 
-        ResponseEntity<TransactionResponseDto> response = walletController.transfer(transferRequest);
+        ResponseEntity<TransactionResponseDto> response = walletController.transfer(transferRequest, null);
 
         
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -402,7 +413,7 @@ class WalletControllerTest {
 
         when(walletService.deposit(requestWithoutDescription)).thenReturn(responseWithoutDescription);
 
-        ResponseEntity<TransactionResponseDto> response = walletController.deposit(requestWithoutDescription);
+        ResponseEntity<TransactionResponseDto> response = walletController.deposit(requestWithoutDescription, null);
 
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -462,4 +473,55 @@ class WalletControllerTest {
         assertThat(response.getBody().getTotalElements()).isEqualTo(0L);
         verify(walletService).getTransactionHistoryPaginated(eq(testWalletId), eq(testUserId), any(TransactionHistoryRequestDto.class));
     }
+
+    @Test
+    void getTransactionHistoryByCursor_ShouldReturnOkStatus() {
+        CursorTransactionResponseDto cursorResponse = CursorTransactionResponseDto.builder()
+            .content(Collections.singletonList(testTransactionResponse))
+            .size(1)
+            .nextCursor("next")
+            .hasNext(true)
+            .build();
+
+        when(walletService.getTransactionHistoryByCursor(eq(testWalletId), eq(testUserId), any(TransactionHistoryRequestDto.class)))
+            .thenReturn(cursorResponse);
+
+        ResponseEntity<CursorTransactionResponseDto> response = walletController.getTransactionHistoryByCursor(
+            testWalletId, testUserId, "cursor", 1, null, null, false);
+
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(cursorResponse);
+        verify(walletService).getTransactionHistoryByCursor(eq(testWalletId), eq(testUserId), any(TransactionHistoryRequestDto.class));
+    }
+
+    @Test
+    void streamActiveWallets_ShouldWriteOneJsonLinePerWallet() throws Exception {
+        WalletResponseDto secondWallet = WalletResponseDto.builder()
+            .id(UUID.randomUUID())
+            .accountNumber(9892L)
+            .balance(BigDecimal.TEN)
+            .userId(2L)
+            .active(true)
+            .build();
+
+        doAnswer(invocation -> {
+            Consumer<WalletResponseDto> consumer = invocation.getArgument(0);
+            consumer.accept(testWalletResponse);
+            consumer.accept(secondWallet);
+            return null;
+        }).when(walletService).streamActiveWallets(any());
+
+        ResponseEntity<StreamingResponseBody> response = walletController.streamActiveWallets();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Assertions.assertNotNull(response.getBody());
+        response.getBody().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], WalletResponseDto.class)).isEqualTo(testWalletResponse);
+        assertThat(objectMapper.readValue(lines[1], WalletResponseDto.class)).isEqualTo(secondWallet);
+    }
 }
\ No newline at end of file
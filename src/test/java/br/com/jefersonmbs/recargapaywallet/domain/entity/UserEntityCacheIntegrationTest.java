@@ -0,0 +1,110 @@
+package br.com.jefersonmbs.recargapaywallet.domain.entity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: each lookup needs its own session, otherwise the persistence context answers before the cache
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserEntityCacheIntegrationTest {
+
+    private static final String CPF = "81000000001";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = inTransaction(entityManager -> {
+            UserEntity user = UserEntity.builder()
+                .name("Cached User")
+                .email("cached.user@example.com")
+                .phone("11987654321")
+                .cpf(CPF)
+                .active(true)
+                .build();
+            entityManager.persist(user);
+            return user.getId();
+        });
+        entityManagerFactory.getCache().evict(UserEntity.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inTransaction(entityManager -> {
+            entityManager.remove(entityManager.find(UserEntity.class, userId));
+            return null;
+        });
+    }
+
+    @Test
+    void find_ShouldServeUserFromSecondLevelCache_AfterFirstLoad() {
+        inTransaction(entityManager -> entityManager.find(UserEntity.class, userId));
+        UserEntity cached = inTransaction(entityManager -> entityManager.find(UserEntity.class, userId));
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(UserEntity.CACHE_REGION);
+        assertThat(cached.getCpf()).isEqualTo(CPF);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bySimpleNaturalId_ShouldResolveCpfFromNaturalIdCache_AfterFirstLoad() {
+        inTransaction(entityManager -> entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(UserEntity.class).load(CPF));
+        UserEntity cached = inTransaction(entityManager -> entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(UserEntity.class).load(CPF));
+
+        assertThat(cached.getId()).isEqualTo(userId);
+        assertThat(statistics.getDomainDataRegionStatistics(UserEntity.NATURAL_ID_CACHE_REGION).getHitCount())
+            .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void update_ShouldRefreshCachedUser_WithoutStaleReads() {
+        inTransaction(entityManager -> entityManager.find(UserEntity.class, userId));
+        inTransaction(entityManager -> {
+            entityManager.find(UserEntity.class, userId).setName("Renamed User");
+            return null;
+        });
+
+        UserEntity cached = inTransaction(entityManager -> entityManager.find(UserEntity.class, userId));
+
+        assertThat(cached.getName()).isEqualTo("Renamed User");
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            T result = work.apply(entityManager);
+            entityManager.getTransaction().commit();
+            return result;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionAuditResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.mapper.TransactionAuditMapper;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionAuditRepository;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.audit.AuditArchive;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditPartitionProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLookupServiceImplTest {
+
+    @Mock
+    private TransactionAuditRepository transactionAuditRepository;
+
+    @Mock
+    private AuditArchive auditArchive;
+
+    @Mock
+    private TransactionAuditMapper transactionAuditMapper;
+
+    @Spy
+    private WalletAuditPartitionProperties partitionProperties = new WalletAuditPartitionProperties();
+
+    @InjectMocks
+    private AuditLookupServiceImpl auditLookupService;
+
+    @Test
+    void findByTransactionId_ShouldNotReadArchive_WhenDatabaseHasRecords() {
+        UUID transactionId = UUID.randomUUID();
+        TransactionAuditEntity audit = buildAudit(transactionId, LocalDateTime.now());
+        TransactionAuditResponseDto response = TransactionAuditResponseDto.builder().transactionId(transactionId).archived(false).build();
+        when(transactionAuditRepository.findByTransactionIdOrderByCreatedAtAsc(transactionId)).thenReturn(List.of(audit));
+        when(transactionAuditMapper.toResponseDto(audit)).thenReturn(response);
+
+        List<TransactionAuditResponseDto> result = auditLookupService.findByTransactionId(transactionId,
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        assertThat(result).containsExactly(response);
+        verify(auditArchive, never()).search(any(), any(), any());
+    }
+
+    @Test
+    void findByTransactionId_ShouldNotReadArchive_WhenNoDateRangeIsGiven() {
+        UUID transactionId = UUID.randomUUID();
+        when(transactionAuditRepository.findByTransactionIdOrderByCreatedAtAsc(transactionId)).thenReturn(List.of());
+
+        List<TransactionAuditResponseDto> result = auditLookupService.findByTransactionId(transactionId, null, null);
+
+        assertThat(result).isEmpty();
+        verify(auditArchive, never()).search(any(), any(), any());
+    }
+
+    @Test
+    void findByTransactionId_ShouldRejectDateRange_WiderThanArchiveLookupLimit() {
+        assertThatThrownBy(() -> auditLookupService.findByTransactionId(UUID.randomUUID(),
+            LocalDate.of(2024, 1, 31), LocalDate.of(2024, 4, 1)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("at most 3 months");
+
+        verify(transactionAuditRepository, never()).findByTransactionIdOrderByCreatedAtAsc(any());
+    }
+
+    @Test
+    void findByTransactionId_ShouldReadThroughToArchive_InCreationOrder_WhenDatabaseHasNone() {
+        UUID transactionId = UUID.randomUUID();
+        TransactionAuditEntity initiated = buildAudit(transactionId, LocalDateTime.of(2024, 1, 31, 23, 59));
+        TransactionAuditEntity completed = buildAudit(transactionId, LocalDateTime.of(2024, 2, 1, 0, 0));
+        TransactionAuditResponseDto initiatedResponse = TransactionAuditResponseDto.builder().createdAt(initiated.getCreatedAt()).archived(true).build();
+        TransactionAuditResponseDto completedResponse = TransactionAuditResponseDto.builder().createdAt(completed.getCreatedAt()).archived(true).build();
+        when(transactionAuditRepository.findByTransactionIdOrderByCreatedAtAsc(transactionId)).thenReturn(List.of());
+        when(auditArchive.search(eq(YearMonth.of(2024, 1)), eq(YearMonth.of(2024, 2)), any())).thenReturn(List.of(completed, initiated));
+        when(transactionAuditMapper.toArchivedResponseDto(initiated)).thenReturn(initiatedResponse);
+        when(transactionAuditMapper.toArchivedResponseDto(completed)).thenReturn(completedResponse);
+
+        List<TransactionAuditResponseDto> result = auditLookupService.findByTransactionId(transactionId,
+            LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 15));
+
+        assertThat(result).containsExactly(initiatedResponse, completedResponse);
+    }
+
+    @Test
+    void findByCorrelationId_ShouldThrowException_WhenCorrelationIdIsBlank() {
+        assertThatThrownBy(() -> auditLookupService.findByCorrelationId(" ", null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Correlation ID cannot be empty");
+
+        verify(transactionAuditRepository, never()).findByCorrelationIdOrderByCreatedAtAsc(any());
+    }
+
+    private TransactionAuditEntity buildAudit(UUID transactionId, LocalDateTime createdAt) {
+        return TransactionAuditEntity.builder()
+            .id(UUID.randomUUID())
+            .transactionId(transactionId)
+            .createdAt(createdAt)
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemResultDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.DepositTarget;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionCreationRequest;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.WalletBalance;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionAuditService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.transaction.TransactionRetryExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDepositServiceImplTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private TransactionHistoryService transactionHistoryService;
+
+    @Mock
+    private TransactionAuditService transactionAuditService;
+
+    @Mock
+    private WalletBalanceService walletBalanceService;
+
+    @Mock
+    private TransactionRetryExecutor transactionRetryExecutor;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BatchDepositServiceImpl batchDepositService;
+
+    private final UUID walletId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID otherWalletId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @BeforeEach
+    void setUp() {
+        batchDepositService = new BatchDepositServiceImpl(walletRepository, transactionHistoryService, transactionAuditService,
+            walletBalanceService, transactionRetryExecutor, new TransactionPhaseMetrics(new SimpleMeterRegistry()), jdbcTemplate);
+        when(transactionRetryExecutor.execute(eq(BatchDepositServiceImpl.OPERATION), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    void deposit_ShouldAggregateCreditsPerWallet_AndChainRunningBalances() {
+        when(walletRepository.findDepositTargetsByIds(any()))
+            .thenReturn(List.of(new DepositTarget(walletId, 9891L, 1L, true, true)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        when(walletRepository.findBalancesByIds(any()))
+            .thenReturn(List.of(new WalletBalance(walletId, new BigDecimal("135.00"))));
+        when(walletRepository.getReferenceById(walletId)).thenReturn(WalletEntity.builder().id(walletId).build());
+        when(transactionHistoryService.createTransactions(anyList())).thenAnswer(invocation ->
+            invocation.<List<TransactionCreationRequest>>getArgument(0).stream()
+                .map(creation -> TransactionHistoryEntity.builder().id(UUID.randomUUID()).build())
+                .toList());
+
+        BatchDepositResponseDto response = batchDepositService.deposit(request(
+            BatchDepositItemDto.builder().walletId(walletId).amount(new BigDecimal("100.00")).build(),
+            BatchDepositItemDto.builder().walletId(walletId).amount(new BigDecimal("25.00")).build()));
+
+        assertThat(response.getCompleted()).isEqualTo(2);
+        assertThat(response.getResults().get(0).getBalanceBeforeTransaction()).isEqualByComparingTo("10.00");
+        assertThat(response.getResults().get(0).getBalanceAfterTransaction()).isEqualByComparingTo("110.00");
+        assertThat(response.getResults().get(1).getBalanceBeforeTransaction()).isEqualByComparingTo("110.00");
+        assertThat(response.getResults().get(1).getBalanceAfterTransaction()).isEqualByComparingTo("135.00");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batchArgs.capture());
+        assertThat(batchArgs.getValue()).hasSize(1);
+        assertThat((BigDecimal) batchArgs.getValue().get(0)[0]).isEqualByComparingTo("125.00");
+        verify(transactionAuditService, times(2)).auditSuccessful(any(), any());
+    }
+
+    @Test
+    void deposit_ShouldFailItem_WhenWalletWasDeactivatedBeforeUpdate() {
+        when(walletRepository.findDepositTargetsByIds(any())).thenReturn(List.of(
+            new DepositTarget(walletId, 9891L, 1L, true, true),
+            new DepositTarget(otherWalletId, 9892L, 2L, true, true)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+        when(walletRepository.findBalancesByIds(any()))
+            .thenReturn(List.of(new WalletBalance(walletId, new BigDecimal("10.00"))));
+        when(walletRepository.getReferenceById(walletId)).thenReturn(WalletEntity.builder().id(walletId).build());
+        when(transactionHistoryService.createTransactions(anyList()))
+            .thenReturn(List.of(TransactionHistoryEntity.builder().id(UUID.randomUUID()).build()));
+
+        BatchDepositResponseDto response = batchDepositService.deposit(request(
+            BatchDepositItemDto.builder().walletId(walletId).amount(new BigDecimal("10.00")).build(),
+            BatchDepositItemDto.builder().walletId(otherWalletId).amount(new BigDecimal("20.00")).build()));
+
+        assertThat(response.getCompleted()).isEqualTo(1);
+        assertThat(response.getResults().get(1).getStatus()).isEqualTo(BatchDepositItemResultDto.Status.FAILED);
+        assertThat(response.getResults().get(1).getError()).isEqualTo("Target wallet is not active for deposits");
+    }
+
+    @Test
+    void deposit_ShouldSkipWrites_WhenEveryItemIsRejected() {
+        when(walletRepository.findDepositTargetsByAccountNumbers(any()))
+            .thenReturn(List.of(new DepositTarget(walletId, 9891L, 1L, false, true)));
+
+        BatchDepositResponseDto response = batchDepositService.deposit(request(
+            BatchDepositItemDto.builder().accountNumber(9891L).amount(new BigDecimal("10.00")).build(),
+            BatchDepositItemDto.builder().accountNumber(9899L).amount(new BigDecimal("10.00")).build(),
+            BatchDepositItemDto.builder().amount(new BigDecimal("10.00")).build()));
+
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BatchDepositItemResultDto::getError).containsExactly(
+            "Target wallet is not active for deposits",
+            "Wallet not found for account number: 9899",
+            "Either walletId or accountNumber is required");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(transactionHistoryService, never()).createTransactions(anyList());
+    }
+
+    private static BatchDepositRequestDto request(BatchDepositItemDto... items) {
+        return BatchDepositRequestDto.builder()
+            .items(List.of(items))
+            .correlationId("CORR-BATCH")
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.BatchDepositItemResultDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.DisbursementResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.DepositTarget;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionCreationRequest;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.WalletBalance;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InsufficientBalanceException;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionAuditService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.TransactionHistoryService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.transaction.TransactionRetryExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DisbursementServiceImplTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private TransactionHistoryService transactionHistoryService;
+
+    @Mock
+    private TransactionAuditService transactionAuditService;
+
+    @Mock
+    private WalletBalanceService walletBalanceService;
+
+    @Mock
+    private TransactionRetryExecutor transactionRetryExecutor;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DisbursementServiceImpl disbursementService;
+
+    private final UUID sourceWalletId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private final UUID firstTargetId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID secondTargetId = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @BeforeEach
+    void setUp() {
+        disbursementService = new DisbursementServiceImpl(walletRepository, transactionHistoryService, transactionAuditService,
+            walletBalanceService, transactionRetryExecutor, new TransactionPhaseMetrics(new SimpleMeterRegistry()), jdbcTemplate);
+        when(transactionRetryExecutor.execute(eq(DisbursementServiceImpl.OPERATION), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(walletRepository.findDepositTargetsByIds(List.of(sourceWalletId)))
+            .thenReturn(List.of(new DepositTarget(sourceWalletId, 9892L, 2L, true, true)));
+    }
+
+    @Test
+    void disburse_ShouldDebitSourceOnce_AndCreditTargetsInSortedOrder() {
+        when(walletRepository.findDepositTargetsByIds(Set.of(firstTargetId, secondTargetId))).thenReturn(List.of(
+            new DepositTarget(firstTargetId, 9891L, 1L, true, true),
+            new DepositTarget(secondTargetId, 9893L, 3L, true, true)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1, 1});
+        when(walletRepository.findBalancesByIds(any())).thenReturn(List.of(
+            new WalletBalance(sourceWalletId, new BigDecimal("850.00")),
+            new WalletBalance(firstTargetId, new BigDecimal("100.00")),
+            new WalletBalance(secondTargetId, new BigDecimal("50.00"))));
+        when(walletRepository.getReferenceById(any())).thenAnswer(invocation ->
+            WalletEntity.builder().id(invocation.getArgument(0)).build());
+        when(transactionHistoryService.createTransactions(anyList())).thenAnswer(invocation ->
+            invocation.<List<TransactionCreationRequest>>getArgument(0).stream()
+                .map(creation -> TransactionHistoryEntity.builder().id(UUID.randomUUID()).type(creation.type()).build())
+                .toList());
+
+        DisbursementResponseDto response = disbursementService.disburse(request(
+            BatchDepositItemDto.builder().walletId(secondTargetId).amount(new BigDecimal("50.00")).build(),
+            BatchDepositItemDto.builder().walletId(firstTargetId).amount(new BigDecimal("100.00")).build()));
+
+        assertThat(response.getCompleted()).isEqualTo(2);
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("150.00");
+        assertThat(response.getSourceBalanceBefore()).isEqualByComparingTo("1000.00");
+        assertThat(response.getSourceBalanceAfter()).isEqualByComparingTo("850.00");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batchArgs.capture());
+        assertThat(batchArgs.getValue()).extracting(args -> args[2])
+            .containsExactly(firstTargetId, sourceWalletId, secondTargetId);
+        assertThat((BigDecimal) batchArgs.getValue().get(1)[0]).isEqualByComparingTo("-150.00");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransactionCreationRequest>> creations = ArgumentCaptor.forClass(List.class);
+        verify(transactionHistoryService).createTransactions(creations.capture());
+        assertThat(creations.getValue()).extracting(TransactionCreationRequest::type).containsExactly(
+            TransactionType.TRANSFER_OUT, TransactionType.TRANSFER_IN, TransactionType.TRANSFER_OUT, TransactionType.TRANSFER_IN);
+        assertThat(creations.getValue().get(2).balanceBefore()).isEqualByComparingTo("950.00");
+        assertThat(creations.getValue().get(2).balanceAfter()).isEqualByComparingTo("850.00");
+        verify(transactionAuditService, times(4)).auditSuccessful(any(), any());
+    }
+
+    @Test
+    void disburse_ShouldThrow_WhenSourceCannotCoverTotal() {
+        when(walletRepository.findDepositTargetsByIds(Set.of(firstTargetId)))
+            .thenReturn(List.of(new DepositTarget(firstTargetId, 9891L, 1L, true, true)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+        when(walletRepository.findBalanceById(sourceWalletId)).thenReturn(Optional.of(new BigDecimal("10.00")));
+
+        assertThatThrownBy(() -> disbursementService.disburse(request(
+            BatchDepositItemDto.builder().walletId(firstTargetId).amount(new BigDecimal("100.00")).build())))
+            .isInstanceOf(InsufficientBalanceException.class);
+        verify(transactionHistoryService, never()).createTransactions(anyList());
+        // Unswept shard credits must not turn a short row balance into an inactive-wallet error
+        verify(walletBalanceService, never()).shardBalance(sourceWalletId);
+    }
+
+    @Test
+    void disburse_ShouldSweepStripedSourceShards_BeforeTheBatchDebit() {
+        when(walletBalanceService.isStriped(sourceWalletId)).thenReturn(true);
+        when(walletRepository.findDepositTargetsByIds(Set.of(firstTargetId)))
+            .thenReturn(List.of(new DepositTarget(firstTargetId, 9891L, 1L, true, true)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+        when(walletRepository.findBalanceById(sourceWalletId)).thenReturn(Optional.of(new BigDecimal("10.00")));
+
+        assertThatThrownBy(() -> disbursementService.disburse(request(
+            BatchDepositItemDto.builder().walletId(firstTargetId).amount(new BigDecimal("100.00")).build())))
+            .isInstanceOf(InsufficientBalanceException.class);
+
+        InOrder order = inOrder(walletBalanceService, jdbcTemplate);
+        order.verify(walletBalanceService).consolidate(sourceWalletId);
+        order.verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void disburse_ShouldRejectSourceAsRecipient_WithoutTouchingBalances() {
+        when(walletRepository.findDepositTargetsByIds(Set.of(sourceWalletId)))
+            .thenReturn(List.of(new DepositTarget(sourceWalletId, 9892L, 2L, true, true)));
+
+        DisbursementResponseDto response = disbursementService.disburse(request(
+            BatchDepositItemDto.builder().walletId(sourceWalletId).amount(new BigDecimal("10.00")).build()));
+
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(BatchDepositItemResultDto.Status.FAILED);
+        assertThat(response.getResults().get(0).getError()).isEqualTo("Cannot transfer to the same wallet");
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("0");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private DisbursementRequestDto request(BatchDepositItemDto... items) {
+        return DisbursementRequestDto.builder()
+            .sourceWalletId(sourceWalletId)
+            .items(List.of(items))
+            .correlationId("CORR-PAYOUT")
+            .build();
+    }
+}
\ No newline at end of file
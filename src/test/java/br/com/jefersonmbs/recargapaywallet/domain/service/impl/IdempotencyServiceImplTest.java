@@ -0,0 +1,264 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.IdempotencyRecord;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.IdempotencyKeyEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.IdempotencyKeyConflictException;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.IdempotencyKeyRepository;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletIdempotencyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    private static final String KEY = "b5f0c7f2-key";
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private IdempotencyServiceImpl idempotencyService;
+    private TransactionRequestDto request;
+    private TransactionResponseDto response;
+    private String scopedKey;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository, objectMapper,
+            new WalletIdempotencyProperties(), new SimpleMeterRegistry());
+
+        request = TransactionRequestDto.builder()
+            .amount(new BigDecimal("100.00"))
+            .targetWalletId(UUID.randomUUID())
+            .idempotencyKey(KEY)
+            .build();
+        scopedKey = request.getTargetWalletId() + ":" + KEY;
+        response = TransactionResponseDto.builder()
+            .id(UUID.randomUUID())
+            .amount(new BigDecimal("100.00"))
+            .build();
+    }
+
+    @Test
+    void execute_ShouldRunAction_WhenNoKeyProvided() {
+        request.setIdempotencyKey(null);
+
+        TransactionResponseDto result = idempotencyService.execute("deposit", request, () -> response);
+
+        assertThat(result).isSameAs(response);
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void execute_ShouldRunActionOnce_AndReplayFromRecentKeys() {
+        when(idempotencyKeyRepository.findById(scopedKey)).thenReturn(Optional.empty());
+        AtomicInteger executions = new AtomicInteger();
+
+        TransactionResponseDto first = idempotencyService.execute("deposit", request, () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+        TransactionResponseDto replay = idempotencyService.execute("deposit", request, () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+
+        assertThat(first).isSameAs(response);
+        assertThat(replay).isSameAs(response);
+        assertThat(executions).hasValue(1);
+        verify(idempotencyKeyRepository, times(1)).findById(scopedKey);
+    }
+
+    @Test
+    void execute_ShouldReplayStoredResponse_WithoutRunningAction() throws Exception {
+        String requestHash = storedHashFor("deposit");
+        when(idempotencyKeyRepository.findById(scopedKey)).thenReturn(Optional.of(storedKey(requestHash)));
+
+        TransactionResponseDto result = idempotencyService.execute("deposit", request, () -> {
+            throw new AssertionError("action must not run on replay");
+        });
+
+        assertThat(result.getId()).isEqualTo(response.getId());
+    }
+
+    @Test
+    void execute_ShouldTreatEquivalentAmountsAsSameRequest() throws Exception {
+        String requestHash = storedHashFor("deposit");
+        when(idempotencyKeyRepository.findById(scopedKey)).thenReturn(Optional.of(storedKey(requestHash)));
+        request.setAmount(new BigDecimal("100"));
+
+        TransactionResponseDto result = idempotencyService.execute("deposit", request, () -> response);
+
+        assertThat(result.getId()).isEqualTo(response.getId());
+    }
+
+    @Test
+    void execute_ShouldThrowConflict_WhenKeyWasUsedForDifferentRequest() throws Exception {
+        String requestHash = storedHashFor("deposit");
+        when(idempotencyKeyRepository.findById(scopedKey)).thenReturn(Optional.of(storedKey(requestHash)));
+        request.setAmount(new BigDecimal("250.00"));
+
+        assertThatThrownBy(() -> idempotencyService.execute("deposit", request, () -> response))
+            .isInstanceOf(IdempotencyKeyConflictException.class)
+            .hasMessageContaining(KEY);
+    }
+
+    @Test
+    void execute_ShouldReplayWinner_WhenAnotherInstanceInsertedKeyFirst() throws Exception {
+        String requestHash = storedHashFor("deposit");
+        when(idempotencyKeyRepository.findById(scopedKey))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(storedKey(requestHash)));
+
+        TransactionResponseDto result = idempotencyService.execute("deposit", request, () -> {
+            throw new DataIntegrityViolationException("duplicate key");
+        });
+
+        assertThat(result.getId()).isEqualTo(response.getId());
+    }
+
+    @Test
+    void execute_ShouldCoalesceConcurrentDuplicates_OntoFirstExecution() throws Exception {
+        when(idempotencyKeyRepository.findById(scopedKey)).thenReturn(Optional.empty());
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<TransactionResponseDto> leader = CompletableFuture.supplyAsync(() ->
+            idempotencyService.execute("deposit", request, () -> {
+                executions.incrementAndGet();
+                leaderStarted.countDown();
+                await(releaseLeader);
+                return response;
+            }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<TransactionResponseDto> duplicate = CompletableFuture.supplyAsync(() ->
+            idempotencyService.execute("deposit", request, () -> {
+                executions.incrementAndGet();
+                return response;
+            }));
+        Thread.sleep(50);
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void execute_ShouldNotReplay_WhenSameKeyIsUsedForAnotherWallet() {
+        when(idempotencyKeyRepository.findById(anyString())).thenReturn(Optional.empty());
+        TransactionRequestDto otherWallet = TransactionRequestDto.builder()
+            .amount(new BigDecimal("100.00"))
+            .targetWalletId(UUID.randomUUID())
+            .idempotencyKey(KEY)
+            .build();
+        TransactionResponseDto otherResponse = TransactionResponseDto.builder().id(UUID.randomUUID()).build();
+
+        idempotencyService.execute("deposit", request, () -> response);
+        TransactionResponseDto result = idempotencyService.execute("deposit", otherWallet, () -> otherResponse);
+
+        assertThat(result).isSameAs(otherResponse);
+        verify(idempotencyKeyRepository).findById(otherWallet.getTargetWalletId() + ":" + KEY);
+    }
+
+    @Test
+    void scopedKey_ShouldPreferDebitedWallet_OverCreditedOne() {
+        UUID sourceWalletId = UUID.randomUUID();
+        request.setSourceWalletId(sourceWalletId);
+
+        assertThat(IdempotencyServiceImpl.scopedKey(request)).isEqualTo(sourceWalletId + ":" + KEY);
+    }
+
+    @Test
+    void record_ShouldInsertResponse_WhenKeyProvided() {
+        idempotencyService.record("deposit", request, response);
+
+        verify(idempotencyKeyRepository).insert(eq(scopedKey), eq("deposit"), anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void prepare_ShouldCarryTheHashRecordWouldStore_WithoutResponse() {
+        String recordedHash = storedHashFor("deposit");
+
+        IdempotencyRecord prepared = idempotencyService.prepare("deposit", request);
+
+        assertThat(prepared.key()).isEqualTo(scopedKey);
+        assertThat(prepared.operation()).isEqualTo("deposit");
+        assertThat(prepared.requestHash()).isEqualTo(recordedHash);
+        assertThat(prepared.responseBody()).isNull();
+    }
+
+    @Test
+    void prepare_ShouldReturnNull_WhenNoKeyProvided() {
+        request.setIdempotencyKey(null);
+
+        assertThat(idempotencyService.prepare("deposit", request)).isNull();
+    }
+
+    @Test
+    void execute_ShouldRejectOversizedKey() {
+        request.setIdempotencyKey("k".repeat(129));
+
+        assertThatThrownBy(() -> idempotencyService.execute("deposit", request, () -> response))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Idempotency-Key");
+    }
+
+    private String storedHashFor(String operation) {
+        String[] hash = new String[1];
+        when(idempotencyKeyRepository.insert(eq(scopedKey), eq(operation), anyString(), anyString(), any(LocalDateTime.class)))
+            .thenAnswer(invocation -> {
+                hash[0] = invocation.getArgument(2);
+                return 1;
+            });
+        idempotencyService.record(operation, request, response);
+        return hash[0];
+    }
+
+    private IdempotencyKeyEntity storedKey(String requestHash) throws Exception {
+        return IdempotencyKeyEntity.builder()
+            .idempotencyKey(scopedKey)
+            .operation("deposit")
+            .requestHash(requestHash)
+            .responseBody(objectMapper.writeValueAsString(response))
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
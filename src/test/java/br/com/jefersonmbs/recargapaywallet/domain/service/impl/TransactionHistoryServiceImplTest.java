@@ -3,7 +3,9 @@ package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
 import br.com.jefersonmbs.recargapaywallet.domain.dto.TransactionCreationRequest;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletLedgerEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionHistoryRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletLedgerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,10 +15,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,6 +30,9 @@ class TransactionHistoryServiceImplTest {
     @Mock
     private TransactionHistoryRepository transactionHistoryRepository;
 
+    @Mock
+    private WalletLedgerRepository walletLedgerRepository;
+
     @InjectMocks
     private TransactionHistoryServiceImpl transactionHistoryService;
 
@@ -328,4 +335,49 @@ class TransactionHistoryServiceImplTest {
         TransactionHistoryEntity capturedTransaction = transactionCaptor.getValue();
         assertThat(capturedTransaction.getBalanceAfterTransaction()).isEqualTo(BigDecimal.ZERO);
     }
+
+    @Test
+    void createTransaction_ShouldRecordLedgerEntryForTargetWallet_WhenDepositRequest() {
+        TransactionCreationRequest depositRequest = new TransactionCreationRequest(
+            TransactionHistoryEntity.TransactionType.DEPOSIT,
+            BigDecimal.valueOf(200.00),
+            null,
+            targetWallet,
+            "Deposit transaction",
+            BigDecimal.valueOf(500.00),
+            BigDecimal.valueOf(700.00),
+            UUID.randomUUID().toString()
+        );
+
+        TransactionHistoryEntity depositTransaction = TransactionHistoryEntity.builder()
+            .id(UUID.randomUUID())
+            .type(TransactionHistoryEntity.TransactionType.DEPOSIT)
+            .amount(BigDecimal.valueOf(200.00))
+            .targetWallet(targetWallet)
+            .balanceBeforeTransaction(BigDecimal.valueOf(500.00))
+            .balanceAfterTransaction(BigDecimal.valueOf(700.00))
+            .createdAt(LocalDateTime.of(2024, 5, 1, 10, 0))
+            .build();
+
+        when(transactionHistoryRepository.save(any(TransactionHistoryEntity.class))).thenReturn(depositTransaction);
+
+        transactionHistoryService.createTransaction(depositRequest);
+
+        ArgumentCaptor<WalletLedgerEntity> ledgerCaptor = ArgumentCaptor.forClass(WalletLedgerEntity.class);
+        verify(walletLedgerRepository).save(ledgerCaptor.capture());
+
+        WalletLedgerEntity ledgerEntry = ledgerCaptor.getValue();
+        assertThat(ledgerEntry.getWalletId()).isEqualTo(targetWallet.getId());
+        assertThat(ledgerEntry.getTransactionId()).isEqualTo(depositTransaction.getId());
+        assertThat(ledgerEntry.getCreatedAt()).isEqualTo(depositTransaction.getCreatedAt());
+    }
+
+    @Test
+    void createTransaction_ShouldNotRecordLedgerEntry_WhenTypeIsNotShownInHistory() {
+        when(transactionHistoryRepository.save(any(TransactionHistoryEntity.class))).thenReturn(savedTransaction);
+
+        transactionHistoryService.createTransaction(testRequest);
+
+        verify(walletLedgerRepository, never()).save(any(WalletLedgerEntity.class));
+    }
 }
\ No newline at end of file
@@ -5,13 +5,16 @@ import br.com.jefersonmbs.recargapaywallet.api.dto.UserResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.UserUpdateDto;
 import br.com.jefersonmbs.recargapaywallet.api.mapper.UserMapper;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.UserEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.UserRepository;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.cache.WalletRoutingCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -31,6 +34,9 @@ class UserEntityServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private WalletRoutingCache walletRoutingCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -221,24 +227,37 @@ class UserEntityServiceImplTest {
 
     @Test
     void deleteUser_ShouldDeleteUser_WhenUserExists() {
-        when(userRepository.existsById(testUserId)).thenReturn(true);
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUserEntity));
+
+        userService.deleteUser(testUserId);
+
+        verify(userRepository).findById(testUserId);
+        verify(userRepository).deleteById(testUserId);
+    }
+
+    @Test
+    void deleteUser_ShouldInvalidateWalletRouting_WhenUserHasWallet() {
+        testUserEntity.setCpf("12345678901");
+        testUserEntity.setWallet(WalletEntity.builder().accountNumber(9891L).user(testUserEntity).build());
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUserEntity));
 
         userService.deleteUser(testUserId);
 
-        verify(userRepository).existsById(testUserId);
+        verify(walletRoutingCache).invalidate(9891L, "12345678901");
         verify(userRepository).deleteById(testUserId);
     }
 
     @Test
     void deleteUser_ShouldThrowException_WhenUserNotFound() {
-        when(userRepository.existsById(testUserId)).thenReturn(false);
+        when(userRepository.findById(testUserId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.deleteUser(testUserId))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("User not found");
 
-        verify(userRepository).existsById(testUserId);
+        verify(userRepository).findById(testUserId);
         verify(userRepository, never()).deleteById(testUserId);
+        verifyNoInteractions(walletRoutingCache);
     }
 
     @Test
@@ -290,15 +309,34 @@ class UserEntityServiceImplTest {
                 .active(true)
                 .build();
 
-        when(userRepository.findActiveByNameContainingIgnoreCase("Carlos")).thenReturn(matchingUserEntities);
+        when(userRepository.searchActiveByName("Carlos", "%Carlos%", PageRequest.of(0, 20))).thenReturn(matchingUserEntities);
         when(userMapper.toResponseDto(testUserEntity)).thenReturn(expectedResponse);
 
-        List<UserResponseDto> result = userService.searchUsersByName("Carlos");
+        List<UserResponseDto> result = userService.searchUsersByName("Carlos", 0, 20);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getName()).contains("Carlos");
-        verify(userRepository).findActiveByNameContainingIgnoreCase("Carlos");
+        verify(userRepository).searchActiveByName("Carlos", "%Carlos%", PageRequest.of(0, 20));
         verify(userMapper).toResponseDto(testUserEntity);
     }
 
+    @Test
+    void searchUsersByName_ShouldEscapeLikeWildcards() {
+        when(userRepository.searchActiveByName("50%_off", "%50\\%\\_off%", PageRequest.of(1, 10))).thenReturn(Collections.emptyList());
+
+        List<UserResponseDto> result = userService.searchUsersByName("50%_off", 1, 10);
+
+        assertThat(result).isEmpty();
+        verify(userRepository).searchActiveByName("50%_off", "%50\\%\\_off%", PageRequest.of(1, 10));
+    }
+
+    @Test
+    void searchUsersByName_ShouldThrowException_WhenSizeExceedsLimit() {
+        assertThatThrownBy(() -> userService.searchUsersByName("Carlos", 0, 101))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Size must be between 1 and 100");
+
+        verifyNoInteractions(userRepository);
+    }
+
 }
\ No newline at end of file
@@ -1,19 +1,36 @@
 package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
 
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletBalanceShardEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InsufficientBalanceException;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
+import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletBalanceShardRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletStripingProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,230 +39,193 @@ class WalletBalanceServiceImplTest {
     @Mock
     private WalletRepository walletRepository;
 
+    @Mock
+    private WalletBalanceShardRepository walletBalanceShardRepository;
+
+    @Spy
+    private WalletStripingProperties stripingProperties = new WalletStripingProperties();
+
     @InjectMocks
     private WalletBalanceServiceImpl walletBalanceService;
 
     private WalletEntity testWallet;
+    private UUID testWalletId;
 
     @BeforeEach
     void setUp() {
+        testWalletId = UUID.randomUUID();
         testWallet = WalletEntity.builder()
-            .id(UUID.randomUUID())
+            .id(testWalletId)
             .accountNumber(9891L)
-            .balance(BigDecimal.valueOf(1000.00))
+            .balance(new BigDecimal("1000.00"))
             .active(true)
             .build();
     }
 
     @Test
-    void updateBalance_ShouldUpdateWalletBalanceAndSave() {
-        BigDecimal newBalance = BigDecimal.valueOf(1500.00);
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void applyDelta_ShouldReturnBalanceReadAfterConditionalUpdate() {
+        BigDecimal delta = new BigDecimal("250.00");
+        when(walletRepository.applyBalanceDelta(testWalletId, delta)).thenReturn(1);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("1250.00")));
 
-        walletBalanceService.updateBalance(testWallet, newBalance);
+        BigDecimal result = walletBalanceService.applyDelta(testWalletId, delta);
 
-        assertThat(testWallet.getBalance()).isEqualTo(newBalance);
-        verify(walletRepository).save(testWallet);
+        assertThat(result).isEqualByComparingTo("1250.00");
+        verify(walletRepository).applyBalanceDelta(testWalletId, delta);
+        verify(walletRepository).findBalanceById(testWalletId);
     }
 
     @Test
-    void updateBalance_ShouldHandleZeroBalance() {
-        BigDecimal zeroBalance = BigDecimal.ZERO;
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void applyDelta_ShouldThrowInsufficientBalance_WhenNoRowWasUpdated() {
+        BigDecimal delta = new BigDecimal("-1500.00");
+        when(walletRepository.applyBalanceDelta(testWalletId, delta)).thenReturn(0);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("1000.00")));
 
-        walletBalanceService.updateBalance(testWallet, zeroBalance);
-
-        assertThat(testWallet.getBalance()).isEqualTo(BigDecimal.ZERO);
-        verify(walletRepository).save(testWallet);
+        assertThatThrownBy(() -> walletBalanceService.applyDelta(testWalletId, delta))
+            .isInstanceOf(InsufficientBalanceException.class)
+            .hasMessageContaining("Available: 1000.00")
+            .hasMessageContaining("Requested: 1500.00");
     }
 
     @Test
-    void updateBalance_ShouldHandleLargeBalance() {
-        BigDecimal largeBalance = new BigDecimal("999999999.99");
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
-
-        walletBalanceService.updateBalance(testWallet, largeBalance);
+    void applyDelta_ShouldThrowWalletNotFound_WhenWalletDoesNotExist() {
+        BigDecimal delta = new BigDecimal("10.00");
+        when(walletRepository.applyBalanceDelta(testWalletId, delta)).thenReturn(0);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.empty());
 
-        assertThat(testWallet.getBalance()).isEqualTo(largeBalance);
-        verify(walletRepository).save(testWallet);
+        assertThatThrownBy(() -> walletBalanceService.applyDelta(testWalletId, delta))
+            .isInstanceOf(WalletNotFoundException.class)
+            .hasMessageContaining("Wallet not found with ID: " + testWalletId);
     }
 
     @Test
-    void creditAmount_ShouldAddAmountToCurrentBalance() {
-        BigDecimal currentBalance = testWallet.getBalance(); // 1000.00
-        BigDecimal creditAmount = BigDecimal.valueOf(250.00);
-        BigDecimal expectedBalance = currentBalance.add(creditAmount); // 1250.00
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void creditAmount_ShouldApplyPositiveDelta() {
+        BigDecimal creditAmount = new BigDecimal("250.00");
+        when(walletRepository.applyBalanceDelta(testWalletId, creditAmount)).thenReturn(1);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("1250.00")));
 
-        walletBalanceService.creditAmount(testWallet, creditAmount);
+        BigDecimal result = walletBalanceService.creditAmount(testWallet, creditAmount);
 
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        verify(walletRepository).save(testWallet);
+        assertThat(result).isEqualByComparingTo("1250.00");
+        verify(walletRepository).applyBalanceDelta(testWalletId, creditAmount);
     }
 
     @Test
-    void creditAmount_ShouldHandleZeroCreditAmount() {
-        BigDecimal originalBalance = testWallet.getBalance(); // 1000.00
-        BigDecimal creditAmount = BigDecimal.ZERO;
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
-
-        walletBalanceService.creditAmount(testWallet, creditAmount);
-
-        assertThat(testWallet.getBalance()).isEqualTo(originalBalance);
-        verify(walletRepository).save(testWallet);
-    }
-
-    @Test
-    void creditAmount_ShouldHandleSmallDecimalAmount() {
-        BigDecimal originalBalance = testWallet.getBalance(); // 1000.00
+    void creditAmount_ShouldNotMutateOrSaveEntity() {
         BigDecimal creditAmount = new BigDecimal("0.01");
-        BigDecimal expectedBalance = originalBalance.add(creditAmount); // 1000.01
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
-
-        walletBalanceService.creditAmount(testWallet, creditAmount);
-
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        verify(walletRepository).save(testWallet);
-    }
-
-    @Test
-    void creditAmount_ShouldHandleLargeCreditAmount() {
-        BigDecimal originalBalance = testWallet.getBalance(); // 1000.00
-        BigDecimal creditAmount = new BigDecimal("50000.00");
-        BigDecimal expectedBalance = originalBalance.add(creditAmount); // 51000.00
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+        when(walletRepository.applyBalanceDelta(testWalletId, creditAmount)).thenReturn(1);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("1000.01")));
 
         walletBalanceService.creditAmount(testWallet, creditAmount);
 
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        verify(walletRepository).save(testWallet);
+        assertThat(testWallet.getBalance()).isEqualByComparingTo("1000.00");
+        verify(walletRepository, never()).save(any(WalletEntity.class));
     }
 
     @Test
-    void debitAmount_ShouldSubtractAmountFromCurrentBalance() {
-        BigDecimal currentBalance = testWallet.getBalance(); // 1000.00
-        BigDecimal debitAmount = BigDecimal.valueOf(300.00);
-        BigDecimal expectedBalance = currentBalance.subtract(debitAmount); // 700.00
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void debitAmount_ShouldApplyNegatedDelta() {
+        BigDecimal debitAmount = new BigDecimal("300.00");
+        BigDecimal expectedDelta = new BigDecimal("-300.00");
+        when(walletRepository.applyBalanceDelta(testWalletId, expectedDelta)).thenReturn(1);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("700.00")));
 
-        walletBalanceService.debitAmount(testWallet, debitAmount);
+        BigDecimal result = walletBalanceService.debitAmount(testWallet, debitAmount);
 
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        verify(walletRepository).save(testWallet);
+        assertThat(result).isEqualByComparingTo("700.00");
+        verify(walletRepository).applyBalanceDelta(testWalletId, expectedDelta);
     }
 
     @Test
-    void debitAmount_ShouldHandleZeroDebitAmount() {
-        BigDecimal originalBalance = testWallet.getBalance(); // 1000.00
-        BigDecimal debitAmount = BigDecimal.ZERO;
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
-
-        walletBalanceService.debitAmount(testWallet, debitAmount);
-
-        assertThat(testWallet.getBalance()).isEqualTo(originalBalance);
-        verify(walletRepository).save(testWallet);
-    }
-
-    @Test
-    void debitAmount_ShouldHandleSmallDecimalAmount() {
-        BigDecimal originalBalance = testWallet.getBalance(); // 1000.00
-        BigDecimal debitAmount = new BigDecimal("0.01");
-        BigDecimal expectedBalance = originalBalance.subtract(debitAmount); // 999.99
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
-
-        walletBalanceService.debitAmount(testWallet, debitAmount);
-
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        verify(walletRepository).save(testWallet);
-    }
-
-    @Test
-    void debitAmount_ShouldAllowNegativeBalanceResult() {
-        BigDecimal originalBalance = testWallet.getBalance(); // 1000.00
-        BigDecimal debitAmount = BigDecimal.valueOf(1500.00);
-        BigDecimal expectedBalance = originalBalance.subtract(debitAmount); // -500.00
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void debitAmount_ShouldHandleCompleteWithdrawal() {
+        BigDecimal debitAmount = new BigDecimal("1000.00");
+        when(walletRepository.applyBalanceDelta(testWalletId, debitAmount.negate())).thenReturn(1);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("0.00")));
 
-        walletBalanceService.debitAmount(testWallet, debitAmount);
+        BigDecimal result = walletBalanceService.debitAmount(testWallet, debitAmount);
 
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        assertThat(testWallet.getBalance()).isNegative();
-        verify(walletRepository).save(testWallet);
+        assertThat(result).isEqualByComparingTo(BigDecimal.ZERO);
     }
 
     @Test
-    void debitAmount_ShouldHandleCompleteWithdrawal() {
-        BigDecimal debitAmount = testWallet.getBalance();
-        BigDecimal expectedBalance = BigDecimal.valueOf(0.0);
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void debitAmount_ShouldRejectNegativeBalanceResult() {
+        BigDecimal debitAmount = new BigDecimal("1500.00");
+        when(walletRepository.applyBalanceDelta(testWalletId, debitAmount.negate())).thenReturn(0);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("1000.00")));
 
-        walletBalanceService.debitAmount(testWallet, debitAmount);
+        assertThatThrownBy(() -> walletBalanceService.debitAmount(testWallet, debitAmount))
+            .isInstanceOf(InsufficientBalanceException.class);
 
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        verify(walletRepository).save(testWallet);
+        verify(walletRepository, never()).save(any(WalletEntity.class));
     }
 
     @Test
-    void creditAmount_ShouldWorkWithZeroInitialBalance() {
-        testWallet.setBalance(BigDecimal.ZERO);
-        BigDecimal creditAmount = BigDecimal.valueOf(500.00);
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void creditAmount_ShouldCreditAShard_WhenWalletIsStriped() {
+        stripingProperties.setEnabled(true);
+        stripingProperties.setShards(4);
+        stripingProperties.getWalletIds().add(testWalletId);
+        BigDecimal creditAmount = new BigDecimal("25.00");
+        when(walletBalanceShardRepository.credit(eq(testWalletId), anyInt(), eq(creditAmount))).thenReturn(1);
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("1000.00")));
+        when(walletBalanceShardRepository.sumBalanceByWalletId(testWalletId)).thenReturn(new BigDecimal("25.00"));
 
-        walletBalanceService.creditAmount(testWallet, creditAmount);
+        BigDecimal result = walletBalanceService.creditAmount(testWallet, creditAmount);
 
-        assertThat(testWallet.getBalance()).isEqualTo(creditAmount);
-        verify(walletRepository).save(testWallet);
+        assertThat(result).isEqualByComparingTo("1025.00");
+        verify(walletRepository, never()).applyBalanceDelta(any(), any());
     }
 
     @Test
-    void debitAmount_ShouldWorkWithZeroInitialBalance() {
-        testWallet.setBalance(BigDecimal.ZERO);
-        BigDecimal debitAmount = BigDecimal.valueOf(100.00);
-        BigDecimal expectedBalance = BigDecimal.ZERO.subtract(debitAmount); // -100.00
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void creditAmount_ShouldRejectCredit_WhenShardIsNotProvisioned() {
+        stripingProperties.setEnabled(true);
+        stripingProperties.getWalletIds().add(testWalletId);
+        BigDecimal creditAmount = new BigDecimal("25.00");
+        when(walletBalanceShardRepository.credit(eq(testWalletId), anyInt(), eq(creditAmount))).thenReturn(0);
 
-        walletBalanceService.debitAmount(testWallet, debitAmount);
+        assertThatThrownBy(() -> walletBalanceService.creditAmount(testWallet, creditAmount))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("is not provisioned");
 
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        assertThat(testWallet.getBalance()).isNegative();
-        verify(walletRepository).save(testWallet);
+        verify(walletRepository, never()).applyBalanceDelta(any(), any());
     }
 
     @Test
-    void updateBalance_ShouldPreservePrecision() {
-        BigDecimal preciseBalance = new BigDecimal("1234.567890");
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
-
-        walletBalanceService.updateBalance(testWallet, preciseBalance);
+    void totalBalance_ShouldNotReadShards_WhenWalletIsNotStriped() {
+        BigDecimal result = walletBalanceService.totalBalance(testWallet);
 
-        assertThat(testWallet.getBalance()).isEqualTo(preciseBalance);
-        assertThat(testWallet.getBalance().scale()).isEqualTo(6);
-        verify(walletRepository).save(testWallet);
+        assertThat(result).isEqualByComparingTo("1000.00");
+        verifyNoInteractions(walletBalanceShardRepository);
     }
 
     @Test
-    void creditAmount_ShouldMaintainPrecisionInCalculation() {
-        testWallet.setBalance(new BigDecimal("999.99"));
-        BigDecimal creditAmount = new BigDecimal("0.01");
-        BigDecimal expectedBalance = new BigDecimal("1000.00");
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void totalBalance_ShouldAddShardSum_WhenWalletIsStriped() {
+        stripingProperties.setEnabled(true);
+        stripingProperties.getWalletIds().add(testWalletId);
+        when(walletBalanceShardRepository.sumBalanceByWalletId(testWalletId)).thenReturn(new BigDecimal("75.00"));
 
-        walletBalanceService.creditAmount(testWallet, creditAmount);
+        BigDecimal result = walletBalanceService.totalBalance(testWallet);
 
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        verify(walletRepository).save(testWallet);
+        assertThat(result).isEqualByComparingTo("1075.00");
     }
 
     @Test
-    void debitAmount_ShouldMaintainPrecisionInCalculation() {
-        testWallet.setBalance(new BigDecimal("1000.00"));
-        BigDecimal debitAmount = new BigDecimal("0.01");
-        BigDecimal expectedBalance = new BigDecimal("999.99");
-        when(walletRepository.save(testWallet)).thenReturn(testWallet);
+    void debitAmount_ShouldSweepShardsAndRetry_WhenWalletRowIsShort() {
+        BigDecimal debitAmount = new BigDecimal("1200.00");
+        BigDecimal delta = debitAmount.negate();
+        when(walletRepository.applyBalanceDelta(eq(testWalletId), any())).thenReturn(0, 1, 1);
+        when(walletRepository.findByIdForUpdate(testWalletId)).thenReturn(Optional.of(testWallet));
+        when(walletBalanceShardRepository.findByWalletIdForUpdate(testWalletId)).thenReturn(List.of(
+            WalletBalanceShardEntity.builder().walletId(testWalletId).shardNo(0).balance(new BigDecimal("150.00")).build(),
+            WalletBalanceShardEntity.builder().walletId(testWalletId).shardNo(1).balance(new BigDecimal("100.00")).build()));
+        when(walletRepository.findBalanceById(testWalletId)).thenReturn(Optional.of(new BigDecimal("50.00")));
 
-        walletBalanceService.debitAmount(testWallet, debitAmount);
+        BigDecimal result = walletBalanceService.debitAmount(testWallet, debitAmount);
 
-        assertThat(testWallet.getBalance()).isEqualTo(expectedBalance);
-        verify(walletRepository).save(testWallet);
+        assertThat(result).isEqualByComparingTo("50.00");
+        InOrder order = inOrder(walletRepository, walletBalanceShardRepository);
+        order.verify(walletRepository).findByIdForUpdate(testWalletId);
+        order.verify(walletBalanceShardRepository).findByWalletIdForUpdate(testWalletId);
+        order.verify(walletBalanceShardRepository).drain(testWalletId);
+        order.verify(walletRepository).applyBalanceDelta(eq(testWalletId), argThat(swept -> swept.compareTo(new BigDecimal("250.00")) == 0));
+        order.verify(walletRepository).applyBalanceDelta(testWalletId, delta);
     }
 }
\ No newline at end of file
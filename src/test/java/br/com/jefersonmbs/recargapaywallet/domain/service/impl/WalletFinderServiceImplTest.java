@@ -5,6 +5,7 @@ import br.com.jefersonmbs.recargapaywallet.domain.entity.UserEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.cache.WalletRoutingCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +20,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +29,9 @@ class WalletFinderServiceImplTest {
     @Mock
     private WalletRepository walletRepository;
 
+    @Mock
+    private WalletRoutingCache walletRoutingCache;
+
     @InjectMocks
     private WalletFinderServiceImpl walletFinderService;
 
@@ -304,4 +309,72 @@ class WalletFinderServiceImplTest {
         assertThat(result.getId()).isEqualTo(randomUUID);
         verify(walletRepository).findById(randomUUID);
     }
+
+    @Test
+    void resolveTargetWalletId_ShouldReturnRequestWalletId_WithoutQuery() {
+        TransactionRequestDto request = TransactionRequestDto.builder()
+            .targetWalletId(testWalletId)
+            .build();
+
+        UUID result = walletFinderService.resolveTargetWalletId(request);
+
+        assertThat(result).isEqualTo(testWalletId);
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    void resolveTargetWalletId_ShouldResolveByAccountNumber() {
+        TransactionRequestDto request = TransactionRequestDto.builder()
+            .targetAccountNumber(testAccountNumber)
+            .build();
+
+        when(walletRepository.findIdByAccountNumber(testAccountNumber)).thenReturn(Optional.of(testWalletId));
+
+        UUID result = walletFinderService.resolveTargetWalletId(request);
+
+        assertThat(result).isEqualTo(testWalletId);
+        verify(walletRepository).findIdByAccountNumber(testAccountNumber);
+        verify(walletRoutingCache).putAccountNumber(testAccountNumber, testWalletId);
+    }
+
+    @Test
+    void resolveTargetWalletId_ShouldSkipQuery_WhenAccountNumberIsCached() {
+        TransactionRequestDto request = TransactionRequestDto.builder()
+            .targetAccountNumber(testAccountNumber)
+            .build();
+
+        when(walletRoutingCache.getByAccountNumber(testAccountNumber)).thenReturn(testWalletId);
+
+        UUID result = walletFinderService.resolveTargetWalletId(request);
+
+        assertThat(result).isEqualTo(testWalletId);
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    void resolveTargetWalletId_ShouldSkipQuery_WhenCpfIsCached() {
+        TransactionRequestDto request = TransactionRequestDto.builder()
+            .targetUserCpf(testUserCpf)
+            .build();
+
+        when(walletRoutingCache.getByCpf(testUserCpf)).thenReturn(testWalletId);
+
+        UUID result = walletFinderService.resolveTargetWalletId(request);
+
+        assertThat(result).isEqualTo(testWalletId);
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    void resolveTargetWalletId_ShouldThrowException_WhenCpfNotFound() {
+        TransactionRequestDto request = TransactionRequestDto.builder()
+            .targetUserCpf(testUserCpf)
+            .build();
+
+        when(walletRepository.findIdByUserCpf(testUserCpf)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> walletFinderService.resolveTargetWalletId(request))
+            .isInstanceOf(WalletNotFoundException.class)
+            .hasMessageContaining("Target wallet not found for user CPF: " + testUserCpf);
+    }
 }
\ No newline at end of file
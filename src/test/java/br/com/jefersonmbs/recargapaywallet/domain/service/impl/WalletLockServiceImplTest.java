@@ -0,0 +1,101 @@
+package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletLockProperties;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WalletLockServiceImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    private WalletLockServiceImpl walletLockService;
+
+    private final UUID lowerWalletId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private final UUID higherWalletId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @BeforeEach
+    void setUp() {
+        walletLockService = new WalletLockServiceImpl(entityManager, new WalletLockProperties());
+    }
+
+    @Test
+    void lockInOrder_ShouldLockWalletsInAscendingIdOrder_RegardlessOfRequestOrder() {
+        WalletEntity lowerWallet = WalletEntity.builder().id(lowerWalletId).build();
+        WalletEntity higherWallet = WalletEntity.builder().id(higherWalletId).build();
+        when(entityManager.find(eq(WalletEntity.class), eq(lowerWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap()))
+            .thenReturn(lowerWallet);
+        when(entityManager.find(eq(WalletEntity.class), eq(higherWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap()))
+            .thenReturn(higherWallet);
+
+        Map<UUID, WalletEntity> result = walletLockService.lockInOrder(List.of(higherWalletId, lowerWalletId));
+
+        assertThat(result).containsEntry(lowerWalletId, lowerWallet).containsEntry(higherWalletId, higherWallet);
+        InOrder lockOrder = inOrder(entityManager);
+        lockOrder.verify(entityManager).find(eq(WalletEntity.class), eq(lowerWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap());
+        lockOrder.verify(entityManager).find(eq(WalletEntity.class), eq(higherWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap());
+    }
+
+    @Test
+    void lockInOrder_ShouldLockSameWalletOnlyOnce() {
+        WalletEntity wallet = WalletEntity.builder().id(lowerWalletId).build();
+        when(entityManager.find(eq(WalletEntity.class), eq(lowerWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap()))
+            .thenReturn(wallet);
+
+        Map<UUID, WalletEntity> result = walletLockService.lockInOrder(List.of(lowerWalletId, lowerWalletId));
+
+        assertThat(result).hasSize(1);
+        verify(entityManager, times(1))
+            .find(eq(WalletEntity.class), eq(lowerWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap());
+    }
+
+    @Test
+    void lockInOrder_ShouldTakeSharedLock_OnlyForSharedWallets() {
+        WalletEntity lowerWallet = WalletEntity.builder().id(lowerWalletId).build();
+        WalletEntity higherWallet = WalletEntity.builder().id(higherWalletId).build();
+        when(entityManager.find(eq(WalletEntity.class), eq(lowerWalletId), eq(LockModeType.PESSIMISTIC_READ), anyMap()))
+            .thenReturn(lowerWallet);
+        when(entityManager.find(eq(WalletEntity.class), eq(higherWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap()))
+            .thenReturn(higherWallet);
+
+        Map<UUID, WalletEntity> result = walletLockService.lockInOrder(List.of(higherWalletId, lowerWalletId), Set.of(lowerWalletId));
+
+        assertThat(result).containsEntry(lowerWalletId, lowerWallet).containsEntry(higherWalletId, higherWallet);
+        InOrder lockOrder = inOrder(entityManager);
+        lockOrder.verify(entityManager).find(eq(WalletEntity.class), eq(lowerWalletId), eq(LockModeType.PESSIMISTIC_READ), anyMap());
+        lockOrder.verify(entityManager).find(eq(WalletEntity.class), eq(higherWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap());
+    }
+
+    @Test
+    void lockInOrder_ShouldThrowException_WhenWalletNotFound() {
+        when(entityManager.find(eq(WalletEntity.class), eq(lowerWalletId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap()))
+            .thenReturn(null);
+
+        assertThatThrownBy(() -> walletLockService.lockInOrder(List.of(lowerWalletId)))
+            .isInstanceOf(WalletNotFoundException.class)
+            .hasMessageContaining("Wallet not found with ID: " + lowerWalletId);
+    }
+}
\ No newline at end of file
@@ -1,13 +1,13 @@
 package br.com.jefersonmbs.recargapaywallet.domain.service.impl;
 
+import br.com.jefersonmbs.recargapaywallet.api.dto.CursorTransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.PagedTransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionHistoryRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
 import br.com.jefersonmbs.recargapaywallet.api.dto.WalletResponseDto;
-import br.com.jefersonmbs.recargapaywallet.api.mapper.TransactionMapper;
 import br.com.jefersonmbs.recargapaywallet.api.mapper.WalletMapper;
-import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.dto.HistoryCursor;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.UserEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.entity.WalletEntity;
 import br.com.jefersonmbs.recargapaywallet.domain.exception.WalletNotFoundException;
@@ -15,15 +15,19 @@ import br.com.jefersonmbs.recargapaywallet.domain.factory.TransactionStrategyFac
 import br.com.jefersonmbs.recargapaywallet.domain.repository.TransactionHistoryRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.UserRepository;
 import br.com.jefersonmbs.recargapaywallet.domain.repository.WalletRepository;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletBalanceService;
 import br.com.jefersonmbs.recargapaywallet.domain.service.WalletFinderService;
 import br.com.jefersonmbs.recargapaywallet.domain.strategy.TransactionStrategy;
 import br.com.jefersonmbs.recargapaywallet.domain.validator.WalletValidator;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.cache.WalletRoutingCache;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.SingleWriterWalletEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +46,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -61,9 +66,6 @@ class WalletServiceImplTest {
     @Mock
     private WalletMapper walletMapper;
 
-    @Mock
-    private TransactionMapper transactionMapper;
-
     @Mock
     private WalletValidator walletValidator;
 
@@ -73,6 +75,15 @@ class WalletServiceImplTest {
     @Mock
     private WalletFinderService walletFinderService;
 
+    @Mock
+    private WalletBalanceService walletBalanceService;
+
+    @Mock
+    private WalletRoutingCache walletRoutingCache;
+
+    @Mock
+    private ObjectProvider<SingleWriterWalletEngine> singleWriterWalletEngine;
+
     @Mock
     private TransactionStrategy depositStrategy;
 
@@ -158,6 +169,7 @@ class WalletServiceImplTest {
         verify(walletValidator).validateWalletDoesNotExist(testUserId);
         verify(userRepository).findById(testUserId);
         verify(walletRepository).save(any(WalletEntity.class));
+        verify(walletRoutingCache).invalidate(9891L, testUser.getCpf());
         verify(walletMapper).toResponseDto(testWallet);
     }
 
@@ -221,6 +233,18 @@ class WalletServiceImplTest {
         verify(walletMapper).toResponseDto(testWallet);
     }
 
+    @Test
+    void getWalletByAccountNumber_ShouldIncludeShardBalance_WhenWalletIsStriped() {
+        when(walletRepository.findByAccountNumber(testAccountNumber)).thenReturn(Optional.of(testWallet));
+        when(walletMapper.toResponseDto(testWallet)).thenReturn(testWalletResponse);
+        when(walletBalanceService.isStriped(testWalletId)).thenReturn(true);
+        when(walletBalanceService.shardBalance(testWalletId)).thenReturn(BigDecimal.valueOf(250.00));
+
+        WalletResponseDto result = walletService.getWalletByAccountNumber(testAccountNumber);
+
+        assertThat(result.getBalance()).isEqualByComparingTo("1250.00");
+    }
+
     @Test
     void getWalletByAccountNumber_ShouldThrowException_WhenWalletNotFound() {
         doNothing().when(walletValidator).validateAccountNumber(testAccountNumber);
@@ -287,15 +311,8 @@ class WalletServiceImplTest {
 
     @Test
     void getTransactionHistoryPaginated_ShouldReturnPagedResponse_WithoutDateFilter() {
-        TransactionHistoryEntity transaction = TransactionHistoryEntity.builder()
-            .id(UUID.randomUUID())
-            .type(TransactionHistoryEntity.TransactionType.DEPOSIT)
-            .amount(BigDecimal.valueOf(100.00))
-            .build();
-
-        List<TransactionHistoryEntity> transactions = Arrays.asList(transaction);
-        Page<TransactionHistoryEntity> transactionPage = new PageImpl<>(transactions, PageRequest.of(0, 20), 1);
         List<TransactionResponseDto> transactionDtos = Arrays.asList(testTransactionResponse);
+        Page<TransactionResponseDto> transactionPage = new PageImpl<>(transactionDtos, PageRequest.of(0, 20), 1);
 
         doNothing().when(walletValidator).validateWalletId(testWalletId);
         doNothing().when(walletValidator).validateUserId(testUserId);
@@ -303,9 +320,8 @@ class WalletServiceImplTest {
         when(walletFinderService.findWalletById(testWalletId)).thenReturn(testWallet);
         doNothing().when(walletValidator).validateWalletOwnership(testWallet, testUserId);
         doNothing().when(walletValidator).validateDateRange(testHistoryRequest);
-        when(transactionHistoryRepository.findByWalletIdPageable(eq(testWalletId), any(Pageable.class)))
+        when(transactionHistoryRepository.findResponsesByWalletIdPageable(eq(testWalletId), any(Pageable.class)))
             .thenReturn(transactionPage);
-        when(transactionMapper.toResponseDtoList(transactions)).thenReturn(transactionDtos);
 
         PagedTransactionResponseDto result = walletService.getTransactionHistoryPaginated(
             testWalletId, testUserId, testHistoryRequest);
@@ -322,8 +338,7 @@ class WalletServiceImplTest {
         verify(walletFinderService).findWalletById(testWalletId);
         verify(walletValidator).validateWalletOwnership(testWallet, testUserId);
         verify(walletValidator).validateDateRange(testHistoryRequest);
-        verify(transactionHistoryRepository).findByWalletIdPageable(eq(testWalletId), any(Pageable.class));
-        verify(transactionMapper).toResponseDtoList(transactions);
+        verify(transactionHistoryRepository).findResponsesByWalletIdPageable(eq(testWalletId), any(Pageable.class));
     }
 
     @Test
@@ -340,15 +355,8 @@ class WalletServiceImplTest {
             .sortDirection("DESC")
             .build();
 
-        TransactionHistoryEntity transaction = TransactionHistoryEntity.builder()
-            .id(UUID.randomUUID())
-            .type(TransactionHistoryEntity.TransactionType.DEPOSIT)
-            .amount(BigDecimal.valueOf(100.00))
-            .build();
-
-        List<TransactionHistoryEntity> transactions = Arrays.asList(transaction);
-        Page<TransactionHistoryEntity> transactionPage = new PageImpl<>(transactions, PageRequest.of(0, 20), 1);
         List<TransactionResponseDto> transactionDtos = Arrays.asList(testTransactionResponse);
+        Page<TransactionResponseDto> transactionPage = new PageImpl<>(transactionDtos, PageRequest.of(0, 20), 1);
 
         doNothing().when(walletValidator).validateWalletId(testWalletId);
         doNothing().when(walletValidator).validateUserId(testUserId);
@@ -356,19 +364,18 @@ class WalletServiceImplTest {
         when(walletFinderService.findWalletById(testWalletId)).thenReturn(testWallet);
         doNothing().when(walletValidator).validateWalletOwnership(testWallet, testUserId);
         doNothing().when(walletValidator).validateDateRange(requestWithDates);
-        when(transactionHistoryRepository.findByWalletIdAndDateRangePageable(
+        when(transactionHistoryRepository.findResponsesByWalletIdAndDateRangePageable(
             eq(testWalletId), 
             eq(startDate.atStartOfDay()),
             eq(endDate.atTime(LocalTime.MAX)),
             any(Pageable.class))).thenReturn(transactionPage);
-        when(transactionMapper.toResponseDtoList(transactions)).thenReturn(transactionDtos);
 
         PagedTransactionResponseDto result = walletService.getTransactionHistoryPaginated(
             testWalletId, testUserId, requestWithDates);
 
 
         assertThat(result.getContent()).isEqualTo(transactionDtos);
-        verify(transactionHistoryRepository).findByWalletIdAndDateRangePageable(
+        verify(transactionHistoryRepository).findResponsesByWalletIdAndDateRangePageable(
             eq(testWalletId), 
             eq(startDate.atStartOfDay()),
             eq(endDate.atTime(LocalTime.MAX)),
@@ -413,19 +420,12 @@ class WalletServiceImplTest {
             .sortDirection("ASC")
             .build();
 
-        TransactionHistoryEntity transaction = TransactionHistoryEntity.builder()
-            .id(UUID.randomUUID())
-            .type(TransactionHistoryEntity.TransactionType.DEPOSIT)
-            .amount(BigDecimal.valueOf(100.00))
-            .build();
-
-        List<TransactionHistoryEntity> transactions = Arrays.asList(transaction);
-        Page<TransactionHistoryEntity> transactionPage = new PageImpl<>(
-            transactions, 
+        List<TransactionResponseDto> transactionDtos = Arrays.asList(testTransactionResponse);
+        Page<TransactionResponseDto> transactionPage = new PageImpl<>(
+            transactionDtos, 
             PageRequest.of(1, 10, Sort.by(Sort.Direction.ASC, "amount")), 
             1
         );
-        List<TransactionResponseDto> transactionDtos = Collections.singletonList(testTransactionResponse);
 
         doNothing().when(walletValidator).validateWalletId(testWalletId);
         doNothing().when(walletValidator).validateUserId(testUserId);
@@ -433,9 +433,8 @@ class WalletServiceImplTest {
         when(walletFinderService.findWalletById(testWalletId)).thenReturn(testWallet);
         doNothing().when(walletValidator).validateWalletOwnership(testWallet, testUserId);
         doNothing().when(walletValidator).validateDateRange(customSortRequest);
-        when(transactionHistoryRepository.findByWalletIdPageable(eq(testWalletId), any(Pageable.class)))
+        when(transactionHistoryRepository.findResponsesByWalletIdPageable(eq(testWalletId), any(Pageable.class)))
             .thenReturn(transactionPage);
-        when(transactionMapper.toResponseDtoList(transactions)).thenReturn(transactionDtos);
 
         PagedTransactionResponseDto result = walletService.getTransactionHistoryPaginated(
             testWalletId, testUserId, customSortRequest);
@@ -443,6 +442,72 @@ class WalletServiceImplTest {
 
         assertThat(result.getPage()).isEqualTo(1);
         assertThat(result.getSize()).isEqualTo(10);
-        verify(transactionHistoryRepository).findByWalletIdPageable(eq(testWalletId), any(Pageable.class));
+        verify(transactionHistoryRepository).findResponsesByWalletIdPageable(eq(testWalletId), any(Pageable.class));
+    }
+
+    @Test
+    void getTransactionHistoryByCursor_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        TransactionHistoryRequestDto cursorRequest = TransactionHistoryRequestDto.builder()
+            .size(1)
+            .build();
+        TransactionResponseDto newest = TransactionResponseDto.builder()
+            .id(UUID.randomUUID())
+            .createdAt(LocalDateTime.of(2024, 5, 2, 10, 0))
+            .build();
+        TransactionResponseDto older = TransactionResponseDto.builder()
+            .id(UUID.randomUUID())
+            .createdAt(LocalDateTime.of(2024, 5, 1, 10, 0))
+            .build();
+
+        when(walletFinderService.findWalletById(testWalletId)).thenReturn(testWallet);
+        when(transactionHistoryRepository.findResponsesByWalletIdAfterCursor(
+            eq(testWalletId), eq(HistoryCursor.FIRST_PAGE.createdAt()), eq(HistoryCursor.FIRST_PAGE.id()), eq(PageRequest.of(0, 2))))
+            .thenReturn(Arrays.asList(newest, older));
+
+        CursorTransactionResponseDto result = walletService.getTransactionHistoryByCursor(testWalletId, testUserId, cursorRequest);
+
+        assertThat(result.getContent()).containsExactly(newest);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(HistoryCursor.decode(result.getNextCursor()))
+            .isEqualTo(new HistoryCursor(newest.getCreatedAt(), newest.getId()));
+        verify(walletValidator).validateWalletOwnership(testWallet, testUserId);
+        verify(transactionHistoryRepository, never()).countByWalletId(any());
+    }
+
+    @Test
+    void getTransactionHistoryByCursor_ShouldSeekFromCursor_AndCount_WhenRequested() {
+        HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2024, 5, 1, 10, 0), UUID.randomUUID());
+        TransactionHistoryRequestDto cursorRequest = TransactionHistoryRequestDto.builder()
+            .cursor(cursor.encode())
+            .size(20)
+            .includeCount(true)
+            .build();
+
+        when(walletFinderService.findWalletById(testWalletId)).thenReturn(testWallet);
+        when(transactionHistoryRepository.findResponsesByWalletIdAfterCursor(
+            eq(testWalletId), eq(cursor.createdAt()), eq(cursor.id()), any(Pageable.class)))
+            .thenReturn(Collections.singletonList(testTransactionResponse));
+        when(transactionHistoryRepository.countByWalletId(testWalletId)).thenReturn(21L);
+
+        CursorTransactionResponseDto result = walletService.getTransactionHistoryByCursor(testWalletId, testUserId, cursorRequest);
+
+        assertThat(result.getContent()).containsExactly(testTransactionResponse);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getTotalElements()).isEqualTo(21L);
+    }
+
+    @Test
+    void getTransactionHistoryByCursor_ShouldThrowException_WhenCursorIsMalformed() {
+        TransactionHistoryRequestDto cursorRequest = TransactionHistoryRequestDto.builder()
+            .cursor("not-a-cursor")
+            .build();
+
+        when(walletFinderService.findWalletById(testWalletId)).thenReturn(testWallet);
+
+        assertThatThrownBy(() -> walletService.getTransactionHistoryByCursor(testWalletId, testUserId, cursorRequest))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid history cursor");
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditPartitionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditArchiveTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private AuditArchive auditArchive;
+
+    @BeforeEach
+    void setUp() {
+        WalletAuditPartitionProperties partitionProperties = new WalletAuditPartitionProperties();
+        partitionProperties.setArchiveDir(archiveDir);
+        auditArchive = new AuditArchive(partitionProperties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void write_ShouldCreateCompressedArchiveWithSha256Sidecar() throws IOException {
+        long written = auditArchive.write("tb_transaction_audit_2024_01",
+            sink -> List.of(buildAudit(UUID.randomUUID(), "corr-1"), buildAudit(UUID.randomUUID(), "corr-2")).forEach(sink));
+
+        assertThat(written).isEqualTo(2);
+        assertThat(archiveDir.resolve("tb_transaction_audit_2024_01.ndjson.gz")).exists();
+        assertThat(archiveDir.resolve("tb_transaction_audit_2024_01.ndjson.gz.partial")).doesNotExist();
+        assertThat(Files.readString(archiveDir.resolve("tb_transaction_audit_2024_01.ndjson.gz.sha256")))
+            .matches("[0-9a-f]{64}  tb_transaction_audit_2024_01\\.ndjson\\.gz\\n");
+    }
+
+    @Test
+    void search_ShouldReturnMatchingRecordsAcrossArchives() {
+        UUID transactionId = UUID.randomUUID();
+        auditArchive.write("tb_transaction_audit_2024_01",
+            sink -> List.of(buildAudit(transactionId, "corr-1"), buildAudit(UUID.randomUUID(), "corr-2")).forEach(sink));
+        auditArchive.write("tb_transaction_audit_2024_02", sink -> sink.accept(buildAudit(transactionId, "corr-1")));
+
+        List<TransactionAuditEntity> matches = auditArchive.search(YearMonth.of(2024, 1), YearMonth.of(2024, 2),
+            audit -> transactionId.equals(audit.getTransactionId()));
+
+        assertThat(matches).hasSize(2).allSatisfy(audit -> assertThat(audit.getCorrelationId()).isEqualTo("corr-1"));
+    }
+
+    @Test
+    void search_ShouldOnlyReadArchivesOfRequestedMonths() throws IOException {
+        UUID transactionId = UUID.randomUUID();
+        auditArchive.write("tb_transaction_audit_legacy", sink -> sink.accept(buildAudit(transactionId, "corr-0")));
+        auditArchive.write("tb_transaction_audit_2024_01", sink -> sink.accept(buildAudit(transactionId, "corr-1")));
+        auditArchive.write("tb_transaction_audit_2024_02", sink -> sink.accept(buildAudit(transactionId, "corr-2")));
+        // A month outside the range is never opened, so even a corrupt one does not fail the search
+        Files.writeString(archiveDir.resolve("tb_transaction_audit_2024_01.ndjson.gz.sha256"),
+            "0".repeat(64) + "  tb_transaction_audit_2024_01.ndjson.gz\n", StandardCharsets.UTF_8);
+
+        assertThat(auditArchive.search(YearMonth.of(2024, 2), YearMonth.of(2024, 3), audit -> true))
+            .extracting(TransactionAuditEntity::getCorrelationId)
+            .containsExactly("corr-2");
+        assertThat(auditArchive.search(YearMonth.of(2023, 12), YearMonth.of(2023, 12), audit -> true))
+            .extracting(TransactionAuditEntity::getCorrelationId)
+            .containsExactly("corr-0");
+    }
+
+    @Test
+    void search_ShouldReturnEmpty_WhenArchiveDirectoryDoesNotExist() {
+        WalletAuditPartitionProperties partitionProperties = new WalletAuditPartitionProperties();
+        partitionProperties.setArchiveDir(archiveDir.resolve("missing"));
+        AuditArchive emptyArchive = new AuditArchive(partitionProperties, new ObjectMapper().findAndRegisterModules());
+
+        assertThat(emptyArchive.search(YearMonth.of(2024, 1), YearMonth.of(2024, 1), audit -> true)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldFail_WhenArchiveDoesNotMatchItsChecksum() throws IOException {
+        auditArchive.write("tb_transaction_audit_2024_01", sink -> sink.accept(buildAudit(UUID.randomUUID(), "corr-1")));
+        Files.writeString(archiveDir.resolve("tb_transaction_audit_2024_01.ndjson.gz.sha256"),
+            "0".repeat(64) + "  tb_transaction_audit_2024_01.ndjson.gz\n", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> auditArchive.search(YearMonth.of(2024, 1), YearMonth.of(2024, 1), audit -> true))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("failed checksum verification");
+    }
+
+    private TransactionAuditEntity buildAudit(UUID transactionId, String correlationId) {
+        return TransactionAuditEntity.builder()
+            .id(UUID.randomUUID())
+            .transactionId(transactionId)
+            .walletId(UUID.randomUUID())
+            .userId(1L)
+            .operationType(TransactionAuditEntity.OperationType.CREDIT)
+            .amount(new BigDecimal("10.00"))
+            .balanceBefore(BigDecimal.ZERO)
+            .balanceAfter(new BigDecimal("10.00"))
+            .status(TransactionAuditEntity.TransactionStatus.COMPLETED)
+            .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+            .createdBy("SYSTEM")
+            .correlationId(correlationId)
+            .build();
+    }
+}
\ No newline at end of file
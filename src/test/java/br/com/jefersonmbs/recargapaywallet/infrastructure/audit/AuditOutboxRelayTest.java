@@ -0,0 +1,49 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditOutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AuditOutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        WalletAuditProperties auditProperties = new WalletAuditProperties();
+        auditProperties.setBatchSize(2);
+        outboxRelay = new AuditOutboxRelay(jdbcTemplate, transactionTemplate, auditProperties, new SimpleMeterRegistry());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void relay_ShouldKeepDraining_WhileFullBatchesAreClaimed() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(2))).thenReturn(2, 2, 1);
+
+        outboxRelay.relay();
+
+        verify(jdbcTemplate, times(3)).queryForObject(anyString(), eq(Integer.class), eq(2));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletAuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingAuditWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AuditFallbackJournal fallbackJournal;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BatchingAuditWriter auditWriter;
+
+    @BeforeEach
+    void setUp() {
+        WalletAuditProperties auditProperties = new WalletAuditProperties();
+        auditProperties.setBatchSize(3);
+        auditProperties.setFlushInterval(Duration.ofMillis(20));
+        auditProperties.setShutdownTimeout(Duration.ofSeconds(1));
+
+        auditWriter = new BatchingAuditWriter(jdbcTemplate, fallbackJournal, auditProperties, new SimpleMeterRegistry(),
+            transactionManager);
+        auditWriter.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        auditWriter.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldFlushBatch_WhenBatchSizeIsReached() {
+        auditWriter.write(buildAudit());
+        auditWriter.write(buildAudit());
+        auditWriter.write(buildAudit());
+
+        ArgumentCaptor<Collection<TransactionAuditEntity>> batchCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, timeout(1000)).batchUpdate(anyString(), batchCaptor.capture(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+
+        assertThat(batchCaptor.getValue()).hasSize(3)
+            .allSatisfy(audit -> {
+                assertThat(audit.getId()).isNotNull();
+                assertThat(audit.getCreatedAt()).isNotNull();
+            });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldJournalBatch_WhenInsertFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataAccessResourceFailureException("database unavailable"));
+
+        TransactionAuditEntity audit = buildAudit();
+        auditWriter.write(audit);
+
+        verify(fallbackJournal, timeout(1000)).append(List.of(audit));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldFlushInOwnTransaction_WhenWriterIsStopped() throws InterruptedException {
+        auditWriter.stop();
+
+        auditWriter.write(buildAudit());
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+            definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayFallbackJournal_ShouldSkipRecordsAlreadyInserted() {
+        TransactionAuditEntity audit = buildAudit();
+        when(fallbackJournal.readAll()).thenReturn(List.of(audit));
+
+        auditWriter.replayFallbackJournal();
+
+        verify(jdbcTemplate).batchUpdate(endsWith("ON CONFLICT DO NOTHING"), anyList(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        verify(fallbackJournal).replace(List.of());
+    }
+
+    private TransactionAuditEntity buildAudit() {
+        return TransactionAuditEntity.builder()
+            .transactionId(UUID.randomUUID())
+            .walletId(UUID.randomUUID())
+            .userId(1L)
+            .operationType(TransactionAuditEntity.OperationType.CREDIT)
+            .amount(new BigDecimal("10.00"))
+            .balanceBefore(BigDecimal.ZERO)
+            .balanceAfter(new BigDecimal("10.00"))
+            .status(TransactionAuditEntity.TransactionStatus.INITIATED)
+            .createdBy("SYSTEM")
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// H2 keeps a transaction usable after a failed statement; PostgreSQL aborts it, which is what this test relies on
+class OutboxAuditWriterPostgresTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static OutboxAuditWriter auditWriter;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        auditWriter = new OutboxAuditWriter(jdbcTemplate, transactionManager);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void write_ShouldKeepFailedRecordAndCallerException_WhenTransactionIsAborted() {
+        TransactionAuditEntity audit = buildAudit(TransactionAuditEntity.TransactionStatus.FAILED);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            try {
+                jdbcTemplate.execute("DO $$ BEGIN RAISE EXCEPTION 'lock not available' USING ERRCODE = '55P03'; END $$");
+            } catch (DataAccessException e) {
+                auditWriter.write(audit);
+                throw e;
+            }
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT transaction_status FROM tb_audit_outbox WHERE audit_id = ?", String.class, audit.getId()))
+            .isEqualTo("FAILED");
+    }
+
+    private TransactionAuditEntity buildAudit(TransactionAuditEntity.TransactionStatus status) {
+        return TransactionAuditEntity.builder()
+            .transactionId(UUID.randomUUID())
+            .walletId(UUID.randomUUID())
+            .userId(1L)
+            .operationType(TransactionAuditEntity.OperationType.DEBIT)
+            .amount(new BigDecimal("10.00"))
+            .balanceBefore(new BigDecimal("10.00"))
+            .balanceAfter(BigDecimal.ZERO)
+            .status(status)
+            .createdBy("SYSTEM")
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.audit;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionAuditEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxAuditWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxAuditWriter auditWriter;
+
+    @BeforeEach
+    void setUp() {
+        auditWriter = new OutboxAuditWriter(jdbcTemplate, transactionManager);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void write_ShouldInsertIntoOutbox_InCurrentTransaction() {
+        TransactionAuditEntity audit = buildAudit(TransactionAuditEntity.TransactionStatus.COMPLETED);
+
+        auditWriter.write(audit);
+
+        verify(jdbcTemplate).update(anyString(), any(PreparedStatementSetter.class));
+        verify(transactionManager, never()).getTransaction(any());
+        assertThat(audit.getId()).isNotNull();
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+
+    @Test
+    void write_ShouldRewriteInitiatedRecord_WhenBusinessTransactionRollsBack() {
+        auditWriter.write(buildAudit(TransactionAuditEntity.TransactionStatus.INITIATED));
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(transactionManager).getTransaction(any());
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void write_ShouldNotRewriteRecord_WhenBusinessTransactionCommits() {
+        auditWriter.write(buildAudit(TransactionAuditEntity.TransactionStatus.INITIATED));
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(transactionManager, never()).getTransaction(any());
+        verify(jdbcTemplate).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void write_ShouldDeferFailedRecord_UntilBusinessTransactionEnds() {
+        auditWriter.write(buildAudit(TransactionAuditEntity.TransactionStatus.FAILED));
+
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(transactionManager).getTransaction(any());
+        verify(jdbcTemplate).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    private TransactionAuditEntity buildAudit(TransactionAuditEntity.TransactionStatus status) {
+        return TransactionAuditEntity.builder()
+            .transactionId(UUID.randomUUID())
+            .walletId(UUID.randomUUID())
+            .userId(1L)
+            .operationType(TransactionAuditEntity.OperationType.DEBIT)
+            .amount(new BigDecimal("10.00"))
+            .balanceBefore(new BigDecimal("10.00"))
+            .balanceAfter(BigDecimal.ZERO)
+            .status(status)
+            .createdBy("SYSTEM")
+            .build();
+    }
+}
\ No newline at end of file
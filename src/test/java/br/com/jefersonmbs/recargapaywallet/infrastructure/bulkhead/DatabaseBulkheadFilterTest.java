@@ -0,0 +1,67 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseBulkheadFilterTest {
+
+    @Mock
+    private DatabaseBulkhead bulkhead;
+
+    private DatabaseBulkheadFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new DatabaseBulkheadFilter(bulkhead, new ObjectMapper().findAndRegisterModules());
+        request = new MockHttpServletRequest("GET", "/api/v1/wallets/stream");
+        request.setAsyncSupported(true);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_ShouldReleasePermit_WhenSynchronousRequestReturns() throws Exception {
+        when(bulkhead.tryAcquire()).thenReturn(true);
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        verify(bulkhead).release();
+    }
+
+    @Test
+    void doFilter_ShouldHoldPermit_UntilAsyncRequestCompletes() throws Exception {
+        when(bulkhead.tryAcquire()).thenReturn(true);
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        verify(bulkhead, never()).release();
+
+        request.getAsyncContext().complete();
+
+        verify(bulkhead).release();
+    }
+
+    @Test
+    void doFilter_ShouldRejectWithServiceUnavailable_WhenNoPermitIsFree() throws Exception {
+        when(bulkhead.tryAcquire()).thenReturn(false);
+
+        filter.doFilter(request, response, (req, res) -> { throw new AssertionError("chain must not run"); });
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        verify(bulkhead, never()).release();
+    }
+}
\ No newline at end of file
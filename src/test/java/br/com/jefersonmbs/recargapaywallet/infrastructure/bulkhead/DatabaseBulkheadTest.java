@@ -0,0 +1,72 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.bulkhead;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletBulkheadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseBulkheadTest {
+
+    private MeterRegistry meterRegistry;
+    private WalletBulkheadProperties properties;
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new WalletBulkheadProperties();
+        properties.setMaxWait(Duration.ofMillis(10));
+        dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(8);
+    }
+
+    @Test
+    void tryAcquire_ShouldGrantPermitsUpToPoolShare_AndRejectTheRest() throws InterruptedException {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(properties, dataSource, meterRegistry);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+
+        assertThat(meterRegistry.get("wallet.bulkhead.rejections").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("wallet.bulkhead.wait").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("wallet.bulkhead.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void constructor_ShouldLeaveConnectionsForJobsAndSecondConnectionPerCall() throws InterruptedException {
+        dataSource.setMaximumPoolSize(50);
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(properties, dataSource, meterRegistry);
+
+        assertThat(meterRegistry.get("wallet.bulkhead.available").gauge().value()).isEqualTo(23.0);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void release_ShouldMakePermitAvailableAgain() throws InterruptedException {
+        properties.setMaxConcurrentCalls(1);
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(properties, dataSource, meterRegistry);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        bulkhead.release();
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(meterRegistry.get("wallet.bulkhead.rejections").counter().count()).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldAlwaysSucceed_WhenDisabled() throws InterruptedException {
+        properties.setEnabled(false);
+        properties.setMaxConcurrentCalls(1);
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(properties, dataSource, meterRegistry);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+}
\ No newline at end of file
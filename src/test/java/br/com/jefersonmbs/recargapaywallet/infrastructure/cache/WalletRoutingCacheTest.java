@@ -0,0 +1,97 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.cache;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletRoutingCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalletRoutingCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final UUID walletId = UUID.randomUUID();
+
+    private MeterRegistry meterRegistry;
+    private WalletRoutingCacheProperties properties;
+    private WalletRoutingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new WalletRoutingCacheProperties();
+        properties.setCapacity(8);
+        properties.setTtl(Duration.ofSeconds(10));
+        cache = new WalletRoutingCache(properties, meterRegistry, clock::get);
+    }
+
+    @Test
+    void getByAccountNumber_ShouldReturnCachedWalletId_AndCountHit() {
+        cache.putAccountNumber(9891L, walletId);
+
+        assertThat(cache.getByAccountNumber(9891L)).isEqualTo(walletId);
+        assertThat(cache.getByAccountNumber(9892L)).isNull();
+        assertThat(count("account_number", "hit")).isEqualTo(1.0);
+        assertThat(count("account_number", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void getByCpf_ShouldReturnNull_AfterTtlExpires() {
+        cache.putCpf("12345678901", walletId);
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.getByCpf("12345678901")).isEqualTo(walletId);
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(cache.getByCpf("12345678901")).isNull();
+        assertThat(count("cpf", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void putAccountNumber_ShouldReplaceCollidingEntry() {
+        cache.putAccountNumber(1L, walletId);
+        UUID otherWalletId = UUID.randomUUID();
+        cache.putAccountNumber(1L + 8, otherWalletId);
+
+        assertThat(cache.getByAccountNumber(1L)).isNull();
+        assertThat(cache.getByAccountNumber(9L)).isEqualTo(otherWalletId);
+    }
+
+    @Test
+    void invalidate_ShouldEvictBothMappings() {
+        cache.putAccountNumber(9891L, walletId);
+        cache.putCpf("12345678901", walletId);
+
+        cache.invalidate(9891L, "12345678901");
+
+        assertThat(cache.getByAccountNumber(9891L)).isNull();
+        assertThat(cache.getByCpf("12345678901")).isNull();
+    }
+
+    @Test
+    void invalidate_ShouldKeepUnrelatedEntryInSameSlot() {
+        cache.putAccountNumber(9L, walletId);
+
+        cache.invalidate(1L, null);
+
+        assertThat(cache.getByAccountNumber(9L)).isEqualTo(walletId);
+    }
+
+    @Test
+    void getByAccountNumber_ShouldAlwaysMiss_WhenDisabled() {
+        properties.setEnabled(false);
+        cache = new WalletRoutingCache(properties, new SimpleMeterRegistry(), clock::get);
+
+        cache.putAccountNumber(9891L, walletId);
+
+        assertThat(cache.getByAccountNumber(9891L)).isNull();
+    }
+
+    private double count(String key, String result) {
+        return meterRegistry.get("wallet.routing.cache").tag("key", key).tag("result", result).counter().count();
+    }
+}
\ No newline at end of file
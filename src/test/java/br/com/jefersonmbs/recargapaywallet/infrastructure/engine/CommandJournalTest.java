@@ -0,0 +1,139 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.engine;
+
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletEngineProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandJournalTest {
+
+    @TempDir
+    Path journalDir;
+
+    private WalletEngineProperties engineProperties;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        engineProperties = new WalletEngineProperties();
+        engineProperties.setJournalDir(journalDir);
+        engineProperties.setSegmentEntries(2);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Test
+    void append_ShouldAssignSequencesInOrder_AndHandEachEntryToConsumer() {
+        CommandJournal journal = new CommandJournal(engineProperties, objectMapper);
+        journal.recover();
+        List<Long> seen = new ArrayList<>();
+
+        List<JournalEntry> appended = journal.append(List.of(buildEntry(), buildEntry()), entry -> seen.add(entry.sequence()));
+        journal.append(List.of(buildEntry()), entry -> seen.add(entry.sequence()));
+
+        assertThat(appended).extracting(JournalEntry::sequence).containsExactly(1L, 2L);
+        assertThat(seen).containsExactly(1L, 2L, 3L);
+        journal.close();
+    }
+
+    @Test
+    void append_ShouldHandEntriesToConsumerInSequenceOrder_WhenCallersAppendConcurrently() throws Exception {
+        CommandJournal journal = new CommandJournal(engineProperties, objectMapper);
+        journal.recover();
+        List<Long> seen = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        List<Future<?>> appends = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            appends.add(callers.submit(() -> journal.append(List.of(buildEntry()), entry -> seen.add(entry.sequence()))));
+        }
+        for (Future<?> append : appends) {
+            append.get(5, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+        journal.close();
+
+        assertThat(seen).hasSize(200).isSorted();
+        assertThat(new CommandJournal(engineProperties, objectMapper).recover()).hasSize(200);
+    }
+
+    @Test
+    void recover_ShouldReturnPreviousEntries_AndContinueSequences() {
+        CommandJournal journal = new CommandJournal(engineProperties, objectMapper);
+        journal.recover();
+        JournalEntry first = journal.append(List.of(buildEntry()), entry -> { }).get(0);
+        journal.close();
+
+        CommandJournal reopened = new CommandJournal(engineProperties, objectMapper);
+        List<JournalEntry> recovered = reopened.recover();
+        JournalEntry next = reopened.append(List.of(buildEntry()), entry -> { }).get(0);
+
+        assertThat(recovered).containsExactly(first);
+        assertThat(next.sequence()).isEqualTo(2L);
+        reopened.close();
+    }
+
+    @Test
+    void recover_ShouldSkipTornLine() throws IOException {
+        CommandJournal journal = new CommandJournal(engineProperties, objectMapper);
+        journal.recover();
+        journal.append(List.of(buildEntry()), entry -> { });
+        journal.close();
+        Path segment = segments().get(0);
+        Files.writeString(segment, "{\"sequence\":2,\"transac", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<JournalEntry> recovered = new CommandJournal(engineProperties, objectMapper).recover();
+
+        assertThat(recovered).extracting(JournalEntry::sequence).containsExactly(1L);
+    }
+
+    @Test
+    void release_ShouldDeleteOnlyFullyPersistedClosedSegments() throws IOException {
+        CommandJournal journal = new CommandJournal(engineProperties, objectMapper);
+        journal.recover();
+        journal.append(List.of(buildEntry(), buildEntry()), entry -> { });
+        journal.append(List.of(buildEntry(), buildEntry()), entry -> { });
+        journal.append(List.of(buildEntry()), entry -> { });
+        assertThat(segments()).hasSize(3);
+
+        journal.release(3);
+
+        assertThat(segments()).hasSize(2);
+        journal.release(4);
+        assertThat(segments()).hasSize(1);
+        journal.close();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private JournalEntry buildEntry() {
+        UUID walletId = UUID.randomUUID();
+        return new JournalEntry(0, UUID.randomUUID(), TransactionType.DEPOSIT, walletId, null, walletId,
+            new BigDecimal("10.00"), new BigDecimal("5.00"), new BigDecimal("15.00"), "Deposit", null, null,
+            LocalDateTime.now().withNano(0), null);
+    }
+}
\ No newline at end of file
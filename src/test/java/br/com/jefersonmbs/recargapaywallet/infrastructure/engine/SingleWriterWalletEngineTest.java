@@ -0,0 +1,274 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.engine;
+
+import br.com.jefersonmbs.recargapaywallet.domain.dto.IdempotencyRecord;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InsufficientBalanceException;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletEngineProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletStripingProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.SingleWriterWalletEngine.IdempotentCommand;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.engine.SingleWriterWalletEngine.Receipt;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SingleWriterWalletEngineTest {
+
+    private static final int PARTITIONS = 4;
+
+    @TempDir
+    Path journalDir;
+
+    @Mock
+    private WalletEnginePersister persister;
+
+    private final Map<UUID, WalletState> storedWallets = new ConcurrentHashMap<>();
+    private WalletEngineProperties engineProperties;
+    private ObjectMapper objectMapper;
+    private CommandJournal journal;
+    private SingleWriterWalletEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engineProperties = new WalletEngineProperties();
+        engineProperties.setJournalDir(journalDir);
+        engineProperties.setPartitions(PARTITIONS);
+        engineProperties.setFlushInterval(Duration.ofMillis(10));
+        engineProperties.setCommandTimeout(Duration.ofMillis(200));
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        lenient().when(persister.load(any())).thenAnswer(invocation -> Optional.ofNullable(storedWallets.get(invocation.<UUID>getArgument(0))));
+        lenient().when(persister.persist(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (engine != null) {
+            engine.stop();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void transfer_ShouldDebitSourceAndCreditTarget_AcrossPartitions() {
+        UUID sourceWalletId = storeWallet(new BigDecimal("100.00"));
+        UUID targetWalletId = storeWalletOutsidePartitionOf(sourceWalletId, new BigDecimal("50.00"));
+        startEngine();
+
+        Receipt receipt = engine.transfer(sourceWalletId, targetWalletId, new BigDecimal("30.00"), "Transfer", null, null);
+
+        assertThat(receipt.entry().type()).isEqualTo(TransactionType.TRANSFER_OUT);
+        assertThat(receipt.entry().balanceAfter()).isEqualByComparingTo("70.00");
+        assertThat(receipt.transferIn().type()).isEqualTo(TransactionType.TRANSFER_IN);
+        assertThat(receipt.transferIn().transactionId()).isEqualTo(receipt.entry().relatedTransactionId());
+        assertThat(receipt.transferIn().balanceBefore()).isEqualByComparingTo("50.00");
+        assertThat(receipt.transferIn().balanceAfter()).isEqualByComparingTo("80.00");
+        assertThat(engine.withdraw(targetWalletId, new BigDecimal("80.00"), "Withdraw", null, null).entry().balanceAfter())
+            .isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void transfer_ShouldRejectInsufficientBalance_WithoutJournalingAnything() throws InterruptedException {
+        UUID sourceWalletId = storeWallet(new BigDecimal("10.00"));
+        UUID targetWalletId = storeWalletOutsidePartitionOf(sourceWalletId, new BigDecimal("50.00"));
+        startEngine();
+
+        assertThatThrownBy(() -> engine.transfer(sourceWalletId, targetWalletId, new BigDecimal("30.00"), "Transfer", null, null))
+            .isInstanceOf(InsufficientBalanceException.class);
+
+        engine.stop();
+        engine = null;
+        verify(persister, never()).persist(anyList());
+        assertThat(new CommandJournal(engineProperties, objectMapper).recover()).isEmpty();
+    }
+
+    @Test
+    void start_ShouldReapplyCredit_WhenStoppedBetweenDebitAndCredit() {
+        UUID sourceWalletId = storeWallet(new BigDecimal("70.00"));
+        UUID targetWalletId = storeWallet(new BigDecimal("50.00"));
+        UUID transferInId = UUID.randomUUID();
+        CommandJournal crashed = new CommandJournal(engineProperties, objectMapper);
+        crashed.recover();
+        crashed.append(List.of(new JournalEntry(0, UUID.randomUUID(), TransactionType.TRANSFER_OUT, sourceWalletId,
+            sourceWalletId, targetWalletId, new BigDecimal("30.00"), new BigDecimal("100.00"), new BigDecimal("70.00"),
+            "Transfer", null, transferInId, LocalDateTime.now(), null)), entry -> { });
+        crashed.close();
+
+        startEngine();
+
+        verify(persister, timeout(2_000)).persist(argThat(entries -> entries.stream().anyMatch(entry ->
+            entry.type() == TransactionType.TRANSFER_IN
+                && entry.transactionId().equals(transferInId)
+                && entry.walletId().equals(targetWalletId)
+                && entry.balanceAfter().compareTo(new BigDecimal("80.00")) == 0)));
+    }
+
+    @Test
+    void deposit_ShouldBeDropped_WhenStillQueuedAfterTimeout_WhileStartedCommandCompletes() throws Exception {
+        engineProperties.setPartitions(1);
+        UUID slowWalletId = storeWallet(new BigDecimal("10.00"));
+        UUID queuedWalletId = storeWallet(new BigDecimal("10.00"));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(persister.load(slowWalletId)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(storedWallets.get(slowWalletId));
+        });
+        startEngine();
+
+        CompletableFuture<Receipt> started = CompletableFuture.supplyAsync(() ->
+            engine.deposit(slowWalletId, new BigDecimal("5.00"), "Deposit", null, null));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> engine.deposit(queuedWalletId, new BigDecimal("5.00"), "Deposit", null, null))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("timed out before it started");
+        release.countDown();
+
+        assertThat(started.get(5, TimeUnit.SECONDS).entry().balanceAfter()).isEqualByComparingTo("15.00");
+        engine.setActive(slowWalletId, true);
+        verify(persister, never()).load(queuedWalletId);
+    }
+
+    @Test
+    void deposit_ShouldApplyIdempotencyKeyOnce_BeforeAndAfterItIsFlushed() {
+        UUID walletId = storeWallet(new BigDecimal("10.00"));
+        String key = walletId + ":key";
+        IdempotentCommand idempotency = new IdempotentCommand(
+            new IdempotencyRecord(key, "deposit", "hash", null), receipt -> "{}");
+        CountDownLatch flushGate = new CountDownLatch(1);
+        when(persister.persist(anyList())).thenAnswer(invocation -> {
+            flushGate.await(5, TimeUnit.SECONDS);
+            return invocation.<List<?>>getArgument(0).size();
+        });
+        startEngine();
+
+        Receipt first = engine.deposit(walletId, new BigDecimal("5.00"), "Deposit", null, idempotency);
+        Receipt replayed = engine.deposit(walletId, new BigDecimal("5.00"), "Deposit", null, idempotency);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(replayed.replayed()).isTrue();
+        assertThat(replayed.entry().transactionId()).isEqualTo(first.entry().transactionId());
+
+        verify(persister, timeout(2_000)).persist(argThat(entries -> entries.stream()
+            .anyMatch(entry -> entry.idempotency() != null && entry.idempotency().key().equals(key) && "{}".equals(entry.idempotency().responseBody()))));
+        when(persister.idempotencyKeyExists(key)).thenReturn(true);
+        flushGate.countDown();
+        assertThat(engine.withdraw(walletId, new BigDecimal("15.00"), "Withdraw", null, null).entry().balanceAfter())
+            .isEqualByComparingTo("0.00");
+        // The flusher drops flushed keys before it takes the next batch
+        verify(persister, timeout(2_000)).persist(argThat(entries -> entries.stream()
+            .anyMatch(entry -> entry.type() == TransactionType.WITHDRAWAL)));
+
+        assertThatThrownBy(() -> engine.deposit(walletId, new BigDecimal("5.00"), "Deposit", null, idempotency))
+            .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void deposit_ShouldStopEngine_WhenJournalForceFails() throws InterruptedException {
+        UUID walletId = storeWallet(new BigDecimal("10.00"));
+        UUID otherWalletId = storeWalletOutsidePartitionOf(walletId, new BigDecimal("10.00"));
+        AtomicBoolean failForce = new AtomicBoolean();
+        startEngine(new CommandJournal(engineProperties, objectMapper) {
+            @Override
+            void forceChannel(FileChannel forcedChannel) throws IOException {
+                if (failForce.get()) {
+                    throw new IOException("Simulated fsync failure");
+                }
+                super.forceChannel(forcedChannel);
+            }
+        });
+        engine.deposit(walletId, new BigDecimal("5.00"), "Deposit", null, null);
+
+        failForce.set(true);
+        assertThatThrownBy(() -> engine.deposit(walletId, new BigDecimal("7.00"), "Deposit", null, null))
+            .isInstanceOf(UncheckedIOException.class);
+        failForce.set(false);
+
+        assertThatThrownBy(() -> engine.deposit(otherWalletId, new BigDecimal("1.00"), "Deposit", null, null))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("restart");
+        assertThatThrownBy(() -> engine.withdraw(walletId, new BigDecimal("1.00"), "Withdraw", null, null))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("restart");
+
+        engine.stop();
+        engine = null;
+        journal.close();
+        verify(persister, never()).persist(argThat(entries -> entries.stream()
+            .anyMatch(entry -> entry.amount().compareTo(new BigDecimal("7.00")) == 0)));
+
+        // The write reached the file before the force failed, so the restart replays it into the database
+        startEngine();
+        verify(persister).persist(argThat(entries -> entries.stream()
+            .anyMatch(entry -> entry.amount().compareTo(new BigDecimal("7.00")) == 0
+                && entry.balanceBefore().compareTo(new BigDecimal("15.00")) == 0)));
+    }
+
+    private void startEngine() {
+        startEngine(new CommandJournal(engineProperties, objectMapper));
+    }
+
+    private void startEngine(CommandJournal commandJournal) {
+        journal = commandJournal;
+        engine = new SingleWriterWalletEngine(engineProperties, new WalletStripingProperties(), journal, persister,
+            new SimpleMeterRegistry());
+        engine.start();
+    }
+
+    private UUID storeWallet(BigDecimal balance) {
+        return storeWallet(UUID.randomUUID(), balance);
+    }
+
+    private UUID storeWallet(UUID walletId, BigDecimal balance) {
+        storedWallets.put(walletId, new WalletState(walletId, (long) storedWallets.size() + 1, 1L, "12345678901",
+            "Wallet Owner", balance, true));
+        return walletId;
+    }
+
+    private UUID storeWalletOutsidePartitionOf(UUID walletId, BigDecimal balance) {
+        UUID otherWalletId = UUID.randomUUID();
+        while (Math.floorMod(otherWalletId.hashCode(), PARTITIONS) == Math.floorMod(walletId.hashCode(), PARTITIONS)) {
+            otherWalletId = UUID.randomUUID();
+        }
+        return storeWallet(otherWalletId, balance);
+    }
+}
\ No newline at end of file
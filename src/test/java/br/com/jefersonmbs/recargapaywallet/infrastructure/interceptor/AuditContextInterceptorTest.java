@@ -0,0 +1,84 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.interceptor;
+
+import br.com.jefersonmbs.recargapaywallet.domain.dto.AuditContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditContextInterceptorTest {
+
+    private final AuditContextInterceptor interceptor = new AuditContextInterceptor();
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("POST", "/api/v1/wallets/transfer");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+        request.addHeader("User-Agent", "junit");
+        request.addHeader(AuditContext.CORRELATION_ID_HEADER, "CORR-TEST");
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        MDC.clear();
+    }
+
+    @Test
+    void preHandle_ShouldBindContextToRequest_WithoutCreatingSession() {
+        interceptor.preHandle(request, response, null);
+
+        AuditContext context = AuditContext.capture();
+        assertThat(request.getSession(false)).isNull();
+        assertThat(context.getCorrelationId()).isEqualTo("CORR-TEST");
+        assertThat(context.getOriginIp()).isEqualTo("203.0.113.7");
+        assertThat(context.getUserAgent()).isEqualTo("junit");
+        assertThat(context.getCreatedBy()).isEqualTo("SYSTEM");
+        assertThat(response.getHeader(AuditContext.CORRELATION_ID_HEADER)).isEqualTo("CORR-TEST");
+        assertThat(MDC.get("correlationId")).isEqualTo("CORR-TEST");
+    }
+
+    @Test
+    void capture_ShouldReturnSameInstance_ForEveryAuditWriteInRequest() {
+        interceptor.preHandle(request, response, null);
+
+        assertThat(AuditContext.capture()).isSameAs(AuditContext.capture());
+    }
+
+    @Test
+    void capture_ShouldBuildContextOnce_WhenInterceptorDidNotRun() {
+        AuditContext first = AuditContext.capture();
+
+        assertThat(first.getCreatedBy()).isEqualTo("EXTRACTED_FROM_REQUEST");
+        assertThat(AuditContext.capture()).isSameAs(first);
+        assertThat(request.getSession(false)).isNull();
+    }
+
+    @Test
+    void afterCompletion_ShouldClearCorrelationIdFromMdc() {
+        interceptor.preHandle(request, response, null);
+
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(MDC.get("correlationId")).isNull();
+    }
+
+    @Test
+    void capture_ShouldFallBackToSystemContext_OutsideRequest() {
+        RequestContextHolder.resetRequestAttributes();
+
+        assertThat(AuditContext.capture().getCreatedBy()).isEqualTo("SYSTEM");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.metrics;
+
+import br.com.jefersonmbs.recargapaywallet.domain.exception.InsufficientBalanceException;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.metrics.TransactionPhaseMetrics.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionPhaseMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionPhaseMetrics metrics = new TransactionPhaseMetrics(meterRegistry);
+
+    @Test
+    void success_ShouldRecordVisitedPhasesTaggedByStrategyAndOutcome() {
+        TransactionPhaseMetrics.Recorder phases = metrics.start("deposit");
+        phases.mark(Phase.VALIDATION);
+        phases.mark(Phase.LOOKUP);
+        phases.mark(Phase.AUDIT);
+        phases.mark(Phase.AUDIT);
+
+        phases.success();
+
+        assertThat(phaseTimer("deposit", "validation", "success").count()).isEqualTo(1);
+        assertThat(phaseTimer("deposit", "lookup", "success").count()).isEqualTo(1);
+        assertThat(phaseTimer("deposit", "audit", "success").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("wallet.transaction.phase").tag("phase", "lock").timer()).isNull();
+        assertThat(meterRegistry.get("wallet.transaction.execution")
+            .tags("strategy", "deposit", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failure_ShouldTagDomainRejectionsSeparatelyFromErrors() {
+        TransactionPhaseMetrics.Recorder rejected = metrics.start("withdraw");
+        rejected.mark(Phase.VALIDATION);
+        rejected.failure(new InsufficientBalanceException(BigDecimal.ONE, BigDecimal.TEN));
+
+        TransactionPhaseMetrics.Recorder failed = metrics.start("withdraw");
+        failed.mark(Phase.BALANCE_UPDATE);
+        failed.failure(new IllegalStateException("connection reset"));
+
+        assertThat(phaseTimer("withdraw", "validation", "rejected").count()).isEqualTo(1);
+        assertThat(phaseTimer("withdraw", "balance_update", "error").count()).isEqualTo(1);
+    }
+
+    private Timer phaseTimer(String strategy, String phase, String outcome) {
+        return meterRegistry.get("wallet.transaction.phase")
+            .tags("strategy", strategy, "phase", phase, "outcome", outcome)
+            .timer();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.partition;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletHistoryPartitionProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.partition.PartitionMaintenance.Partition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionHistoryPartitionJobTest {
+
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private WalletHistoryPartitionProperties partitionProperties;
+    private TransactionHistoryPartitionJob partitionJob;
+
+    @BeforeEach
+    void setUp() {
+        partitionProperties = new WalletHistoryPartitionProperties();
+        partitionProperties.setLedgerPurgeBatchSize(100);
+        partitionJob = new TransactionHistoryPartitionJob(jdbcTemplate, partitionProperties);
+    }
+
+    @Test
+    void maintain_ShouldOnlyCreatePartitions_WhenRetentionIsDisabled() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(3))).thenReturn(1);
+
+        partitionJob.maintain();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).update(anyString(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void maintain_ShouldDetachExpiredPartitions_AndPurgeTheirLedgerRows() {
+        partitionProperties.setRetentionMonths(2);
+        LocalDateTime currentMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        LocalDateTime cutoff = currentMonth.minusMonths(2);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(3))).thenReturn(0);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("tb_transaction_history"))).thenReturn(List.of(
+            new Partition("tb_transaction_history_legacy", "FOR VALUES FROM (MINVALUE) TO (" + bound(cutoff.minusMonths(1)) + ")", false),
+            new Partition("tb_transaction_history_old", bound(cutoff.minusMonths(1), cutoff), true),
+            new Partition("tb_transaction_history_kept", bound(cutoff, cutoff.plusMonths(1)), false)
+        ));
+        when(jdbcTemplate.update(anyString(), eq(cutoff), anyInt())).thenReturn(100, 7);
+
+        partitionJob.maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE tb_transaction_history DETACH PARTITION \"tb_transaction_history_legacy\" CONCURRENTLY");
+        verify(jdbcTemplate).execute("ALTER TABLE tb_transaction_history DETACH PARTITION \"tb_transaction_history_old\" FINALIZE");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE tb_transaction_history DETACH PARTITION \"tb_transaction_history_kept\" CONCURRENTLY");
+    }
+
+    @Test
+    void maintain_ShouldSwallowDatabaseFailures() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(3)))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        partitionJob.maintain();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private static String bound(LocalDateTime from, LocalDateTime to) {
+        return "FOR VALUES FROM (" + bound(from) + ") TO (" + bound(to) + ")";
+    }
+
+    private static String bound(LocalDateTime value) {
+        return "'" + value.format(BOUND_FORMAT) + "'";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.reconciliation;
+
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionRequestDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.TransactionResponseDto;
+import br.com.jefersonmbs.recargapaywallet.api.dto.UserCreateDto;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.TransactionHistoryEntity.TransactionType;
+import br.com.jefersonmbs.recargapaywallet.domain.entity.UserEntity;
+import br.com.jefersonmbs.recargapaywallet.domain.service.UserService;
+import br.com.jefersonmbs.recargapaywallet.domain.service.WalletService;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletHistoryPartitionProperties;
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletReconciliationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not transactional: the reconciler reads on its own connections, so the wallets under test must be committed
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BalanceReconcilerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<UUID> walletIds = new ArrayList<>();
+
+    private WalletReconciliationProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WalletReconciliationProperties();
+        properties.setRangeSize(2);
+        properties.setParallelism(2);
+        properties.setDbLoadBudget(1);
+    }
+
+    // The rows were committed into the shared context, so they are removed by hand for the tests that reuse it
+    @AfterEach
+    void tearDown() {
+        for (UUID walletId : walletIds) {
+            jdbcTemplate.update("DELETE FROM tb_transaction_history WHERE source_wallet_id = ? OR target_wallet_id = ?",
+                walletId, walletId);
+            jdbcTemplate.update("DELETE FROM tb_wallet_ledger WHERE wallet_id = ?", walletId);
+            jdbcTemplate.update("DELETE FROM tb_transaction_audit WHERE wallet_id = ?", walletId);
+            jdbcTemplate.update("DELETE FROM tb_wallet_balance_shards WHERE wallet_id = ?", walletId);
+            jdbcTemplate.update("DELETE FROM tb_wallets WHERE id = ?", walletId);
+        }
+        for (Long userId : userIds) {
+            jdbcTemplate.update("DELETE FROM tb_users WHERE id = ?", userId);
+        }
+        entityManagerFactory.getCache().evict(UserEntity.class);
+        walletIds.clear();
+        userIds.clear();
+    }
+
+    @Test
+    void reconcile_ShouldReportDriftedWallets_WithTheirFirstDivergentTransaction() {
+        UUID consistentWallet = createWallet("90000000001");
+        deposit(consistentWallet, "100.00");
+        withdraw(consistentWallet, "30.00");
+
+        UUID driftedAfterHistory = createWallet("90000000002");
+        deposit(driftedAfterHistory, "100.00");
+        addToBalance(driftedAfterHistory, "5.00");
+
+        UUID driftedWithinHistory = createWallet("90000000003");
+        deposit(driftedWithinHistory, "100.00");
+        addToBalance(driftedWithinHistory, "5.00");
+        TransactionResponseDto divergent = deposit(driftedWithinHistory, "50.00");
+
+        ReconciliationReport report = reconciler().reconcile();
+
+        Map<UUID, BalanceMismatch> mismatches = report.mismatches().stream()
+            .collect(Collectors.toMap(BalanceMismatch::walletId, Function.identity()));
+        assertThat(report.walletsChecked()).isGreaterThanOrEqualTo(3);
+        assertThat(mismatches).doesNotContainKey(consistentWallet);
+
+        BalanceMismatch afterHistory = mismatches.get(driftedAfterHistory);
+        assertThat(afterHistory.actualBalance()).isEqualByComparingTo("105.00");
+        assertThat(afterHistory.expectedBalance()).isEqualByComparingTo("100.00");
+        assertThat(afterHistory.difference()).isEqualByComparingTo("5.00");
+        assertThat(afterHistory.firstDivergentTransactionId()).isNull();
+
+        BalanceMismatch withinHistory = mismatches.get(driftedWithinHistory);
+        assertThat(withinHistory.actualBalance()).isEqualByComparingTo("155.00");
+        assertThat(withinHistory.expectedBalance()).isEqualByComparingTo("150.00");
+        assertThat(withinHistory.firstDivergentTransactionId()).isEqualTo(divergent.getId());
+        assertThat(withinHistory.recordedBalanceBefore()).isEqualByComparingTo("105.00");
+        assertThat(withinHistory.expectedBalanceBefore()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void reconcile_ShouldCheckTransferCredits_AgainstTheirTransferIn() {
+        UUID sourceWallet = createWallet("90000000004");
+        deposit(sourceWallet, "50.00");
+
+        UUID targetWallet = createWallet("90000000005");
+        deposit(targetWallet, "100.00");
+        addToBalance(targetWallet, "5.00");
+        UUID transferIn = transfer(sourceWallet, targetWallet, "20.00", "50.00", "105.00");
+
+        ReconciliationReport report = reconciler().reconcile();
+
+        Map<UUID, BalanceMismatch> mismatches = report.mismatches().stream()
+            .collect(Collectors.toMap(BalanceMismatch::walletId, Function.identity()));
+        assertThat(mismatches).doesNotContainKey(sourceWallet);
+
+        BalanceMismatch target = mismatches.get(targetWallet);
+        assertThat(target.actualBalance()).isEqualByComparingTo("125.00");
+        assertThat(target.expectedBalance()).isEqualByComparingTo("120.00");
+        assertThat(target.firstDivergentTransactionId()).isEqualTo(transferIn);
+        assertThat(target.recordedBalanceBefore()).isEqualByComparingTo("105.00");
+        assertThat(target.expectedBalanceBefore()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void constructor_ShouldRefuse_WhenHistoryRetentionDetachesMonths() {
+        WalletHistoryPartitionProperties historyPartitionProperties = new WalletHistoryPartitionProperties();
+        historyPartitionProperties.setEnabled(true);
+        historyPartitionProperties.setRetentionMonths(12);
+
+        assertThatThrownBy(() -> new BalanceReconciler(jdbcTemplate, transactionTemplate, properties,
+            historyPartitionProperties, new SimpleMeterRegistry()))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void throttleDelayNanos_ShouldKeepQueryTimeWithinBudget() {
+        assertThat(BalanceReconciler.throttleDelayNanos(100, 1)).isZero();
+        assertThat(BalanceReconciler.throttleDelayNanos(100, 0.5)).isEqualTo(100);
+        assertThat(BalanceReconciler.throttleDelayNanos(100, 0.25)).isEqualTo(300);
+    }
+
+    private BalanceReconciler reconciler() {
+        return new BalanceReconciler(jdbcTemplate, transactionTemplate, properties,
+            new WalletHistoryPartitionProperties(), new SimpleMeterRegistry());
+    }
+
+    private UUID createWallet(String cpf) {
+        Long userId = userService.createUser(UserCreateDto.builder()
+            .name("Reconciliation User " + cpf)
+            .email("reconciliation." + cpf + "@example.com")
+            .phone("11987654321")
+            .cpf(cpf)
+            .build()).getId();
+        userIds.add(userId);
+        UUID walletId = walletService.createWallet(userId).getId();
+        walletIds.add(walletId);
+        return walletId;
+    }
+
+    private TransactionResponseDto deposit(UUID walletId, String amount) {
+        return walletService.deposit(TransactionRequestDto.builder()
+            .type(TransactionType.DEPOSIT)
+            .amount(new BigDecimal(amount))
+            .targetWalletId(walletId)
+            .description("Reconciliation deposit")
+            .build());
+    }
+
+    private void withdraw(UUID walletId, String amount) {
+        walletService.withdraw(TransactionRequestDto.builder()
+            .type(TransactionType.WITHDRAWAL)
+            .amount(new BigDecimal(amount))
+            .sourceWalletId(walletId)
+            .description("Reconciliation withdrawal")
+            .build());
+    }
+
+    // Writes both legs the way disbursements do, each with the balances of its own wallet
+    private UUID transfer(UUID sourceWalletId, UUID targetWalletId, String amount, String sourceBefore, String targetBefore) {
+        BigDecimal value = new BigDecimal(amount);
+        LocalDateTime createdAt = LocalDateTime.now().plusSeconds(1);
+        UUID transferIn = UUID.randomUUID();
+        insertHistory(UUID.randomUUID(), TransactionType.TRANSFER_OUT, value, sourceWalletId, targetWalletId,
+            new BigDecimal(sourceBefore), createdAt);
+        insertHistory(transferIn, TransactionType.TRANSFER_IN, value, sourceWalletId, targetWalletId,
+            new BigDecimal(targetBefore), createdAt);
+        addToBalance(sourceWalletId, value.negate().toPlainString());
+        addToBalance(targetWalletId, amount);
+        return transferIn;
+    }
+
+    private void insertHistory(UUID id, TransactionType type, BigDecimal amount, UUID sourceWalletId, UUID targetWalletId,
+                               BigDecimal balanceBefore, LocalDateTime createdAt) {
+        BigDecimal balanceAfter = type == TransactionType.TRANSFER_IN ? balanceBefore.add(amount) : balanceBefore.subtract(amount);
+        jdbcTemplate.update("INSERT INTO tb_transaction_history (id, type, amount, source_wallet_id, target_wallet_id, " +
+                "description, balance_before_transaction, balance_after_transaction, status, created_at, correlation_id) " +
+                "VALUES (?, ?, ?, ?, ?, 'Reconciliation transfer', ?, ?, 'COMPLETED', ?, NULL)",
+            id, type.name(), amount, sourceWalletId, targetWalletId, balanceBefore, balanceAfter, Timestamp.valueOf(createdAt));
+    }
+
+    private void addToBalance(UUID walletId, String amount) {
+        jdbcTemplate.update("UPDATE tb_wallets SET balance = balance + ? WHERE id = ?", new BigDecimal(amount), walletId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package br.com.jefersonmbs.recargapaywallet.infrastructure.transaction;
+
+import br.com.jefersonmbs.recargapaywallet.infrastructure.config.WalletRetryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionRetryExecutorTest {
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MeterRegistry meterRegistry;
+    private TransactionRetryExecutor retryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        WalletRetryProperties retryProperties = new WalletRetryProperties();
+        retryProperties.setInitialBackoff(Duration.ofMillis(1));
+        retryProperties.setMaxBackoff(Duration.ofMillis(2));
+        retryProperties.setStrategyMaxAttempts(Map.of("transfer", 2));
+
+        meterRegistry = new SimpleMeterRegistry();
+        retryExecutor = new TransactionRetryExecutor(transactionTemplate, retryProperties, meterRegistry);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void execute_ShouldRetryOptimisticConflict_AndReturnResult() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryExecutor.execute("deposit", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new OptimisticLockingFailureException("stale wallet");
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("wallet.transaction.attempts").tag("operation", "deposit").counter().count())
+            .isEqualTo(2.0);
+        assertThat(meterRegistry.get("wallet.transaction.conflicts").tag("type", "optimistic").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_ShouldGiveUp_WhenStrategyBudgetIsExhausted() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryExecutor.execute("transfer", () -> {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("lock timeout");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("wallet.transaction.retries.exhausted").tag("operation", "transfer").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("wallet.transaction.conflicts").tag("type", "pessimistic").counter().count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    void execute_ShouldNotRetryBusinessFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryExecutor.execute("withdraw", () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("invalid request");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+}
\ No newline at end of file